@@ -0,0 +1,82 @@
+package backend.academy.benchmarks.bot;
+
+import backend.academy.bot.service.BotService;
+import backend.academy.bot.state.ListState;
+import dto.Digest;
+import dto.LinkResponse;
+import dto.LinkUpdate;
+import dto.ListLinkResponse;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Тексты сообщений бота: уведомление и дайджест из {@link BotService}, список ссылок из {@link ListState}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BotMessageFormattingBenchmark {
+
+    @Param({"10", "100"})
+    private int entries;
+
+    private final ListState listState = new ListState();
+    private LinkUpdate update;
+    private Digest digest;
+    private ListLinkResponse links;
+
+    @Setup
+    public void setUp() {
+        List<LinkUpdate> updates = IntStream.range(0, entries)
+                .mapToObj(i -> LinkUpdate.builder()
+                        .id(UUID.randomUUID())
+                        .url("https://github.com/owner/repo-" + i)
+                        .message("Название: Issue " + i + "\nПользователь: user-" + i + "\nПревью: " + "x".repeat(200))
+                        .tgChatIds(Set.of(100_000L + i))
+                        .build())
+                .toList();
+        update = updates.getFirst();
+        digest = Digest.builder().tgId(100_000L).updates(updates).build();
+        links = ListLinkResponse.builder()
+                .linkResponses(IntStream.range(0, entries)
+                        .mapToObj(i -> LinkResponse.builder()
+                                .id(UUID.randomUUID())
+                                .url("https://stackoverflow.com/questions/" + i + "/question")
+                                .tags(i % 3 == 0 ? List.of() : List.of("work", "java"))
+                                .filters(i % 2 == 0 ? List.of() : List.of("user:bot"))
+                                .build())
+                        .toList())
+                .size(entries)
+                .build();
+    }
+
+    @Benchmark
+    public String updateMessage() {
+        return BotService.formatUpdateMessage(update);
+    }
+
+    @Benchmark
+    public String digestMessage() {
+        return BotService.formatDigestMessage(digest);
+    }
+
+    @Benchmark
+    public String linksList() {
+        return listState.formatLinks(links);
+    }
+}
@@ -0,0 +1,121 @@
+package backend.academy.benchmarks.scrapper;
+
+import backend.academy.scrapper.config.GitHubConfig;
+import backend.academy.scrapper.config.StackOverflowConfig;
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import backend.academy.scrapper.service.LinkCheckExecutor;
+import backend.academy.scrapper.service.LinkToApiRequestConverter;
+import backend.academy.scrapper.service.PooledLinkCheckExecutor;
+import backend.academy.scrapper.service.VirtualThreadLinkCheckExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Время проверки страницы из 200 ссылок GitHub и 100 StackOverflow, когда каждая проверка ждет upstream
+ * {@code latencyMs} мс: пул из {@code threads-count} потоков против виртуальных потоков с разрешениями на провайдера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LinkCheckExecutorBenchmark {
+    private static final int GITHUB_LINKS = 200;
+    private static final int STACKOVERFLOW_LINKS = 100;
+
+    @Param({"pool", "virtual"})
+    private String executor;
+
+    @Param({"20"})
+    private long latencyMs;
+
+    @Param({"4"})
+    private int threadsCount;
+
+    @Param({"32"})
+    private int githubPermits;
+
+    @Param({"8"})
+    private int stackOverflowPermits;
+
+    private LinkCheckExecutor linkCheckExecutor;
+    private List<LinkCheckView> links;
+    private Consumer<LinkCheckView> check;
+
+    @Setup
+    public void setUp() {
+        var converter = new LinkToApiRequestConverter(
+                new GitHubConfig("fake-token", "https://api.github.com/repos"),
+                new StackOverflowConfig("fake-key", "fake-access", "https://api.stackexchange.com/2.3/questions"));
+        linkCheckExecutor = switch (executor) {
+            case "pool" -> pooled();
+            case "virtual" -> new VirtualThreadLinkCheckExecutor(
+                    converter, githubPermits, stackOverflowPermits, new SimpleMeterRegistry());
+            default -> throw new IllegalArgumentException("Unknown executor: " + executor);
+        };
+        links = new ArrayList<>();
+        IntStream.range(0, GITHUB_LINKS)
+                .mapToObj(i -> link("https://github.com/owner/repo-" + i))
+                .forEach(links::add);
+        IntStream.range(0, STACKOVERFLOW_LINKS)
+                .mapToObj(i -> link("https://stackoverflow.com/questions/" + i + "/question"))
+                .forEach(links::add);
+        check = link -> sleep(latencyMs);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (linkCheckExecutor instanceof PooledLinkCheckExecutor pooled) {
+            pooled.shutdown();
+        } else if (linkCheckExecutor instanceof VirtualThreadLinkCheckExecutor virtual) {
+            virtual.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void checkPage() {
+        linkCheckExecutor.checkAll(links, check);
+    }
+
+    /** Размер пула задается в Spring через {@code @Value} на поле, здесь он выставляется так же, до инициализации. */
+    private PooledLinkCheckExecutor pooled() {
+        var pooled = new PooledLinkCheckExecutor(new SimpleMeterRegistry());
+        Field field = ReflectionUtils.findField(PooledLinkCheckExecutor.class, "threadsCount");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, pooled, threadsCount);
+        pooled.initializeExecutor();
+        return pooled;
+    }
+
+    private static LinkCheckView link(String url) {
+        return new LinkCheckView(UUID.randomUUID(), url, null, null, null, null, List.of());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package backend.academy.benchmarks.scrapper;
+
+import backend.academy.scrapper.data.model.Link;
+import backend.academy.scrapper.repository.link.AggregatedLinkResultSetExtractor;
+import backend.academy.scrapper.repository.link.LinkResultSetExtractor;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link LinkResultSetExtractor#extractData} на строках, которые возвращает выборка ссылок с {@code LEFT JOIN} чатов,
+ * тегов и фильтров: на каждую ссылку приходится {@code chats * tags * filters} строк, как в декартовом произведении
+ * join-ов. Для сравнения {@link AggregatedLinkResultSetExtractor} разбирает те же ссылки по одной строке с массивами.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkResultSetExtractorBenchmark {
+    private static final List<String> COLUMNS = List.of(
+            "id",
+            "url",
+            "last_update",
+            "next_check_at",
+            "check_interval",
+            "chat_id",
+            "tg_id",
+            "nickname",
+            "tag_id",
+            "tag",
+            "filter_id",
+            "parameter",
+            "value");
+    private static final List<String> AGGREGATED_COLUMNS = List.of(
+            "id",
+            "url",
+            "last_update",
+            "next_check_at",
+            "check_interval",
+            "chat_ids",
+            "tg_ids",
+            "nicknames",
+            "tag_ids",
+            "tags",
+            "filter_ids",
+            "parameters",
+            "filter_values");
+
+    @Param({"1000"})
+    private int links;
+
+    @Param({"1", "10"})
+    private int chatsPerLink;
+
+    @Param({"3"})
+    private int tagsPerLink;
+
+    @Param({"2"})
+    private int filtersPerLink;
+
+    private final LinkResultSetExtractor extractor = new LinkResultSetExtractor();
+    private final AggregatedLinkResultSetExtractor aggregatedExtractor = new AggregatedLinkResultSetExtractor();
+    private SyntheticResultSet resultSet;
+    private SyntheticResultSet aggregatedResultSet;
+
+    @Setup
+    public void setUp() {
+        var timestamp = Timestamp.valueOf(LocalDateTime.of(2024, 4, 1, 10, 0));
+        var localTimestamp = timestamp.toLocalDateTime();
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> aggregatedRows = new ArrayList<>(links);
+        for (int l = 0; l < links; l++) {
+            UUID id = UUID.randomUUID();
+            String linkId = id.toString();
+            String url = "https://github.com/owner/repo-" + l;
+            aggregatedRows.add(aggregatedRow(id, url, localTimestamp, l));
+            for (int c = 0; c < chatsPerLink; c++) {
+                for (int t = 0; t < tagsPerLink; t++) {
+                    for (int f = 0; f < filtersPerLink; f++) {
+                        rows.add(new Object[] {
+                            linkId,
+                            url,
+                            timestamp,
+                            timestamp,
+                            300L,
+                            uuid(1, l * chatsPerLink + c),
+                            100_000L + c,
+                            "chat-" + c,
+                            uuid(2, t),
+                            "tag-" + t,
+                            uuid(3, f),
+                            "user",
+                            "bot-" + f
+                        });
+                    }
+                }
+            }
+        }
+        resultSet = new SyntheticResultSet(COLUMNS, rows);
+        aggregatedResultSet = new SyntheticResultSet(AGGREGATED_COLUMNS, aggregatedRows);
+    }
+
+    @Benchmark
+    public List<Link> extractData() throws SQLException {
+        return extractor.extractData(resultSet.reset());
+    }
+
+    @Benchmark
+    public List<Link> extractAggregated() throws SQLException {
+        return aggregatedExtractor.extractData(aggregatedResultSet.reset());
+    }
+
+    private Object[] aggregatedRow(UUID id, String url, LocalDateTime timestamp, int link) {
+        var chatIds = new UUID[chatsPerLink];
+        var tgIds = new Long[chatsPerLink];
+        var nicknames = new String[chatsPerLink];
+        for (int c = 0; c < chatsPerLink; c++) {
+            chatIds[c] = new UUID(1, (long) link * chatsPerLink + c);
+            tgIds[c] = 100_000L + c;
+            nicknames[c] = "chat-" + c;
+        }
+        var tagIds = new UUID[tagsPerLink];
+        var tags = new String[tagsPerLink];
+        for (int t = 0; t < tagsPerLink; t++) {
+            tagIds[t] = new UUID(2, t);
+            tags[t] = "tag-" + t;
+        }
+        var filterIds = new UUID[filtersPerLink];
+        var parameters = new String[filtersPerLink];
+        var values = new String[filtersPerLink];
+        for (int f = 0; f < filtersPerLink; f++) {
+            filterIds[f] = new UUID(3, f);
+            parameters[f] = "user";
+            values[f] = "bot-" + f;
+        }
+        return new Object[] {
+            id, url, timestamp, timestamp, 300L, chatIds, tgIds, nicknames, tagIds, tags, filterIds, parameters, values
+        };
+    }
+
+    /** Стабильные идентификаторы: одинаковые чаты, теги и фильтры повторяются в строках одной ссылки. */
+    private static String uuid(long kind, long index) {
+        return new UUID(kind, index).toString();
+    }
+}
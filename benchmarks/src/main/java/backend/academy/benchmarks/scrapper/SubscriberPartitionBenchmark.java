@@ -0,0 +1,88 @@
+package backend.academy.benchmarks.scrapper;
+
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.repository.link.LinkCheckView.FilterRule;
+import backend.academy.scrapper.repository.link.LinkCheckView.Subscriber;
+import backend.academy.scrapper.service.UpdateFilterEngine;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link UpdateFilterEngine#partition}: подписчики ссылки делятся по видимым после фильтров событиям и по режиму
+ * доставки. Подписчики разделяют {@code filterSets} различных наборов фильтров, как после выборки, где одинаковые
+ * наборы хранятся одним экземпляром. Каждый третий подписчик получает дайджест.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriberPartitionBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int chats;
+
+    @Param({"1", "10"})
+    private int events;
+
+    @Param({"16"})
+    private int filterSets;
+
+    private final UpdateFilterEngine engine = new UpdateFilterEngine();
+    private List<Subscriber> subscribers;
+    private List<UpdateInfo> updates;
+
+    @Setup
+    public void setUp() {
+        Map<Integer, Set<FilterRule>> sharedFilters = new HashMap<>();
+        subscribers = new ArrayList<>(chats);
+        for (int c = 0; c < chats; c++) {
+            Set<FilterRule> filters = sharedFilters.computeIfAbsent(c % filterSets, this::filterSet);
+            subscribers.add(new Subscriber(100_000L + c, c % 3 == 0 ? LocalTime.of(9, 0) : null, filters));
+        }
+        updates = IntStream.range(0, events)
+                .mapToObj(i -> UpdateInfo.builder()
+                        .title("Issue " + i)
+                        .username("author-" + i)
+                        .date(LocalDateTime.of(2024, 4, 1, 10, 0).plusMinutes(i))
+                        .type(i % 2 == 0 ? "issue" : "pull-request")
+                        .preview("preview " + i)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public Map<List<UpdateInfo>, Map<Boolean, Set<Subscriber>>> partition() {
+        return engine.partition(subscribers, updates);
+    }
+
+    /** Набор {@code n}: исключает одного автора, четные наборы дополнительно оставляют только issue. */
+    private Set<FilterRule> filterSet(int n) {
+        Set<FilterRule> filters = new HashSet<>();
+        filters.add(FilterRule.of("user", "author-" + n % events));
+        if (n % 2 == 0) {
+            filters.add(FilterRule.of("type", "issue"));
+        }
+        return Set.copyOf(filters);
+    }
+}
@@ -0,0 +1,87 @@
+package backend.academy.benchmarks.scrapper;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ResultSet} в памяти с тем набором методов, который вызывают экстракторы ссылок: {@code next},
+ * {@code getString}/{@code getLong}/{@code getTimestamp}/{@code getObject}/{@code getArray} по имени или индексу
+ * колонки и {@code getMetaData}. Перед каждым вызовом бенчмарка курсор возвращается в начало через {@link #reset()}.
+ */
+final class SyntheticResultSet implements InvocationHandler {
+    private final List<String> columns;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private final List<Object[]> rows;
+    private final ResultSet resultSet;
+    private final ResultSetMetaData metaData;
+    private int cursor = -1;
+
+    SyntheticResultSet(List<String> columns, List<Object[]> rows) {
+        this.columns = columns;
+        this.rows = rows;
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndexes.put(columns.get(i), i);
+        }
+        this.resultSet = (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class}, this);
+        this.metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class}, this::metaData);
+    }
+
+    ResultSet reset() {
+        cursor = -1;
+        return resultSet;
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "next" -> ++cursor < rows.size();
+            case "getMetaData" -> metaData;
+            case "getString", "getTimestamp", "getObject" -> value(args[0]);
+            case "getArray" -> array((Object[]) value(args[0]));
+            case "getLong" -> {
+                Object value = value(args[0]);
+                yield value == null ? 0L : value;
+            }
+            case "close" -> null;
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private Object metaData(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "getColumnCount" -> columns.size();
+            case "getColumnName", "getColumnLabel" -> columns.get((Integer) args[0] - 1);
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private Object value(Object column) {
+        int index = column instanceof Integer position ? position - 1 : columnIndexes.get((String) column);
+        return rows.get(cursor)[index];
+    }
+
+    private static Array array(Object[] elements) {
+        if (elements == null) {
+            return null;
+        }
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "getArray" -> elements;
+            case "free" -> null;
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+        return (Array) Proxy.newProxyInstance(Array.class.getClassLoader(), new Class<?>[] {Array.class}, handler);
+    }
+}
@@ -0,0 +1,58 @@
+package backend.academy.benchmarks.scrapper;
+
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Текст уведомления: одно событие через {@link UpdateInfo#getFormattedMessage} и сводное на несколько событий. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdateInfoFormattingBenchmark {
+
+    @Param({"10"})
+    private int events;
+
+    private UpdateInfo single;
+    private List<UpdateInfo> aggregated;
+
+    @Setup
+    public void setUp() {
+        aggregated = IntStream.range(0, events)
+                .mapToObj(i -> UpdateInfo.builder()
+                        .title("Fix race condition in link checker #" + i)
+                        .username("contributor-" + i)
+                        .date(LocalDateTime.of(2024, 4, 1, 10, 0).plusMinutes(i))
+                        .type(i % 2 == 0 ? "issue" : "pull-request")
+                        .preview("x".repeat(200))
+                        .build())
+                .toList();
+        single = aggregated.getFirst();
+    }
+
+    @Benchmark
+    public String formattedMessage() {
+        return single.getFormattedMessage();
+    }
+
+    @Benchmark
+    public String aggregatedMessage() {
+        return UpdateInfo.formatAggregated(aggregated);
+    }
+}
@@ -0,0 +1,127 @@
+package backend.academy.benchmarks.scrapper;
+
+import backend.academy.scrapper.client.UpstreamJson;
+import backend.academy.scrapper.data.dto.GitHubIssue;
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Разбор ответов upstream: прежний путь для {@code /issues?state=all} (тело в {@link String}, полный список DTO,
+ * поиск максимума) против потокового {@link UpstreamJson}, а также ответ StackExchange {@code /questions/{id}} с
+ * ответами и комментариями.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpstreamDecodingBenchmark {
+    private static final long FIRST_POST_EPOCH_SECOND = 1_712_000_000L;
+
+    @Param({"30", "100"})
+    private int items;
+
+    @Param({"2000"})
+    private int bodyLength;
+
+    private byte[] gitHubPayload;
+    private byte[] stackOverflowPayload;
+    private LocalDateTime gitHubSince;
+    private LocalDateTime stackOverflowSince;
+    private ObjectMapper perClientMapper;
+
+    @Setup
+    public void setUp() {
+        String body = "x".repeat(bodyLength);
+        gitHubPayload = IntStream.range(0, items)
+                .mapToObj(i -> """
+                    {"title":"Issue %d","created_at":"2024-04-%02dT10:00:00Z","user":{"login":"user-%d"},\
+                    "labels":[{"name":"bug"}],"body":"%s"}"""
+                        .formatted(i, i % 28 + 1, i, body))
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+        gitHubSince = LocalDateTime.of(2024, 4, 25, 0, 0);
+
+        String answers = posts(items / 2, 0, body);
+        String comments = posts(items - items / 2, 1, body);
+        stackOverflowPayload = """
+                {"items":[{"question_id":1,"title":"Question","answers":[%s],"comments":[%s]}],\
+                "has_more":false,"quota_remaining":9000}"""
+                .formatted(answers, comments)
+                .getBytes(StandardCharsets.UTF_8);
+        stackOverflowSince = LocalDateTime.ofEpochSecond(FIRST_POST_EPOCH_SECOND + items - 5L, 0, ZoneOffset.UTC);
+
+        perClientMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    @Benchmark
+    public Optional<UpdateInfo> gitHubStringAndFullList() throws IOException {
+        String response = new String(gitHubPayload, StandardCharsets.UTF_8);
+        List<GitHubIssue> issues = perClientMapper.readValue(
+                response, perClientMapper.getTypeFactory().constructCollectionType(List.class, GitHubIssue.class));
+        return issues.stream()
+                .max(Comparator.comparing(GitHubIssue::createdAt))
+                .map(issue -> UpdateInfo.builder()
+                        .date(issue.createdAt())
+                        .username(issue.user().login())
+                        .title(issue.title())
+                        .type("issue")
+                        .preview(StringUtils.substring(issue.body(), 0, 200))
+                        .build());
+    }
+
+    @Benchmark
+    public Optional<UpdateInfo> gitHubStreamingLatest() throws IOException {
+        return UpstreamJson.latestGitHubItem(new ByteArrayInputStream(gitHubPayload), "issue");
+    }
+
+    @Benchmark
+    public List<UpdateInfo> gitHubStreamingSince() throws IOException {
+        return UpstreamJson.gitHubItemsSince(new ByteArrayInputStream(gitHubPayload), "issue", gitHubSince);
+    }
+
+    @Benchmark
+    public Optional<UpdateInfo> stackOverflowStreamingLatest() throws IOException {
+        return UpstreamJson.latestStackOverflowPost(new ByteArrayInputStream(stackOverflowPayload));
+    }
+
+    @Benchmark
+    public List<UpdateInfo> stackOverflowStreamingSince() throws IOException {
+        return UpstreamJson.stackOverflowPostsSince(
+                new ByteArrayInputStream(stackOverflowPayload), stackOverflowSince, null);
+    }
+
+    /** Ответы и комментарии чередуют даты, чтобы разбор сравнивал оба списка. */
+    private static String posts(int count, int offset, String body) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> """
+                    {"creation_date":%d,"owner":{"display_name":"user-%d","reputation":10},"body":"%s"}"""
+                        .formatted(FIRST_POST_EPOCH_SECOND + 2L * i + offset, i, body))
+                .collect(Collectors.joining(","));
+    }
+}
@@ -2,14 +2,25 @@ package backend.academy.bot;
 
 import backend.academy.bot.config.BotConfig;
 import backend.academy.bot.config.ScrapperClientProperties;
+import backend.academy.bot.config.TelegramOutboundProperties;
+import backend.academy.bot.config.TelegramRetryProperties;
+import backend.academy.bot.config.TelegramWebhookProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableCaching
 @SpringBootApplication
-@EnableConfigurationProperties({BotConfig.class, ScrapperClientProperties.class})
+@EnableScheduling
+@EnableConfigurationProperties({
+    BotConfig.class,
+    ScrapperClientProperties.class,
+    TelegramOutboundProperties.class,
+    TelegramRetryProperties.class,
+    TelegramWebhookProperties.class
+})
 public class BotApplication {
     public static void main(String[] args) {
         SpringApplication.run(BotApplication.class, args);
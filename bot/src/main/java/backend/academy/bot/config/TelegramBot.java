@@ -4,7 +4,10 @@ import backend.academy.bot.exception.TelegramApiException;
 import com.pengrad.telegrambot.UpdatesListener;
 import com.pengrad.telegrambot.model.BotCommand;
 import com.pengrad.telegrambot.request.BaseRequest;
+import com.pengrad.telegrambot.request.DeleteWebhook;
+import com.pengrad.telegrambot.request.SetWebhook;
 import com.pengrad.telegrambot.response.BaseResponse;
+import jakarta.annotation.PreDestroy;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,15 +23,36 @@ public class TelegramBot {
 
     private final UpdatesListener updatesListener;
     private final BotConfig botProperties;
+    private final TelegramWebhookProperties webhookProperties;
     private com.pengrad.telegrambot.TelegramBot bot;
 
     @EventListener(ApplicationStartedEvent.class)
-    private void initialize() {
+    void initialize() {
         Objects.requireNonNull(botProperties.telegramToken(), "token is null");
-        bot = new com.pengrad.telegrambot.TelegramBot(botProperties.telegramToken());
-        bot.setUpdatesListener(updatesListener);
+        var builder = new com.pengrad.telegrambot.TelegramBot.Builder(botProperties.telegramToken());
+        if (botProperties.telegramApiUrl() != null && !botProperties.telegramApiUrl().isBlank()) {
+            builder.apiUrl(botProperties.telegramApiUrl());
+        }
+        bot = builder.build();
+        if (webhookProperties.enabled()) {
+            registerWebhook();
+        } else {
+            // Telegram не отдает getUpdates, пока зарегистрирован webhook
+            execute(new DeleteWebhook());
+            bot.setUpdatesListener(updatesListener);
+        }
         registerCommands();
-        log.info("TelegramBot initialized and commands registered");
+        log.info(
+                "TelegramBot initialized in {} mode and commands registered",
+                webhookProperties.enabled() ? "webhook" : "long polling");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (bot != null) {
+            bot.removeGetUpdatesListener();
+            bot.shutdown();
+        }
     }
 
     public <T extends BaseRequest<T, R>, R extends BaseResponse> R execute(BaseRequest<T, R> request) {
@@ -38,11 +62,24 @@ public class TelegramBot {
             return response;
         }
         if (!response.isOk()) {
-            throw new TelegramApiException(String.format("%d %s", response.errorCode(), response.description()));
+            throw new TelegramApiException(
+                    response.errorCode(), String.format("%d %s", response.errorCode(), response.description()));
         }
         return response;
     }
 
+    /** Обновления будут приходить на {@code url}; Telegram подписывает каждый запрос секретом из настроек. */
+    private void registerWebhook() {
+        Objects.requireNonNull(webhookProperties.url(), "webhook url is null");
+        if (webhookProperties.secretToken() == null || webhookProperties.secretToken().isBlank()) {
+            throw new IllegalStateException("webhook secret token is empty");
+        }
+        execute(new SetWebhook()
+                .url(webhookProperties.url())
+                .secretToken(webhookProperties.secretToken())
+                .maxConnections(webhookProperties.maxConnections()));
+    }
+
     private void registerCommands() {
         BotCommand[] commands = {
             new BotCommand("/start", "Регистрация"),
@@ -0,0 +1,17 @@
+package backend.academy.bot.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Темп исходящих сообщений в Telegram: {@code globalRate} сообщений в секунду на весь бот, после 429 темп не падает
+ * ниже {@code minGlobalRate}; в один чат не чаще раза в {@code chatInterval}. {@code senders} потоков выполняют
+ * запросы.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.telegram.outbound")
+public record TelegramOutboundProperties(
+        @Min(1) int globalRate, @Min(1) int minGlobalRate, @NotNull Duration chatInterval, @Min(1) int senders) {}
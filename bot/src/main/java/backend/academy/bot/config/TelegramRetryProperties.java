@@ -0,0 +1,24 @@
+package backend.academy.bot.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Повторные отправки в Telegram через Redis. Пауза перед попыткой растет от {@code initialBackoff} вдвое до
+ * {@code maxBackoff}, но не бывает короче {@code retry_after}; после {@code maxAttempts} неудачных попыток сообщение
+ * отбрасывается. За один опрос забирается не больше {@code batchSize} сообщений и только пока в очередях отправки
+ * меньше {@code maxQueued} сообщений. Забранное сообщение возвращается в выдачу через {@code lease}, если его
+ * отправка не завершилась.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.telegram.retry")
+public record TelegramRetryProperties(
+        @NotNull Duration initialBackoff,
+        @NotNull Duration maxBackoff,
+        @Min(1) int maxAttempts,
+        @Min(1) int batchSize,
+        @Min(1) int maxQueued,
+        @NotNull Duration lease) {}
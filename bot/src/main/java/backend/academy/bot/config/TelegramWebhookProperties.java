@@ -0,0 +1,21 @@
+package backend.academy.bot.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Получение обновлений через webhook вместо long polling. При {@code enabled} бот регистрирует в Telegram адрес
+ * {@code url}, который должен вести на {@code /telegram/webhook} одной из реплик, и принимает только запросы с
+ * заголовком {@code X-Telegram-Bot-Api-Secret-Token}, равным {@code secretToken}. {@code maxConnections} — сколько
+ * запросов с обновлениями Telegram держит открытыми одновременно.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.telegram.webhook")
+public record TelegramWebhookProperties(
+        boolean enabled,
+        String url,
+        @Pattern(regexp = "[A-Za-z0-9_-]{0,256}") String secretToken,
+        @Min(1) @Max(100) int maxConnections) {}
@@ -12,13 +12,18 @@ import org.springframework.stereotype.Component;
 @Component("botListener")
 public class BotListener implements UpdatesListener {
 
-    private final UpdateHandler updateHandler;
+    private final UpdateDispatcher updateDispatcher;
 
+    /**
+     * Раздает пачку по очередям чатов и не ждет обработки, поэтому медленный чат не задерживает long polling. Пачка
+     * подтверждается, только когда все ее обновления приняты в очереди: при {@code max-pending} необработанных
+     * обновлений следующий опрос ждет.
+     */
     @Override
     public int process(List<Update> list) {
         log.info("Processing updates: {}", list.size());
         for (Update update : list) {
-            updateHandler.handleUpdate(update);
+            updateDispatcher.dispatch(update);
         }
         return CONFIRMED_UPDATES_ALL;
     }
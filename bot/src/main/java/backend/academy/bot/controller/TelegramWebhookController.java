@@ -0,0 +1,68 @@
+package backend.academy.bot.controller;
+
+import backend.academy.bot.config.TelegramWebhookProperties;
+import com.google.gson.JsonParseException;
+import com.pengrad.telegrambot.model.Update;
+import com.pengrad.telegrambot.utility.BotUtils;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Прием обновлений Telegram через webhook. Обновление отдается в {@link UpdateDispatcher} и подтверждается сразу, не
+ * дожидаясь обработки: Telegram держит ограниченное число запросов открытыми и ждет ответа на каждый. Запросы без
+ * секрета из настроек отклоняются, пустой секрет не принимает ничего.
+ */
+@Slf4j
+@RestController
+@RequestMapping(TelegramWebhookController.PATH)
+@ConditionalOnProperty(value = "app.telegram.webhook.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TelegramWebhookController {
+    static final String PATH = "/telegram/webhook";
+    static final String SECRET_TOKEN_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private final UpdateDispatcher updateDispatcher;
+    private final TelegramWebhookProperties webhookProperties;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> receiveUpdate(
+            @RequestHeader(value = SECRET_TOKEN_HEADER, required = false) String secretToken,
+            @RequestBody String body) {
+        if (!isValid(secretToken)) {
+            log.warn("Rejected webhook request with invalid secret token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Update update;
+        try {
+            update = BotUtils.parseUpdate(body);
+        } catch (JsonParseException e) {
+            log.warn("Rejected malformed webhook update: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (update == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        updateDispatcher.dispatch(update);
+        return ResponseEntity.ok().build();
+    }
+
+    private boolean isValid(String secretToken) {
+        String expected = webhookProperties.secretToken();
+        if (secretToken == null || expected == null || expected.isEmpty()) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                secretToken.getBytes(StandardCharsets.UTF_8), expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,173 @@
+package backend.academy.bot.controller;
+
+import com.pengrad.telegrambot.model.Chat;
+import com.pengrad.telegrambot.model.Message;
+import com.pengrad.telegrambot.model.Update;
+import com.pengrad.telegrambot.model.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Обработка входящих обновлений Telegram: обновления одного чата выполняются строго по очереди, разных чатов —
+ * параллельно в виртуальных потоках. Медленный ответ scrapper задерживает только свой чат. Одновременно
+ * обрабатывается не больше {@code max-concurrency} обновлений, чтобы всплеск сообщений не стал таким же всплеском
+ * запросов к scrapper. В очередях и в обработке одновременно находится не больше {@code max-pending} обновлений:
+ * дальше {@link #dispatch} блокирует вызывающий поток, и long polling перестает забирать новые пачки.
+ */
+@Slf4j
+@Component
+public class UpdateDispatcher {
+    static final String PENDING_METRIC = "bot.updates.pending";
+    static final String PROCESSING_METRIC = "bot.updates.processing";
+
+    private final UpdateHandler updateHandler;
+    private final Semaphore permits;
+    private final Semaphore admission;
+    private final ExecutorService executorService;
+    private final Map<Long, CompletableFuture<Void>> chatTails = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Timer processing;
+
+    public UpdateDispatcher(
+            UpdateHandler updateHandler,
+            @Value("${app.updates.max-concurrency:64}") int maxConcurrency,
+            @Value("${app.updates.max-pending:1000}") int maxPending,
+            MeterRegistry meterRegistry) {
+        this.updateHandler = updateHandler;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.admission = new Semaphore(maxPending, true);
+        this.executorService = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("update-", 0).factory());
+        this.processing = Timer.builder(PROCESSING_METRIC)
+                .description("Time spent handling a single incoming Telegram update")
+                .register(meterRegistry);
+        Gauge.builder(PENDING_METRIC, pending, AtomicInteger::get)
+                .description("Incoming Telegram updates queued or being handled")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ставит обновление в очередь его чата и возвращает управление, не дожидаясь обработки; если необработанных
+     * обновлений уже {@code max-pending}, сначала ждет, пока освободится место. Результат завершается после обработки;
+     * обновления без чата обрабатываются без упорядочивания.
+     */
+    public CompletableFuture<Void> dispatch(Update update) {
+        try {
+            admission.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        pending.incrementAndGet();
+        Runnable task = () -> handle(update);
+        Long chatId = chatId(update);
+        if (chatId == null) {
+            return CompletableFuture.runAsync(task, executorService);
+        }
+        CompletableFuture<Void> next = chatTails.compute(
+                chatId,
+                (id, tail) -> tail == null
+                        ? CompletableFuture.runAsync(task, executorService)
+                        : tail.thenRunAsync(task, executorService));
+        next.whenComplete((ignored, e) -> chatTails.remove(chatId, next));
+        return next;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    private void handle(Update update) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.decrementAndGet();
+            admission.release();
+            return;
+        }
+        try {
+            processing.record(() -> updateHandler.handleUpdate(update));
+        } catch (RuntimeException e) {
+            log.error("Failed to handle update {}", update.updateId(), e);
+        } finally {
+            permits.release();
+            pending.decrementAndGet();
+            admission.release();
+        }
+    }
+
+    /**
+     * Чат обновления: из сообщения, нажатой кнопки или изменения участников, иначе — отправитель, чей личный чат с
+     * ботом совпадает с ним по id. {@code null}, если обновление ни к чату, ни к пользователю не привязано.
+     */
+    static Long chatId(Update update) {
+        Chat chat = chat(update);
+        if (chat != null) {
+            return chat.id();
+        }
+        User sender = sender(update);
+        return sender == null ? null : sender.id();
+    }
+
+    private static Chat chat(Update update) {
+        Message message = Stream.of(
+                        update.message(), update.editedMessage(), update.channelPost(), update.editedChannelPost())
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+        if (message != null) {
+            return message.chat();
+        }
+        if (update.callbackQuery() != null && update.callbackQuery().maybeInaccessibleMessage() != null) {
+            return update.callbackQuery().maybeInaccessibleMessage().chat();
+        }
+        if (update.myChatMember() != null) {
+            return update.myChatMember().chat();
+        }
+        if (update.chatMember() != null) {
+            return update.chatMember().chat();
+        }
+        if (update.chatJoinRequest() != null) {
+            return update.chatJoinRequest().chat();
+        }
+        return null;
+    }
+
+    private static User sender(Update update) {
+        if (update.callbackQuery() != null) {
+            return update.callbackQuery().from();
+        }
+        if (update.inlineQuery() != null) {
+            return update.inlineQuery().from();
+        }
+        if (update.chosenInlineResult() != null) {
+            return update.chosenInlineResult().from();
+        }
+        if (update.shippingQuery() != null) {
+            return update.shippingQuery().from();
+        }
+        if (update.preCheckoutQuery() != null) {
+            return update.preCheckoutQuery().from();
+        }
+        if (update.pollAnswer() != null) {
+            return update.pollAnswer().user();
+        }
+        return null;
+    }
+}
@@ -1,12 +1,23 @@
 package backend.academy.bot.exception;
 
+import lombok.Getter;
+
+@Getter
 public class TelegramApiException extends RuntimeException {
+    /** Код ошибки Telegram API, {@code 0} если ошибка возникла не в ответе Telegram. */
+    private final int errorCode;
 
     public TelegramApiException(String message) {
+        this(0, message);
+    }
+
+    public TelegramApiException(int errorCode, String message) {
         super(message);
+        this.errorCode = errorCode;
     }
 
     public TelegramApiException(String message, Throwable cause) {
         super(message, cause);
+        this.errorCode = 0;
     }
 }
@@ -0,0 +1,78 @@
+package backend.academy.bot.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Общий лимит отправки бота: корзина, пополняемая со скоростью {@code rate} токенов в секунду и вмещающая запас на
+ * секунду вперед. Ответ 429 приостанавливает выдачу токенов на {@code retry_after} и вдвое снижает темп (не ниже
+ * {@code minRate}), каждая успешная отправка прибавляет {@value #RECOVERY_STEP} сообщения в секунду, пока темп не
+ * вернется к {@code maxRate}.
+ */
+@Slf4j
+class AdaptiveTokenBucket {
+    static final double RECOVERY_STEP = 0.1;
+
+    private final double maxRate;
+    private final double minRate;
+    private final Clock clock;
+
+    private double rate;
+    private double tokens;
+    private Instant refilledAt;
+
+    AdaptiveTokenBucket(double maxRate, double minRate, Clock clock) {
+        if (minRate <= 0 || minRate > maxRate) {
+            throw new IllegalArgumentException("Invalid rate range: " + minRate + ".." + maxRate);
+        }
+        this.maxRate = maxRate;
+        this.minRate = minRate;
+        this.clock = clock;
+        this.rate = maxRate;
+        this.tokens = maxRate;
+        this.refilledAt = clock.instant();
+    }
+
+    /** Блокирует вызывающий поток, пока не появится токен на одно сообщение. */
+    void acquire() throws InterruptedException {
+        Duration wait = reserve();
+        if (wait.isPositive()) {
+            Thread.sleep(wait);
+        }
+    }
+
+    /** Резервирует токен и возвращает, сколько нужно подождать перед отправкой. */
+    synchronized Duration reserve() {
+        Instant now = clock.instant();
+        if (now.isAfter(refilledAt)) {
+            double elapsed = Duration.between(refilledAt, now).toNanos() / 1e9;
+            tokens = Math.min(rate, tokens + elapsed * rate);
+            refilledAt = now;
+        }
+        tokens -= 1;
+        Instant grantAt = tokens >= 0 ? refilledAt : refilledAt.plusNanos((long) (-tokens / rate * 1e9));
+        return grantAt.isAfter(now) ? Duration.between(now, grantAt) : Duration.ZERO;
+    }
+
+    /** Учитывает 429: новых токенов не будет до истечения {@code retryAfter}, темп снижается вдвое. */
+    synchronized void backoff(Duration retryAfter) {
+        rate = Math.max(minRate, rate / 2);
+        Instant until = clock.instant().plus(retryAfter);
+        if (until.isAfter(refilledAt)) {
+            refilledAt = until;
+            tokens = 0;
+        }
+        log.warn("Telegram asked to retry after {}, outbound rate lowered to {} msg/s", retryAfter, rate);
+    }
+
+    synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + RECOVERY_STEP);
+    }
+
+    /** Текущий темп в сообщениях в секунду. */
+    synchronized double rate() {
+        return rate;
+    }
+}
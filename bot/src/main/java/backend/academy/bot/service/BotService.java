@@ -1,12 +1,11 @@
 package backend.academy.bot.service;
 
 import backend.academy.bot.clients.ScrapperClient;
-import backend.academy.bot.config.TelegramBot;
-import backend.academy.bot.exception.FailedIncomingUpdatesHandleException;
 import backend.academy.bot.exception.TelegramApiException;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.request.ParseMode;
 import com.pengrad.telegrambot.request.SendMessage;
+import com.pengrad.telegrambot.response.SendResponse;
 import dto.AddLinkRequest;
 import dto.ApiErrorResponse;
 import dto.Digest;
@@ -20,15 +19,11 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -42,13 +37,7 @@ public class BotService {
     private final ScrapperClient client;
     private final AddLinkRequestService addLinkRequestService;
     private final ListRequestService listRequestService;
-    private TelegramBot telegramBot;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
-
-    @Autowired
-    public void setTelegramBot(@Lazy TelegramBot telegramBot) {
-        this.telegramBot = telegramBot;
-    }
+    private final TelegramOutboundScheduler outbound;
 
     // todo: имя кэша конфигурируемое
     @NotNull
@@ -186,24 +175,16 @@ public class BotService {
         }
     }
 
+    /** Ставит уведомление в очереди отправки всех чатов; темп и порядок соблюдает {@link TelegramOutboundScheduler}. */
     public void processUpdate(LinkUpdate update) {
-        for (Long chatId : update.tgChatIds()) {
-            executorService.submit(() -> sendUpdateToChat(update, chatId));
-        }
-    }
-
-    private void sendUpdateToChat(LinkUpdate update, Long chatId) {
         var message = formatUpdateMessage(update);
-        try {
-            telegramBot.execute(new SendMessage(chatId, message));
-            log.info("Update sent to chat {}: {}", chatId, update);
-        } catch (TelegramApiException e) {
-            log.error("Failed to send update to chat {}: {}", chatId, update, e);
-            throw new FailedIncomingUpdatesHandleException("Failed to send update to chat " + chatId, e);
+        for (Long chatId : update.tgChatIds()) {
+            outbound.send(new SendMessage(chatId, message))
+                    .whenComplete((response, e) -> logDelivery(chatId, response, e));
         }
     }
 
-    private String formatUpdateMessage(LinkUpdate update) {
+    public static String formatUpdateMessage(LinkUpdate update) {
         return "Link updated:\n" + "URL: " + update.url() + "\n" + "Description: " + update.message();
     }
 
@@ -212,15 +193,21 @@ public class BotService {
     }
 
     public void processDigests(Digest digest) {
-        try {
-            telegramBot.execute(new SendMessage(digest.tgId(), formatDigestMessage(digest)).parseMode(ParseMode.HTML));
-            log.info("Update sent to chat {}", digest.tgId());
-        } catch (TelegramApiException e) {
-            throw new FailedIncomingUpdatesHandleException("Failed to send update to chat " + digest.tgId(), e);
+        outbound.send(new SendMessage(digest.tgId(), formatDigestMessage(digest)).parseMode(ParseMode.HTML))
+                .whenComplete((response, e) -> logDelivery(digest.tgId(), response, e));
+    }
+
+    private static void logDelivery(Long chatId, SendResponse response, Throwable error) {
+        if (error != null) {
+            log.error("Failed to send update to chat {}", chatId, error);
+        } else if (response.isOk()) {
+            log.info("Update sent to chat {}", chatId);
+        } else {
+            log.warn("Update to chat {} not delivered: {} {}", chatId, response.errorCode(), response.description());
         }
     }
 
-    private String formatDigestMessage(Digest digest) {
+    public static String formatDigestMessage(Digest digest) {
         if (digest.updates() == null || digest.updates().isEmpty()) {
             return "Сегодня не было обновлений по вашим отслеживаемым ссылкам.";
         }
@@ -1,48 +1,48 @@
 package backend.academy.bot.service;
 
 import backend.academy.bot.state.ChatState;
-import java.util.Deque;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+/**
+ * Стек состояний диалога чата в Redis (список {@value #KEY_PREFIX}{@code <chatId>}), чтобы многошаговые команды
+ * продолжались на любой реплике бота, на которую пришло следующее обновление.
+ */
 @Service
+@RequiredArgsConstructor
 public class ChatStateService {
+    static final String KEY_PREFIX = "chatState:";
     private static final int MAX_STACK_SIZE = 10;
-    private final Map<String, Deque<ChatState>> chatStates = new ConcurrentHashMap<>();
 
-    public void setChatState(String chatId, ChatState chatState) {
-        chatStates.computeIfAbsent(chatId, k -> new LinkedList<>());
-
-        Deque<ChatState> stateStack = chatStates.get(chatId);
+    private final StringRedisTemplate redisTemplate;
 
-        if (stateStack.size() >= MAX_STACK_SIZE) {
-            stateStack.pollFirst();
-        }
-
-        stateStack.addLast(chatState);
+    public void setChatState(String chatId, ChatState chatState) {
+        var states = redisTemplate.opsForList();
+        states.rightPush(key(chatId), chatState.name());
+        states.trim(key(chatId), -MAX_STACK_SIZE, -1);
     }
 
     public ChatState getLastChatState(String chatId) {
-        Deque<ChatState> stateStack = chatStates.get(chatId);
-        if (stateStack == null || stateStack.isEmpty()) {
-            return null;
-        }
-        return stateStack.pollLast();
+        return parse(redisTemplate.opsForList().rightPop(key(chatId)));
     }
 
     public Optional<ChatState> peekLastChatState(String chatId) {
-        Deque<ChatState> stateStack = chatStates.get(chatId);
-        if (stateStack == null || stateStack.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable(stateStack.peekLast());
+        return Optional.ofNullable(parse(redisTemplate.opsForList().index(key(chatId), -1)));
     }
 
     public List<ChatState> getAllChatStates(String chatId) {
-        return chatStates.getOrDefault(chatId, new LinkedList<>()).stream().toList();
+        List<String> states = redisTemplate.opsForList().range(key(chatId), 0, -1);
+        return states == null ? List.of() : states.stream().map(ChatState::valueOf).toList();
+    }
+
+    private static ChatState parse(String state) {
+        return state == null ? null : ChatState.valueOf(state);
+    }
+
+    private static String key(String chatId) {
+        return KEY_PREFIX + chatId;
     }
 }
@@ -0,0 +1,75 @@
+package backend.academy.bot.service;
+
+import backend.academy.bot.config.TelegramOutboundProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Общий для всех реплик бота лимит {@code global-rate} сообщений в секунду: отправки считаются в Redis по ключу
+ * {@value #KEY_PREFIX}{@code <секунда>}. Локальная {@link AdaptiveTokenBucket} сглаживает темп реплики, а этот
+ * счетчик не дает репликам вместе превысить лимит Telegram. Если Redis недоступен, действует только локальная
+ * корзина.
+ */
+@Slf4j
+@Component
+public class TelegramGlobalRateLimiter {
+    static final String KEY_PREFIX = "telegram:rate:";
+    private static final long KEY_TTL_MILLIS = 2000;
+
+    private static final RedisScript<Long> COUNT = RedisScript.of(
+            """
+            local count = redis.call('INCR', KEYS[1])
+            if count == 1 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return count
+            """,
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final int globalRate;
+    private final Clock clock;
+
+    @Autowired
+    public TelegramGlobalRateLimiter(StringRedisTemplate redisTemplate, TelegramOutboundProperties properties) {
+        this(redisTemplate, properties.globalRate(), Clock.systemUTC());
+    }
+
+    TelegramGlobalRateLimiter(StringRedisTemplate redisTemplate, int globalRate, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.globalRate = globalRate;
+        this.clock = clock;
+    }
+
+    /** Блокирует вызывающий поток, пока в общем лимите не найдется место для одного сообщения. */
+    public void acquire() throws InterruptedException {
+        Duration wait = reserve();
+        while (wait.isPositive()) {
+            Thread.sleep(wait);
+            wait = reserve();
+        }
+    }
+
+    /** Занимает место в текущей секунде или возвращает, сколько ждать до следующей. */
+    Duration reserve() {
+        long now = clock.millis();
+        long second = now / 1000;
+        try {
+            Long count = redisTemplate.execute(COUNT, List.of(KEY_PREFIX + second), String.valueOf(KEY_TTL_MILLIS));
+            if (count == null || count <= globalRate) {
+                return Duration.ZERO;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Shared Telegram rate limit is unavailable, using local limit only: {}", e.getMessage());
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis((second + 1) * 1000 - now);
+    }
+}
@@ -0,0 +1,373 @@
+package backend.academy.bot.service;
+
+import backend.academy.bot.config.TelegramBot;
+import backend.academy.bot.config.TelegramOutboundProperties;
+import backend.academy.bot.config.TelegramRetryProperties;
+import backend.academy.bot.exception.TelegramApiException;
+import com.pengrad.telegrambot.request.SendMessage;
+import com.pengrad.telegrambot.response.SendResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Все исходящие сообщения бота. У каждого чата своя FIFO-очередь, из которой сообщения уходят по одному и не чаще
+ * раза в {@code chat-interval}; темп реплики ограничивает {@link AdaptiveTokenBucket}, а суммарный темп всех реплик —
+ * {@link TelegramGlobalRateLimiter}. На 429 чат и темп реплики приостанавливаются на {@code retry_after}.
+ *
+ * <p>Сообщение, получившее 429, 5xx или сетевую ошибку, уходит в {@link TelegramRetryQueue} и возвращается оттуда в
+ * начало очереди своего чата с экспоненциальной паузой, не короче {@code retry_after}. Пока повтор не вернулся,
+ * остальные сообщения чата ждут, чтобы не обогнать его, но не дольше паузы повтора плюс {@code lease}; повтор
+ * забирает та же реплика, что его отложила, поэтому ожидание не затягивается из-за соседней реплики. Повторы
+ * забираются из Redis, только пока в очередях есть место, и проходят через те же ограничения темпа, что и новые
+ * сообщения.
+ *
+ * <p>Метрики: {@value #QUEUE_DEPTH_METRIC} — сообщения в очередях, {@value #SEND_METRIC} — длительность запроса к
+ * Telegram по исходу, {@value #DELIVERY_METRIC} — время от постановки в очередь до ответа, {@value #RATE_METRIC} —
+ * текущий общий темп, {@value #RETRY_PENDING_METRIC} — сообщения, ожидающие повтора в Redis.
+ */
+@Slf4j
+@Component
+public class TelegramOutboundScheduler {
+    public static final String QUEUE_DEPTH_METRIC = "bot.telegram.outbound.queued";
+    public static final String SEND_METRIC = "bot.telegram.outbound.send";
+    public static final String DELIVERY_METRIC = "bot.telegram.outbound.delivery";
+    public static final String RATE_METRIC = "bot.telegram.outbound.rate";
+    public static final String RETRY_PENDING_METRIC = "bot.telegram.retry.pending";
+
+    static final int TOO_MANY_REQUESTS = 429;
+    private static final String CHAT_ID = "chat_id";
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final TelegramBot telegramBot;
+    private final TelegramRetryQueue retryQueue;
+    private final TelegramRetryProperties retry;
+    private final Duration chatInterval;
+    private final AdaptiveTokenBucket bucket;
+    private final TelegramGlobalRateLimiter globalLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Timer deliveryLatency;
+    private final ConcurrentHashMap<String, ChatQueue> chats = new ConcurrentHashMap<>();
+    private final DelayQueue<ChatQueue> ready = new DelayQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong retryPending = new AtomicLong();
+    private final ExecutorService senders;
+    private final Thread dispatcher;
+
+    public TelegramOutboundScheduler(
+            @Lazy TelegramBot telegramBot,
+            TelegramRetryQueue retryQueue,
+            TelegramOutboundProperties properties,
+            TelegramRetryProperties retry,
+            TelegramGlobalRateLimiter globalLimiter,
+            MeterRegistry meterRegistry) {
+        this.telegramBot = telegramBot;
+        this.retryQueue = retryQueue;
+        this.retry = retry;
+        this.chatInterval = properties.chatInterval();
+        this.bucket =
+                new AdaptiveTokenBucket(properties.globalRate(), properties.minGlobalRate(), Clock.systemUTC());
+        this.globalLimiter = globalLimiter;
+        this.meterRegistry = meterRegistry;
+        this.deliveryLatency = Timer.builder(DELIVERY_METRIC)
+                .description("Time from enqueueing a Telegram message to the API response")
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH_METRIC, queued, AtomicInteger::get)
+                .description("Telegram messages waiting in per-chat queues")
+                .register(meterRegistry);
+        Gauge.builder(RATE_METRIC, bucket, AdaptiveTokenBucket::rate)
+                .description("Current global Telegram send rate")
+                .baseUnit("messages/s")
+                .register(meterRegistry);
+        Gauge.builder(RETRY_PENDING_METRIC, retryPending, AtomicLong::get)
+                .description("Telegram messages waiting for a retry in Redis")
+                .register(meterRegistry);
+        this.senders = Executors.newFixedThreadPool(properties.senders());
+        this.dispatcher = Thread.ofPlatform()
+                .name("telegram-outbound-dispatcher")
+                .daemon()
+                .start(this::dispatch);
+    }
+
+    /**
+     * Ставит сообщение в очередь его чата. Результат завершается ответом Telegram, включая неуспешные ответы, которые
+     * {@link TelegramBot#execute} не превращает в исключение, или исключением запроса. Повторы из
+     * {@link TelegramRetryQueue} на результат не влияют.
+     */
+    public CompletableFuture<SendResponse> send(SendMessage message) {
+        return enqueue(new Outbound(message, System.nanoTime(), null)).result();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    /**
+     * Возвращает в очереди чатов сообщения из Redis, время повтора которых наступило. Забирается не больше, чем
+     * осталось места до {@code max-queued}, поэтому накопившиеся повторы не вытесняют новые сообщения.
+     */
+    @Scheduled(fixedDelayString = "${app.telegram.retry.poll-interval}")
+    public void redeliver() {
+        try {
+            int capacity = Math.min(retry.batchSize(), retry.maxQueued() - queued.get());
+            if (capacity > 0) {
+                for (var pending : retryQueue.claimDue(capacity)) {
+                    enqueue(new Outbound(pending.message(), System.nanoTime(), pending));
+                }
+            }
+            retryPending.set(retryQueue.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to poll Telegram retry queue: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.interrupt();
+        senders.shutdown();
+    }
+
+    private Outbound enqueue(Outbound outbound) {
+        String chatId = String.valueOf(outbound.message().getParameters().get(CHAT_ID));
+        queued.incrementAndGet();
+        ChatQueue queue = chats.computeIfAbsent(chatId, this::open);
+        while (!(outbound.pending() == null ? queue.offer(outbound) : queue.offerFirst(outbound, ready))) {
+            chats.remove(chatId, queue);
+            queue = chats.computeIfAbsent(chatId, this::open);
+        }
+        return outbound;
+    }
+
+    private ChatQueue open(String chatId) {
+        var queue = new ChatQueue(chatId);
+        ready.put(queue);
+        return queue;
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ChatQueue chat = ready.take();
+                Outbound head = chat.peekOrClose();
+                if (head == null) {
+                    chats.remove(chat.chatId(), chat);
+                    continue;
+                }
+                bucket.acquire();
+                globalLimiter.acquire();
+                senders.execute(() -> deliver(chat, head));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void deliver(ChatQueue chat, Outbound outbound) {
+        long started = System.nanoTime();
+        Duration pause = chatInterval;
+        try {
+            SendResponse response = telegramBot.execute(outbound.message());
+            if (response.errorCode() == TOO_MANY_REQUESTS) {
+                pause = retryAfter(response);
+                record(started, "throttled");
+                bucket.backoff(pause);
+                retryLater(chat, outbound, pause);
+            } else if (response.isOk()) {
+                record(started, "sent");
+                bucket.onSuccess();
+            } else {
+                record(started, "rejected");
+            }
+            complete(chat, outbound);
+            outbound.result().complete(response);
+        } catch (RuntimeException e) {
+            record(started, "failed");
+            log.error("Failed to send message to chat {}: {}", chat.chatId(), e.getMessage());
+            if (isTransient(e)) {
+                retryLater(chat, outbound, Duration.ZERO);
+            }
+            complete(chat, outbound);
+            outbound.result().completeExceptionally(e);
+        } finally {
+            chat.reschedule(ready, pause);
+        }
+    }
+
+    /**
+     * Откладывает сообщение в Redis и задерживает остальные сообщения чата до его возврата; пауза растет вдвое с каждой
+     * попыткой и не бывает короче {@code retryAfter}.
+     */
+    private void retryLater(ChatQueue chat, Outbound outbound, Duration retryAfter) {
+        int attempt = outbound.attempt();
+        if (attempt >= retry.maxAttempts()) {
+            log.error("Dropping message to chat {} after {} attempts", chat.chatId(), attempt);
+            return;
+        }
+        Duration delay = backoff(attempt);
+        if (retryAfter.compareTo(delay) > 0) {
+            delay = retryAfter;
+        }
+        try {
+            retryQueue.schedule(outbound.message(), attempt + 1, delay);
+            chat.hold(delay.plus(retry.lease()));
+            log.warn("Message to chat {} will be retried in {} (attempt {})", chat.chatId(), delay, attempt + 1);
+        } catch (RuntimeException e) {
+            log.error("Failed to persist message to chat {} for retry: {}", chat.chatId(), e.getMessage());
+        }
+    }
+
+    Duration backoff(int attempt) {
+        Duration delay = retry.initialBackoff().multipliedBy(1L << Math.min(attempt - 1, 30));
+        return delay.compareTo(retry.maxBackoff()) > 0 ? retry.maxBackoff() : delay;
+    }
+
+    private void complete(ChatQueue chat, Outbound outbound) {
+        chat.remove(outbound);
+        queued.decrementAndGet();
+        deliveryLatency.record(System.nanoTime() - outbound.enqueuedAt(), TimeUnit.NANOSECONDS);
+        if (outbound.pending() != null) {
+            try {
+                retryQueue.acknowledge(outbound.pending());
+            } catch (RuntimeException e) {
+                log.error("Failed to acknowledge Telegram retry for chat {}: {}", chat.chatId(), e.getMessage());
+            }
+        }
+    }
+
+    private void record(long started, String outcome) {
+        Timer.builder(SEND_METRIC)
+                .description("Telegram sendMessage request duration")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /** 5xx от Telegram и ошибки соединения; остальные ответы с ошибкой при повторе не изменятся. */
+    static boolean isTransient(RuntimeException e) {
+        return !(e instanceof TelegramApiException apiException) || apiException.errorCode() >= 500;
+    }
+
+    static Duration retryAfter(SendResponse response) {
+        var parameters = response.parameters();
+        if (parameters == null || parameters.retryAfter() == null || parameters.retryAfter() <= 0) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        return Duration.ofSeconds(parameters.retryAfter());
+    }
+
+    /** Сообщение в очереди чата; {@code pending} — его запись в {@link TelegramRetryQueue}, если это повтор. */
+    private record Outbound(
+            SendMessage message,
+            long enqueuedAt,
+            TelegramRetryQueue.PendingMessage pending,
+            CompletableFuture<SendResponse> result) {
+
+        Outbound(SendMessage message, long enqueuedAt, TelegramRetryQueue.PendingMessage pending) {
+            this(message, enqueuedAt, pending, new CompletableFuture<>());
+        }
+
+        /** Номер текущей попытки, считая с единицы. */
+        int attempt() {
+            return pending == null ? 1 : pending.attempt();
+        }
+    }
+
+    /**
+     * Очередь одного чата. Пока очередь есть в {@link #chats}, она находится либо в {@link #ready}, либо в отправке;
+     * пустая очередь удаляется диспетчером по истечении паузы, поэтому следующее сообщение все равно ее выдерживает.
+     * Удерживаемая очередь ждет в {@link #ready} возврата повтора или истечения удержания.
+     */
+    private static final class ChatQueue implements Delayed {
+        private final String chatId;
+        private final Deque<Outbound> messages = new ArrayDeque<>();
+        private volatile long readyAt = System.nanoTime();
+        private boolean closed;
+        private boolean held;
+        private long heldUntil;
+
+        ChatQueue(String chatId) {
+            this.chatId = chatId;
+        }
+
+        String chatId() {
+            return chatId;
+        }
+
+        /** Добавляет сообщение, если очередь еще не удалена. */
+        synchronized boolean offer(Outbound outbound) {
+            if (closed) {
+                return false;
+            }
+            messages.addLast(outbound);
+            return true;
+        }
+
+        /** Ставит повтор в начало очереди и сразу возвращает удерживаемую очередь в {@code ready}. */
+        synchronized boolean offerFirst(Outbound outbound, DelayQueue<ChatQueue> ready) {
+            if (closed) {
+                return false;
+            }
+            messages.addFirst(outbound);
+            if (held) {
+                held = false;
+                if (ready.remove(this)) {
+                    readyAt = System.nanoTime();
+                    ready.put(this);
+                }
+            }
+            return true;
+        }
+
+        /** Первое сообщение; пустая очередь закрывается для новых сообщений. Истекшее удержание снимается. */
+        synchronized Outbound peekOrClose() {
+            held = false;
+            Outbound head = messages.peekFirst();
+            closed = head == null;
+            return head;
+        }
+
+        synchronized void remove(Outbound outbound) {
+            messages.removeFirstOccurrence(outbound);
+        }
+
+        /** Не выдает сообщения чата, пока не вернется отложенный повтор, но не дольше {@code timeout}. */
+        synchronized void hold(Duration timeout) {
+            held = true;
+            heldUntil = System.nanoTime() + timeout.toNanos();
+        }
+
+        /** Возвращает очередь в {@code ready} через {@code pause}, а удерживаемую — по истечении удержания. */
+        synchronized void reschedule(DelayQueue<ChatQueue> ready, Duration pause) {
+            readyAt = held ? heldUntil : System.nanoTime() + pause.toNanos();
+            ready.put(this);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
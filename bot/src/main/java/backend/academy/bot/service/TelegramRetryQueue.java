@@ -0,0 +1,172 @@
+package backend.academy.bot.service;
+
+import backend.academy.bot.config.TelegramRetryProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.pengrad.telegrambot.request.SendMessage;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Отложенные повторные отправки в Telegram, которые переживают перезапуск бота. Сообщения лежат в sorted set
+ * {@value #QUEUE_KEY}, score — время следующей попытки в миллисекундах. Забранное сообщение не удаляется, а
+ * откладывается на {@code lease}: если бот упадет до {@link #acknowledge}, сообщение снова станет доступно по
+ * истечении аренды.
+ *
+ * <p>Каждое сообщение помечено репликой, которая его отложила, и забирается только ею: эта реплика держит очередь
+ * чата до возврата повтора. Сообщение чужой реплики забирается, только если она не забрала его в течение
+ * {@code lease} после наступления срока, то есть, скорее всего, остановлена.
+ */
+@Slf4j
+@Component
+public class TelegramRetryQueue {
+    static final String QUEUE_KEY = "telegram:retry";
+    private static final int SCAN_FACTOR = 10;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM = RedisScript.of(
+            """
+            local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[4])
+            local claimed = {}
+            for i = 1, #due, 2 do
+                if #claimed >= tonumber(ARGV[2]) then
+                    break
+                end
+                local member = due[i]
+                local ok, stored = pcall(cjson.decode, member)
+                local owner = ok and type(stored) == 'table' and stored.owner or nil
+                if type(owner) ~= 'string' or owner == ARGV[5] or tonumber(due[i + 1]) <= tonumber(ARGV[6]) then
+                    redis.call('ZADD', KEYS[1], 'XX', ARGV[3], member)
+                    claimed[#claimed + 1] = member
+                end
+            end
+            return claimed
+            """,
+            List.class);
+
+    private static final Gson GSON = new Gson();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration lease;
+    private final Clock clock;
+    private final String owner;
+
+    @Autowired
+    public TelegramRetryQueue(
+            StringRedisTemplate redisTemplate, ObjectMapper objectMapper, TelegramRetryProperties properties) {
+        this(redisTemplate, objectMapper, properties.lease(), Clock.systemUTC(), UUID.randomUUID().toString());
+    }
+
+    TelegramRetryQueue(
+            StringRedisTemplate redisTemplate, ObjectMapper objectMapper, Duration lease, Clock clock, String owner) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+        this.clock = clock;
+        this.owner = owner;
+    }
+
+    /** Планирует попытку номер {@code attempt} через {@code delay}. */
+    public void schedule(SendMessage message, int attempt, Duration delay) {
+        var stored = new StoredMessage(UUID.randomUUID().toString(), owner, attempt, parameters(message));
+        try {
+            redisTemplate.opsForZSet().add(QUEUE_KEY, objectMapper.writeValueAsString(stored), dueAt(delay));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize Telegram message for retry", e);
+        }
+    }
+
+    /**
+     * Забирает до {@code limit} своих или брошенных сообщений, время попытки которых наступило, в порядке этого
+     * времени.
+     */
+    @SuppressWarnings("unchecked")
+    public List<PendingMessage> claimDue(int limit) {
+        List<String> members = redisTemplate.execute(
+                CLAIM,
+                List.of(QUEUE_KEY),
+                String.valueOf(dueAt(Duration.ZERO)),
+                String.valueOf(limit),
+                String.valueOf(dueAt(lease)),
+                String.valueOf((long) limit * SCAN_FACTOR),
+                owner,
+                String.valueOf(dueAt(lease.negated())));
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        var pending = new ArrayList<PendingMessage>(members.size());
+        for (String member : members) {
+            try {
+                StoredMessage stored = objectMapper.readValue(member, StoredMessage.class);
+                pending.add(new PendingMessage(member, new StoredSendMessage(stored.parameters()), stored.attempt()));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.error("Dropping malformed Telegram retry entry: {}", e.getMessage());
+                redisTemplate.opsForZSet().remove(QUEUE_KEY, member);
+            }
+        }
+        return pending;
+    }
+
+    /** Удаляет сообщение из очереди после успешной или окончательно неудачной попытки. */
+    public void acknowledge(PendingMessage message) {
+        redisTemplate.opsForZSet().remove(QUEUE_KEY, message.member());
+    }
+
+    /** Число сообщений, ожидающих повторной отправки, включая забранные, но еще не подтвержденные. */
+    public long size() {
+        Long size = redisTemplate.opsForZSet().zCard(QUEUE_KEY);
+        return size == null ? 0 : size;
+    }
+
+    private double dueAt(Duration delay) {
+        return clock.millis() + delay.toMillis();
+    }
+
+    /**
+     * Параметры запроса в том виде, в котором их отправляет pengrad: строки, числа и перечисления как есть, объекты
+     * (клавиатуры) — JSON.
+     */
+    static Map<String, String> parameters(SendMessage message) {
+        var parameters = new LinkedHashMap<String, String>();
+        message.getParameters().forEach((name, value) -> {
+            if (value != null) {
+                parameters.put(name, isPlain(value) ? String.valueOf(value) : GSON.toJson(value));
+            }
+        });
+        return parameters;
+    }
+
+    private static boolean isPlain(Object value) {
+        return value instanceof CharSequence
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Enum<?>;
+    }
+
+    /** Сообщение из очереди; {@code member} — его запись в sorted set, {@code attempt} — номер предстоящей попытки. */
+    public record PendingMessage(String member, SendMessage message, int attempt) {}
+
+    /** {@code owner} — реплика, которая отложила сообщение; в записях старого формата отсутствует. */
+    record StoredMessage(String id, String owner, int attempt, Map<String, String> parameters) {}
+
+    /** {@link SendMessage}, восстановленный из сохраненных параметров. */
+    static final class StoredSendMessage extends SendMessage {
+
+        StoredSendMessage(Map<String, String> parameters) {
+            super(parameters.get("chat_id"), parameters.get("text"));
+            parameters.forEach(this::add);
+        }
+    }
+}
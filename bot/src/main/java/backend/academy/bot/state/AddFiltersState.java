@@ -39,13 +39,9 @@ public class AddFiltersState extends StateImpl {
     @Override
     public void show(long chatId) {
         log.info("Current state: {}", state);
-        try {
-            bot.execute(new SendMessage(chatId, message)
-                    .replyMarkup(keyboardFactory.getNextAndBackButtonKeyboard())
-                    .parseMode(ParseMode.HTML));
-        } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
-        }
+        reply(new SendMessage(chatId, message)
+                .replyMarkup(keyboardFactory.getNextAndBackButtonKeyboard())
+                .parseMode(ParseMode.HTML));
     }
 
     @Override
@@ -74,7 +70,7 @@ public class AddFiltersState extends StateImpl {
                 showUnsupportedActionMessage(update);
             }
         } catch (Exception ex) {
-            bot.execute(new SendMessage(update.message().chat().id(), "Непредвиденная ошибка" + ex.getMessage()));
+            reply(new SendMessage(update.message().chat().id(), "Непредвиденная ошибка" + ex.getMessage()));
         }
     }
 
@@ -83,10 +79,10 @@ public class AddFiltersState extends StateImpl {
         var response = botService.commitLinkTracking(chatId);
         switch (response) {
             case LinkResponse link -> {
-                bot.execute(new SendMessage(chatId, "Ссылка успешно добавлена в отслеживание!"));
+                reply(new SendMessage(chatId, "Ссылка успешно добавлена в отслеживание!"));
             }
             case ApiErrorResponse error -> {
-                bot.execute(new SendMessage(
+                reply(new SendMessage(
                                 chatId,
                                 String.format(
                                         "У нас не получилось добавить к отслеживанию ссылку по причине: %s",
@@ -117,7 +113,7 @@ public class AddFiltersState extends StateImpl {
     private void cancelLinkInsertion(Update update) {
         var chatId = update.message().chat().id();
         log.info("Cancelling link insertion: {}", chatId);
-        bot.execute(new SendMessage(chatId, "Ранее отправленная ссылка будет удалена").parseMode(ParseMode.HTML));
+        reply(new SendMessage(chatId, "Ранее отправленная ссылка будет удалена").parseMode(ParseMode.HTML));
         trackLinkService.clearLinkRequest(chatId);
         stateManager.navigate(update, ChatState.MENU);
     }
@@ -62,7 +62,7 @@ public class AddTagsState extends StateImpl {
     private void cancelLinkInsertion(Update update) {
         var chatId = update.message().chat().id();
         log.info("Cancelling link insertion: {}", chatId);
-        bot.execute(new SendMessage(chatId, "Ранее отправленная ссылка будет удалена").parseMode(ParseMode.HTML));
+        reply(new SendMessage(chatId, "Ранее отправленная ссылка будет удалена").parseMode(ParseMode.HTML));
         trackLinkService.clearLinkRequest(chatId);
         stateManager.navigate(update, ChatState.MENU);
     }
@@ -1,6 +1,5 @@
 package backend.academy.bot.state;
 
-import backend.academy.bot.exception.TelegramApiException;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.request.ParseMode;
 import com.pengrad.telegrambot.request.SendMessage;
@@ -33,14 +32,10 @@ public class HelpState extends StateImpl {
     @Override
     public void show(long chatId) {
         log.info("Current state: {}", state);
-        try {
-            bot.execute(new SendMessage(chatId, message).parseMode(ParseMode.HTML));
-            bot.execute(new SendMessage(chatId, infoMenu)
-                    .parseMode(ParseMode.HTML)
-                    .replyMarkup(keyboardFactory.getBackStateKeyboard()));
-        } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
-        }
+        reply(new SendMessage(chatId, message).parseMode(ParseMode.HTML));
+        reply(new SendMessage(chatId, infoMenu)
+                .parseMode(ParseMode.HTML)
+                .replyMarkup(keyboardFactory.getBackStateKeyboard()));
     }
 
     @Override
@@ -48,7 +48,7 @@ public class InsertTagsToSearchState extends StateImpl {
     private void cancelListRequest(Update update) {
         var chatId = update.message().chat().id();
         log.info("Cancelling link insertion: {}", chatId);
-        bot.execute(new SendMessage(chatId, "Отмена запроса списка ссылок").parseMode(ParseMode.HTML));
+        reply(new SendMessage(chatId, "Отмена запроса списка ссылок").parseMode(ParseMode.HTML));
         listRequestService.clearLinkRequest(chatId);
         stateManager.navigate(update, ChatState.MENU);
     }
@@ -25,14 +25,14 @@ public class ListState extends StateImpl {
     @Override
     public void show(long chatId) {
         log.info("Current state: {}", state);
+        reply(new SendMessage(chatId, message)
+                .replyMarkup(keyboardFactory.getBackStateKeyboard())
+                .parseMode(ParseMode.HTML));
         try {
-            bot.execute(new SendMessage(chatId, message)
-                    .replyMarkup(keyboardFactory.getBackStateKeyboard())
-                    .parseMode(ParseMode.HTML));
             var message = handleLinksList(botService.getAllLinks(chatId));
-            bot.execute(new SendMessage(chatId, message).parseMode(ParseMode.HTML));
+            reply(new SendMessage(chatId, message).parseMode(ParseMode.HTML));
         } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
+            log.info("Error while building links list: {}", e.getMessage());
         }
     }
 
@@ -1,6 +1,5 @@
 package backend.academy.bot.state;
 
-import backend.academy.bot.exception.TelegramApiException;
 import backend.academy.bot.service.ListRequestService;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.request.ParseMode;
@@ -32,14 +31,10 @@ public class MenuState extends StateImpl {
     @Override
     public void show(long chatId) {
         log.info("Current state: {}", state);
-        try {
-            bot.execute(new SendMessage(chatId, "Добро пожаловать в TG-Bot-Link-Tracker")
-                    .replyMarkup(keyboardFactory.getMainMenuKeyboard())
-                    .parseMode(ParseMode.HTML));
-            bot.execute(new SendMessage(chatId, message));
-        } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
-        }
+        reply(new SendMessage(chatId, "Добро пожаловать в TG-Bot-Link-Tracker")
+                .replyMarkup(keyboardFactory.getMainMenuKeyboard())
+                .parseMode(ParseMode.HTML));
+        reply(new SendMessage(chatId, message));
     }
 
     @Override
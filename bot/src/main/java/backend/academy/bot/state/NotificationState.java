@@ -1,6 +1,5 @@
 package backend.academy.bot.state;
 
-import backend.academy.bot.exception.TelegramApiException;
 import backend.academy.bot.service.Validator;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.request.ParseMode;
@@ -48,13 +47,9 @@ public class NotificationState extends StateImpl {
     @Override
     public void show(long chatId) {
         log.info("Current state: NotificationState");
-        try {
-            bot.execute(new SendMessage(chatId, message)
-                    .replyMarkup(keyboardFactory.getNotificationTimeSetKeyboard())
-                    .parseMode(ParseMode.HTML));
-        } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
-        }
+        reply(new SendMessage(chatId, message)
+                .replyMarkup(keyboardFactory.getNotificationTimeSetKeyboard())
+                .parseMode(ParseMode.HTML));
     }
 
     @Override
@@ -68,7 +63,7 @@ public class NotificationState extends StateImpl {
         var text = update.message().text();
 
         if (back_button.equals(text)) {
-            bot.execute(new SendMessage(chatId, cancelText).parseMode(ParseMode.HTML));
+            reply(new SendMessage(chatId, cancelText).parseMode(ParseMode.HTML));
             stateManager.navigate(update, ChatState.MENU);
             return;
         }
@@ -80,7 +75,7 @@ public class NotificationState extends StateImpl {
     private void changeTime(String message, Long chatId) {
         message = message.trim().toLowerCase();
         if (byDefault.equals(message)) {
-            bot.execute(new SendMessage(chatId, byDefaultText).parseMode(ParseMode.HTML));
+            reply(new SendMessage(chatId, byDefaultText).parseMode(ParseMode.HTML));
             botService.changeDigestTime(chatId, null);
             log.info("TgChat: {} cancel digest time changing", chatId);
             return;
@@ -101,7 +96,7 @@ public class NotificationState extends StateImpl {
                 Попробуйте позже.
                 Причина: %s""",
                     error.description());
-            bot.execute(new SendMessage(chatId, failChangeTimeMessage).parseMode(ParseMode.HTML));
+            reply(new SendMessage(chatId, failChangeTimeMessage).parseMode(ParseMode.HTML));
         } else {
             String successfulChangeTimeMessage = String.format(
                     """
@@ -109,7 +104,7 @@ public class NotificationState extends StateImpl {
                 Теперь список обновлений будет отображаться вам каждый день в %s
                 """,
                     time);
-            bot.execute(new SendMessage(chatId, successfulChangeTimeMessage).parseMode(ParseMode.HTML));
+            reply(new SendMessage(chatId, successfulChangeTimeMessage).parseMode(ParseMode.HTML));
         }
     }
 }
@@ -1,6 +1,5 @@
 package backend.academy.bot.state;
 
-import backend.academy.bot.exception.TelegramApiException;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.request.ParseMode;
 import com.pengrad.telegrambot.request.SendMessage;
@@ -22,12 +21,8 @@ public class RegisterState extends StateImpl {
 
     public void show(Update update) {
         log.info("Current state: {}", state);
-        try {
-            bot.execute(new SendMessage(update.message().chat().id(), message).parseMode(ParseMode.HTML));
-            handle(update);
-        } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
-        }
+        reply(new SendMessage(update.message().chat().id(), message).parseMode(ParseMode.HTML));
+        handle(update);
     }
 
     @Override
@@ -41,9 +36,9 @@ public class RegisterState extends StateImpl {
                     error.code(),
                     error.exceptionName(),
                     error.exceptionMessage());
-            bot.execute(new SendMessage(update.message().chat().id(), error.description()).parseMode(ParseMode.HTML));
+            reply(new SendMessage(update.message().chat().id(), error.description()).parseMode(ParseMode.HTML));
         } else {
-            bot.execute(new SendMessage(update.message().chat().id(), (String) message).parseMode(ParseMode.HTML));
+            reply(new SendMessage(update.message().chat().id(), (String) message).parseMode(ParseMode.HTML));
             stateManager.navigate(update, ChatState.MENU);
         }
     }
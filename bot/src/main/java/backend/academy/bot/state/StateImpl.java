@@ -1,11 +1,10 @@
 package backend.academy.bot.state;
 
-import backend.academy.bot.config.TelegramBot;
-import backend.academy.bot.exception.TelegramApiException;
 import backend.academy.bot.service.BotService;
 import backend.academy.bot.service.ChatStateService;
 import backend.academy.bot.service.KeyboardFactory;
 import backend.academy.bot.service.StateManager;
+import backend.academy.bot.service.TelegramOutboundScheduler;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.request.ParseMode;
 import com.pengrad.telegrambot.request.SendMessage;
@@ -15,7 +14,6 @@ import java.net.URL;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 
 @Getter
 @Slf4j
@@ -23,7 +21,6 @@ public abstract class StateImpl implements State {
     protected static final String back_button = "Назад";
     protected final ChatState state;
     protected final String message;
-    protected TelegramBot bot;
 
     @Autowired
     protected StateManager stateManager;
@@ -38,9 +35,7 @@ public abstract class StateImpl implements State {
     protected BotService botService;
 
     @Autowired
-    public void setTelegramBot(@Lazy TelegramBot bot) {
-        this.bot = bot;
-    }
+    protected TelegramOutboundScheduler outbound;
 
     public StateImpl(ChatState state, String message) {
         this.state = state;
@@ -50,13 +45,9 @@ public abstract class StateImpl implements State {
     @Override
     public void show(long chatId) {
         log.info("Current state: {}", state);
-        try {
-            bot.execute(new SendMessage(chatId, message)
-                    .replyMarkup(keyboardFactory.getNextAndBackButtonKeyboard())
-                    .parseMode(ParseMode.HTML));
-        } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
-        }
+        reply(new SendMessage(chatId, message)
+                .replyMarkup(keyboardFactory.getNextAndBackButtonKeyboard())
+                .parseMode(ParseMode.HTML));
     }
 
     @Override
@@ -68,18 +59,14 @@ public abstract class StateImpl implements State {
 
     protected void showUnsupportedActionMessage(Update update) {
         log.error("Unsupported action message: {}", update.message().text());
-        bot.execute(new SendMessage(update.message().chat().id(), "Неподдерживаемая функциональность")
+        reply(new SendMessage(update.message().chat().id(), "Неподдерживаемая функциональность")
                 .parseMode(ParseMode.HTML));
         stateManager.navigate(update, ChatState.MENU);
     }
 
     protected void handleTextInput(Update update) {
         String message = null;
-        try {
-            bot.execute(new SendMessage(0, message).parseMode(ParseMode.HTML));
-        } catch (TelegramApiException e) {
-            log.error("Error handling free text from update '{}': {}", update.toString(), e.getMessage());
-        }
+        reply(new SendMessage(0, message).parseMode(ParseMode.HTML));
     }
 
     protected boolean isValidURL(String urlString) {
@@ -96,10 +83,21 @@ public abstract class StateImpl implements State {
     }
 
     protected void validatorChecker(final String message, final Long chatId) {
-        try {
-            bot.execute(new SendMessage(chatId, "Опечатка. \n " + message).parseMode(ParseMode.HTML));
-        } catch (TelegramApiException e) {
-            log.error("Error sending validatorChecker message: {}", e.getMessage());
-        }
+        reply(new SendMessage(chatId, "Опечатка. \n " + message).parseMode(ParseMode.HTML));
+    }
+
+    /**
+     * Ставит ответ в очередь чата, не дожидаясь отправки. Ошибка доставки приходит асинхронно, поэтому она только
+     * логируется и на переход между состояниями не влияет.
+     */
+    protected void reply(SendMessage message) {
+        Object chatId = message.getParameters().get("chat_id");
+        outbound.send(message).whenComplete((response, e) -> {
+            if (e != null) {
+                log.error("Failed to send reply to chat {}: {}", chatId, e.getMessage());
+            } else if (!response.isOk()) {
+                log.warn("Reply to chat {} not delivered: {} {}", chatId, response.errorCode(), response.description());
+            }
+        });
     }
 }
@@ -22,13 +22,13 @@ public class TagsState extends StateImpl {
     @Override
     public void show(long chatId) {
         log.info("Current state: {}", state);
+        reply(new SendMessage(chatId, message).parseMode(ParseMode.HTML));
         try {
-            bot.execute(new SendMessage(chatId, message).parseMode(ParseMode.HTML));
-            bot.execute(new SendMessage(chatId, handleTagsList(botService.getTags(chatId)))
+            reply(new SendMessage(chatId, handleTagsList(botService.getTags(chatId)))
                     .replyMarkup(keyboardFactory.getBackStateKeyboard())
                     .parseMode(ParseMode.HTML));
         } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
+            log.info("Error while building tags list: {}", e.getMessage());
         }
     }
 
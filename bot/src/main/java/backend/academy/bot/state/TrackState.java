@@ -1,6 +1,5 @@
 package backend.academy.bot.state;
 
-import backend.academy.bot.exception.TelegramApiException;
 import backend.academy.bot.service.AddLinkRequestService;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.request.ParseMode;
@@ -24,13 +23,9 @@ public class TrackState extends StateImpl {
     @Override
     public void show(long chatId) {
         log.info("Current state: {}", state);
-        try {
-            bot.execute(new SendMessage(chatId, message)
-                    .replyMarkup(keyboardFactory.getBackStateKeyboard())
-                    .parseMode(ParseMode.HTML));
-        } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
-        }
+        reply(new SendMessage(chatId, message)
+                .replyMarkup(keyboardFactory.getBackStateKeyboard())
+                .parseMode(ParseMode.HTML));
     }
 
     @Override
@@ -54,7 +49,7 @@ public class TrackState extends StateImpl {
             trackLinkService.createLinkRequest(chatId, message);
             stateManager.navigate(update, ChatState.ADD_TAGS);
         } else {
-            bot.execute(new SendMessage(chatId, "Неверный формат ссылки.").parseMode(ParseMode.HTML));
+            reply(new SendMessage(chatId, "Неверный формат ссылки.").parseMode(ParseMode.HTML));
             log.error("Unsupported link format {} inserted into chat {}", message, chatId);
         }
     }
@@ -21,13 +21,9 @@ public class UntrackedState extends StateImpl {
     @Override
     public void show(long chatId) {
         log.info("Current state: UntrackedState");
-        try {
-            bot.execute(new SendMessage(chatId, message)
-                    .replyMarkup(keyboardFactory.getBackStateKeyboard())
-                    .parseMode(ParseMode.HTML));
-        } catch (TelegramApiException e) {
-            log.info("Error while sending feedback request message: {}", e.getMessage());
-        }
+        reply(new SendMessage(chatId, message)
+                .replyMarkup(keyboardFactory.getBackStateKeyboard())
+                .parseMode(ParseMode.HTML));
     }
 
     @Override
@@ -52,12 +48,11 @@ public class UntrackedState extends StateImpl {
             var response = botService.commitLinkUntrack(chatId, message);
             switch (response) {
                 case LinkResponse link -> {
-                    bot.execute(
-                            new SendMessage(chatId, String.format("Ссылка %s была отменена пользователем", link.url()))
-                                    .parseMode(ParseMode.HTML));
+                    reply(new SendMessage(chatId, String.format("Ссылка %s была отменена пользователем", link.url()))
+                            .parseMode(ParseMode.HTML));
                 }
                 case ApiErrorResponse error -> {
-                    bot.execute(new SendMessage(
+                    reply(new SendMessage(
                                     chatId,
                                     String.format(
                                             "У нас не получилось отменить отслеживание ссылки %s по причине: %s",
@@ -67,7 +62,7 @@ public class UntrackedState extends StateImpl {
                 default -> throw new TelegramApiException("Неизвестный тип");
             }
         } else {
-            bot.execute(new SendMessage(chatId, "Неверный формат ссылки.").parseMode(ParseMode.HTML));
+            reply(new SendMessage(chatId, "Неверный формат ссылки.").parseMode(ParseMode.HTML));
             log.error("Unsupported link format {} inserted into chat {}", message, chatId);
         }
     }
@@ -0,0 +1,80 @@
+package backend.academy.bot.config;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.pengrad.telegrambot.UpdatesListener;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Регистрация режима получения обновлений против локального сервера, изображающего Telegram Bot API. */
+class TelegramBotTest {
+    private static final String TOKEN = "123:test-token";
+    private static final String SECRET = "webhook-secret_1";
+
+    private final WireMockServer telegram = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+    private TelegramBot telegramBot;
+
+    @BeforeEach
+    void setUp() {
+        telegram.start();
+        telegram.stubFor(post(urlMatching("/bot" + TOKEN + "/.*"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"ok\": true, \"result\": true}")));
+        telegram.stubFor(post(urlEqualTo("/bot" + TOKEN + "/getUpdates"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(100)
+                        .withBody("{\"ok\": true, \"result\": []}")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        telegramBot.shutdown();
+        telegram.stop();
+    }
+
+    @Test
+    void initialize_shouldRegisterWebhookWithSecretAndNotPoll() {
+        telegramBot = telegramBot(new TelegramWebhookProperties(true, "https://bot.example/hook", SECRET, 40));
+
+        telegramBot.initialize();
+
+        telegram.verify(postRequestedFor(urlEqualTo("/bot" + TOKEN + "/setWebhook"))
+                .withRequestBody(containing("secret_token=" + SECRET))
+                .withRequestBody(containing("max_connections=40")));
+        telegram.verify(exactly(0), postRequestedFor(urlEqualTo("/bot" + TOKEN + "/getUpdates")));
+        telegram.verify(exactly(0), postRequestedFor(urlEqualTo("/bot" + TOKEN + "/deleteWebhook")));
+    }
+
+    @Test
+    void initialize_shouldDropWebhookBeforeLongPolling() {
+        telegramBot = telegramBot(new TelegramWebhookProperties(false, null, null, 40));
+
+        telegramBot.initialize();
+
+        telegram.verify(postRequestedFor(urlEqualTo("/bot" + TOKEN + "/deleteWebhook")));
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> telegram.verify(postRequestedFor(urlEqualTo("/bot" + TOKEN + "/getUpdates"))));
+        telegram.verify(exactly(0), postRequestedFor(urlEqualTo("/bot" + TOKEN + "/setWebhook")));
+    }
+
+    private TelegramBot telegramBot(TelegramWebhookProperties webhookProperties) {
+        return new TelegramBot(
+                mock(UpdatesListener.class),
+                new BotConfig(TOKEN, "http://localhost:" + telegram.port() + "/bot"),
+                webhookProperties);
+    }
+}
@@ -0,0 +1,75 @@
+package backend.academy.bot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import backend.academy.bot.config.TelegramWebhookProperties;
+import com.pengrad.telegrambot.model.Update;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class TelegramWebhookControllerTest {
+    private static final String SECRET = "webhook-secret_1";
+    private static final String UPDATE =
+            """
+            {"update_id": 42, "message": {"message_id": 7, "date": 0, "text": "/list",
+             "chat": {"id": 1001, "type": "private"}}}
+            """;
+
+    private final UpdateDispatcher updateDispatcher = mock(UpdateDispatcher.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new TelegramWebhookController(
+                    updateDispatcher, new TelegramWebhookProperties(true, "https://bot.example/hook", SECRET, 40)))
+            .build();
+
+    @Test
+    void receiveUpdate_shouldAcknowledgeWithoutWaitingForProcessing() throws Exception {
+        when(updateDispatcher.dispatch(any())).thenReturn(new CompletableFuture<>());
+
+        mockMvc.perform(post(TelegramWebhookController.PATH)
+                        .header(TelegramWebhookController.SECRET_TOKEN_HEADER, SECRET)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE))
+                .andExpect(status().isOk());
+
+        var update = ArgumentCaptor.forClass(Update.class);
+        verify(updateDispatcher).dispatch(update.capture());
+        assertThat(update.getValue().updateId()).isEqualTo(42);
+        assertThat(update.getValue().message().chat().id()).isEqualTo(1001L);
+    }
+
+    @Test
+    void receiveUpdate_shouldRejectWrongOrMissingSecret() throws Exception {
+        mockMvc.perform(post(TelegramWebhookController.PATH)
+                        .header(TelegramWebhookController.SECRET_TOKEN_HEADER, "guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post(TelegramWebhookController.PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE))
+                .andExpect(status().isUnauthorized());
+
+        verify(updateDispatcher, never()).dispatch(any());
+    }
+
+    @Test
+    void receiveUpdate_shouldRejectMalformedBody() throws Exception {
+        mockMvc.perform(post(TelegramWebhookController.PATH)
+                        .header(TelegramWebhookController.SECRET_TOKEN_HEADER, SECRET)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"update_id\": "))
+                .andExpect(status().isBadRequest());
+
+        verify(updateDispatcher, never()).dispatch(any());
+    }
+}
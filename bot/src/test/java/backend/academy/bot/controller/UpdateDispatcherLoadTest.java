@@ -0,0 +1,145 @@
+package backend.academy.bot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.pengrad.telegrambot.model.Update;
+import com.pengrad.telegrambot.utility.BotUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Обработка всплеска входящих обновлений, когда каждое обновление ждет scrapper {@value #SCRAPPER_LATENCY_MS} мс:
+ * порядок внутри чатов, ограничение параллельности и блокировка приема при {@value #MAX_PENDING} необработанных
+ * обновлениях. Сравнение пропускной способности с последовательной обработкой зависит от машины и здесь не
+ * проверяется.
+ */
+class UpdateDispatcherLoadTest {
+    private static final long SCRAPPER_LATENCY_MS = 20;
+    private static final int MAX_CONCURRENCY = 64;
+    private static final int MAX_PENDING = 1000;
+    private static final int CHATS = 100;
+    private static final int UPDATES_PER_CHAT = 10;
+
+    private final UpdateHandler updateHandler = mock(UpdateHandler.class);
+    private final Map<Long, List<Integer>> handledByChat = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final UpdateDispatcher dispatcher =
+            new UpdateDispatcher(updateHandler, MAX_CONCURRENCY, MAX_PENDING, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_shouldKeepChatOrderAndBoundConcurrency() {
+        simulateScrapperLatency();
+        List<Update> updates = updates(CHATS, UPDATES_PER_CHAT);
+
+        CompletableFuture.allOf(updates.stream().map(dispatcher::dispatch).toArray(CompletableFuture[]::new))
+                .join();
+
+        assertThat(handledByChat).hasSize(CHATS);
+        handledByChat.values().forEach(handled -> assertThat(handled).isSorted().hasSize(UPDATES_PER_CHAT));
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(MAX_CONCURRENCY).isGreaterThan(1);
+    }
+
+    @Test
+    void dispatch_shouldBlockCallerWhilePendingLimitIsReached() throws Exception {
+        var released = new CompletableFuture<Void>();
+        doAnswer(invocation -> released.get(5, TimeUnit.SECONDS)).when(updateHandler).handleUpdate(any());
+        var limited = new UpdateDispatcher(updateHandler, MAX_CONCURRENCY, 2, new SimpleMeterRegistry());
+        try {
+            limited.dispatch(update(1, 1L));
+            limited.dispatch(update(2, 2L));
+
+            var poller = CompletableFuture.supplyAsync(() -> limited.dispatch(update(3, 3L)));
+
+            assertThat(catchThrowable(() -> poller.get(300, TimeUnit.MILLISECONDS)))
+                    .isInstanceOf(TimeoutException.class);
+            released.complete(null);
+            poller.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    @Test
+    void dispatch_shouldNotLetSlowChatDelayOthers() throws Exception {
+        var slowChatReleased = new CompletableFuture<Void>();
+        doAnswer(invocation -> {
+                    Update update = invocation.getArgument(0);
+                    if (update.message().chat().id() == 1L) {
+                        slowChatReleased.get(5, TimeUnit.SECONDS);
+                    }
+                    return null;
+                })
+                .when(updateHandler)
+                .handleUpdate(any());
+
+        var slow = dispatcher.dispatch(update(1, 1L));
+        var queuedBehindSlow = dispatcher.dispatch(update(2, 1L));
+        var other = dispatcher.dispatch(update(3, 2L));
+
+        other.get(1, TimeUnit.SECONDS);
+        assertThat(slow).isNotDone();
+        assertThat(queuedBehindSlow).isNotDone();
+
+        slowChatReleased.complete(null);
+        queuedBehindSlow.get(5, TimeUnit.SECONDS);
+        assertThat(slow).isDone();
+    }
+
+    private void simulateScrapperLatency() {
+        doAnswer(invocation -> {
+                    Update update = invocation.getArgument(0);
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(SCRAPPER_LATENCY_MS);
+                        handledByChat
+                                .computeIfAbsent(update.message().chat().id(), id -> new CopyOnWriteArrayList<>())
+                                .add(update.updateId());
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                    return null;
+                })
+                .when(updateHandler)
+                .handleUpdate(any());
+    }
+
+    private static List<Update> updates(int chats, int updatesPerChat) {
+        var updates = new ArrayList<Update>(chats * updatesPerChat);
+        int updateId = 0;
+        for (int i = 0; i < updatesPerChat; i++) {
+            for (long chatId = 1; chatId <= chats; chatId++) {
+                updates.add(update(++updateId, chatId));
+            }
+        }
+        return updates;
+    }
+
+    private static Update update(int updateId, long chatId) {
+        return BotUtils.parseUpdate(
+                """
+                {"update_id": %d, "message": {"message_id": %d, "date": 0, "text": "/list",
+                 "chat": {"id": %d, "type": "private"}}}
+                """
+                        .formatted(updateId, updateId, chatId));
+    }
+}
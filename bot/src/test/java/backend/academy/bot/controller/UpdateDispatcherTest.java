@@ -0,0 +1,53 @@
+package backend.academy.bot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pengrad.telegrambot.utility.BotUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class UpdateDispatcherTest {
+    private static final String CHAT = "{\"id\": 42, \"type\": \"private\"}";
+    private static final String USER = "{\"id\": 42, \"is_bot\": false, \"first_name\": \"Ivan\"}";
+    private static final String MESSAGE = "{\"message_id\": 1, \"date\": 1700000000, \"chat\": " + CHAT + "}";
+    private static final String MEMBER = "{\"user\": " + USER + ", \"status\": \"member\"}";
+
+    @ParameterizedTest
+    @CsvSource(
+            delimiter = '|',
+            value = {
+                "message|MESSAGE",
+                "edited_message|MESSAGE",
+                "channel_post|MESSAGE",
+                "edited_channel_post|MESSAGE",
+                "callback_query|{\"id\": \"q\", \"chat_instance\": \"c\", \"from\": USER, \"message\": MESSAGE}",
+                "my_chat_member|{\"chat\": CHAT, \"from\": USER, \"date\": 0, \"old_chat_member\": MEMBER,"
+                        + " \"new_chat_member\": MEMBER}",
+                "chat_join_request|{\"chat\": CHAT, \"from\": USER, \"user_chat_id\": 42, \"date\": 0}",
+                "inline_query|{\"id\": \"q\", \"from\": USER, \"query\": \"\", \"offset\": \"\"}",
+                "pre_checkout_query|{\"id\": \"q\", \"from\": USER, \"currency\": \"RUB\", \"total_amount\": 1,"
+                        + " \"invoice_payload\": \"p\"}"
+            })
+    void chatId_shouldTakeChatOrSenderOfEveryUpdateType(String type, String body) {
+        String json = "{\"update_id\": 1, \"%s\": %s}"
+                .formatted(
+                        type,
+                        body.replace("MESSAGE", MESSAGE)
+                                .replace("MEMBER", MEMBER)
+                                .replace("CHAT", CHAT)
+                                .replace("USER", USER));
+
+        assertThat(UpdateDispatcher.chatId(BotUtils.parseUpdate(json))).isEqualTo(42L);
+    }
+
+    @Test
+    void chatId_shouldReturnNullForUpdatesWithoutChatOrSender() {
+        var poll = BotUtils.parseUpdate(
+                """
+                {"update_id": 1, "poll": {"id": "p", "question": "?", "options": [], "total_voter_count": 0}}
+                """);
+
+        assertThat(UpdateDispatcher.chatId(poll)).isNull();
+    }
+}
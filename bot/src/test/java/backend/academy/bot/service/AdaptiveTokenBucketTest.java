@@ -0,0 +1,90 @@
+package backend.academy.bot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveTokenBucketTest {
+    private static final Instant NOW = Instant.parse("2025-04-01T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void reserve_shouldAllowOneSecondBurstThenPace() {
+        var bucket = new AdaptiveTokenBucket(4, 1, clock);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(bucket.reserve()).isZero();
+        }
+        assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(250));
+        assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(500));
+
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThat(bucket.reserve()).isZero();
+    }
+
+    @Test
+    void backoff_shouldPauseForRetryAfterAndHalveRate() {
+        var bucket = new AdaptiveTokenBucket(30, 5, clock);
+
+        bucket.backoff(Duration.ofSeconds(3));
+
+        assertThat(bucket.rate()).isEqualTo(15.0);
+        assertThat(bucket.reserve()).isGreaterThan(Duration.ofSeconds(3));
+
+        bucket.backoff(Duration.ofSeconds(1));
+        bucket.backoff(Duration.ofSeconds(1));
+
+        assertThat(bucket.rate()).isEqualTo(5.0);
+    }
+
+    @Test
+    void onSuccess_shouldRecoverRateUpToMaximum() {
+        var bucket = new AdaptiveTokenBucket(2, 1, clock);
+        bucket.backoff(Duration.ZERO);
+
+        for (int i = 0; i < 5; i++) {
+            bucket.onSuccess();
+        }
+        assertThat(bucket.rate()).isCloseTo(1.5, within(1e-9));
+
+        for (int i = 0; i < 10; i++) {
+            bucket.onSuccess();
+        }
+        assertThat(bucket.rate()).isEqualTo(2.0);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
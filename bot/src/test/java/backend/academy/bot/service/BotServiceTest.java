@@ -3,12 +3,12 @@ package backend.academy.bot.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import backend.academy.bot.clients.JsonToApiErrorResponse;
 import backend.academy.bot.clients.ScrapperClient;
-import backend.academy.bot.config.TelegramBot;
 import backend.academy.bot.exception.TelegramApiException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pengrad.telegrambot.model.Chat;
@@ -16,7 +16,10 @@ import com.pengrad.telegrambot.model.Message;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.User;
 import dto.LinkResponse;
+import dto.LinkUpdate;
 import dto.RemoveLinkRequest;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,7 +36,7 @@ class BotServiceTest {
     private ScrapperClient client;
 
     @Mock
-    private TelegramBot telegramBot;
+    private TelegramOutboundScheduler outbound;
 
     @Mock
     private ObjectMapper objectMapper;
@@ -50,8 +53,7 @@ class BotServiceTest {
     @BeforeEach
     void setUp() {
         //        addLinkRequestService = new AddLinkRequestService();
-        botService = new BotService(client, addLinkRequestService, listRequestService);
-        botService.setTelegramBot(telegramBot);
+        botService = new BotService(client, addLinkRequestService, listRequestService, outbound);
     }
 
     @Test
@@ -98,4 +100,18 @@ class BotServiceTest {
         assertThrows(TelegramApiException.class, () -> botService.commitLinkUntrack(chatId, message));
         verify(client).removeTrackedLink(chatId, request);
     }
+
+    @Test
+    void processUpdate_shouldQueueMessagePerChat() {
+        when(outbound.send(any())).thenReturn(new CompletableFuture<>());
+        var update = LinkUpdate.builder()
+                .url("https://github.com/owner/repo")
+                .message("New issue")
+                .tgChatIds(Set.of(1L, 2L))
+                .build();
+
+        botService.processUpdate(update);
+
+        verify(outbound, times(2)).send(any());
+    }
 }
@@ -7,18 +7,47 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import backend.academy.bot.state.ChatState;
 import java.util.List;
 import java.util.Optional;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
 class ChatStateServiceTest {
 
+    @Container
+    static final GenericContainer<?> redis =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
     private final String chatId = "12345";
     private ChatStateService chatStateService;
 
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
     @BeforeEach
     void setUp() {
         // arrange
-        chatStateService = new ChatStateService();
+        redisTemplate.delete(ChatStateService.KEY_PREFIX + chatId);
+        chatStateService = new ChatStateService(redisTemplate);
     }
 
     @Test
@@ -90,4 +119,17 @@ class ChatStateServiceTest {
         assertEquals(3, states.size());
         assertEquals(List.of(ChatState.MENU, ChatState.TRACK, ChatState.LIST), states);
     }
+
+    @Test
+    void shouldShareStateBetweenReplicas() {
+        // arrange
+        var otherReplica = new ChatStateService(redisTemplate);
+        chatStateService.setChatState(chatId, ChatState.TRACK);
+
+        // act
+        Optional<ChatState> lastState = otherReplica.peekLastChatState(chatId);
+
+        // assert
+        assertEquals(Optional.of(ChatState.TRACK), lastState);
+    }
 }
@@ -0,0 +1,72 @@
+package backend.academy.bot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+class TelegramGlobalRateLimiterTest {
+    private static final Instant NOW = Instant.parse("2025-04-01T12:00:00.250Z");
+
+    @Container
+    static final GenericContainer<?> redis =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void cleanUp() {
+        redisTemplate.delete(TelegramGlobalRateLimiter.KEY_PREFIX + NOW.getEpochSecond());
+    }
+
+    @Test
+    void reserve_shouldShareLimitBetweenReplicas() {
+        var first = new TelegramGlobalRateLimiter(redisTemplate, 3, clock);
+        var second = new TelegramGlobalRateLimiter(redisTemplate, 3, clock);
+
+        assertThat(first.reserve()).isZero();
+        assertThat(second.reserve()).isZero();
+        assertThat(first.reserve()).isZero();
+
+        assertThat(second.reserve()).isEqualTo(Duration.ofMillis(750));
+        assertThat(first.reserve()).isEqualTo(Duration.ofMillis(750));
+    }
+
+    @Test
+    void reserve_shouldExpireCounterAfterItsSecond() {
+        var limiter = new TelegramGlobalRateLimiter(redisTemplate, 1, clock);
+
+        limiter.reserve();
+
+        Long ttl = redisTemplate.getExpire(TelegramGlobalRateLimiter.KEY_PREFIX + NOW.getEpochSecond());
+        assertThat(ttl).isPositive().isLessThanOrEqualTo(2);
+    }
+}
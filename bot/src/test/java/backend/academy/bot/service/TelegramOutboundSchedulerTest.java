@@ -0,0 +1,205 @@
+package backend.academy.bot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import backend.academy.bot.config.TelegramBot;
+import backend.academy.bot.config.TelegramOutboundProperties;
+import backend.academy.bot.config.TelegramRetryProperties;
+import backend.academy.bot.exception.TelegramApiException;
+import backend.academy.bot.service.TelegramRetryQueue.PendingMessage;
+import com.pengrad.telegrambot.request.SendMessage;
+import com.pengrad.telegrambot.response.ResponseParameters;
+import com.pengrad.telegrambot.response.SendResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TelegramOutboundSchedulerTest {
+    private static final Duration CHAT_INTERVAL = Duration.ofMillis(200);
+
+    private final TelegramBot telegramBot = mock(TelegramBot.class);
+    private final TelegramRetryQueue retryQueue = mock(TelegramRetryQueue.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final Map<String, List<Long>> sentAt = new ConcurrentHashMap<>();
+    private final TelegramOutboundScheduler scheduler = scheduler(100, registry);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void send_shouldKeepChatOrderAndPaceEachChat() throws Exception {
+        SendResponse ok = response(true, 0, null);
+        when(telegramBot.execute(any(SendMessage.class))).thenAnswer(invocation -> {
+            SendMessage message = invocation.getArgument(0);
+            String chatId = String.valueOf(message.getParameters().get("chat_id"));
+            sent.add(chatId + ":" + message.getParameters().get("text"));
+            sentAt.computeIfAbsent(chatId, id -> new CopyOnWriteArrayList<>()).add(System.nanoTime());
+            return ok;
+        });
+
+        var results = new ArrayList<CompletableFuture<SendResponse>>();
+        for (int i = 0; i < 3; i++) {
+            results.add(scheduler.send(new SendMessage(1L, "first-" + i)));
+            results.add(scheduler.send(new SendMessage(2L, "second-" + i)));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertThat(sent.stream().filter(text -> text.startsWith("1:")))
+                .containsExactly("1:first-0", "1:first-1", "1:first-2");
+        assertThat(sent.stream().filter(text -> text.startsWith("2:")))
+                .containsExactly("2:second-0", "2:second-1", "2:second-2");
+        for (List<Long> times : sentAt.values()) {
+            for (int i = 1; i < times.size(); i++) {
+                assertThat(times.get(i) - times.get(i - 1)).isGreaterThanOrEqualTo(CHAT_INTERVAL.toNanos());
+            }
+        }
+        assertThat(Math.abs(sentAt.get("1").getFirst() - sentAt.get("2").getFirst()))
+                .isLessThan(CHAT_INTERVAL.toNanos());
+        assertThat(scheduler.queued()).isZero();
+        assertThat(registry.get(TelegramOutboundScheduler.SEND_METRIC)
+                        .tag("outcome", "sent")
+                        .timer()
+                        .count())
+                .isEqualTo(6);
+    }
+
+    @Test
+    void send_shouldDeferThrottledMessageForRetryAfter() throws Exception {
+        SendResponse throttled = response(false, TelegramOutboundScheduler.TOO_MANY_REQUESTS, 7);
+        when(telegramBot.execute(any(SendMessage.class))).thenReturn(throttled);
+        var message = new SendMessage(1L, "hello");
+
+        SendResponse result = scheduler.send(message).get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isSameAs(throttled);
+        verify(retryQueue).schedule(message, 2, Duration.ofSeconds(7));
+        assertThat(registry.get(TelegramOutboundScheduler.SEND_METRIC)
+                        .tag("outcome", "throttled")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        assertThat(registry.get(TelegramOutboundScheduler.RATE_METRIC).gauge().value())
+                .isLessThan(1000);
+    }
+
+    @Test
+    void redeliver_shouldBackOffExponentiallyAndAcknowledgeRetry() {
+        var message = new SendMessage(1L, "hello");
+        var pending = new PendingMessage("member", message, 2);
+        when(retryQueue.claimDue(10)).thenReturn(List.of(pending));
+        when(telegramBot.execute(any(SendMessage.class))).thenThrow(new TelegramApiException(502, "Bad Gateway"));
+
+        scheduler.redeliver();
+
+        verify(retryQueue, timeout(5000)).acknowledge(pending);
+        verify(retryQueue).schedule(message, 3, Duration.ofSeconds(4));
+    }
+
+    @Test
+    void redeliver_shouldSendRetryBeforeMessagesQueuedBehindIt() throws Exception {
+        SendResponse throttled = response(false, TelegramOutboundScheduler.TOO_MANY_REQUESTS, 1);
+        SendResponse ok = response(true, 0, null);
+        when(telegramBot.execute(any(SendMessage.class))).thenAnswer(invocation -> {
+            SendMessage message = invocation.getArgument(0);
+            sent.add(String.valueOf(message.getParameters().get("text")));
+            return sent.size() == 1 ? throttled : ok;
+        });
+        var first = new SendMessage(1L, "first");
+
+        scheduler.send(first).get(5, TimeUnit.SECONDS);
+        var second = scheduler.send(new SendMessage(1L, "second"));
+        Thread.sleep(CHAT_INTERVAL.multipliedBy(2).toMillis());
+        assertThat(second).isNotDone();
+
+        var pending = new PendingMessage("member", first, 2);
+        when(retryQueue.claimDue(10)).thenReturn(List.of(pending));
+        scheduler.redeliver();
+
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(sent).containsExactly("first", "first", "second");
+        verify(retryQueue).acknowledge(pending);
+    }
+
+    @Test
+    void redeliver_shouldDropClientErrorsAndExhaustedMessages() {
+        var rejected = new PendingMessage("rejected", new SendMessage(1L, "bad"), 2);
+        var exhausted = new PendingMessage("exhausted", new SendMessage(2L, "late"), 3);
+        when(retryQueue.claimDue(10)).thenReturn(List.of(rejected, exhausted));
+        when(telegramBot.execute(any(SendMessage.class))).thenAnswer(invocation -> {
+            SendMessage message = invocation.getArgument(0);
+            throw "bad".equals(message.getParameters().get("text"))
+                    ? new TelegramApiException(400, "Bad Request")
+                    : new TelegramApiException(500, "Internal Server Error");
+        });
+
+        scheduler.redeliver();
+
+        verify(retryQueue, timeout(5000)).acknowledge(rejected);
+        verify(retryQueue, timeout(5000)).acknowledge(exhausted);
+        verify(retryQueue, never()).schedule(any(), anyInt(), any());
+    }
+
+    @Test
+    void redeliver_shouldNotClaimWhenOutboundQueuesAreFull() throws Exception {
+        var release = new CountDownLatch(1);
+        SendResponse ok = response(true, 0, null);
+        when(telegramBot.execute(any(SendMessage.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ok;
+        });
+        var limited = scheduler(1, new SimpleMeterRegistry());
+        try {
+            var result = limited.send(new SendMessage(1L, "hello"));
+
+            limited.redeliver();
+            release.countDown();
+            result.get(5, TimeUnit.SECONDS);
+
+            verify(retryQueue, never()).claimDue(anyInt());
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    private TelegramOutboundScheduler scheduler(int maxQueued, SimpleMeterRegistry meterRegistry) {
+        return new TelegramOutboundScheduler(
+                telegramBot,
+                retryQueue,
+                new TelegramOutboundProperties(1000, 1, CHAT_INTERVAL, 4),
+                new TelegramRetryProperties(
+                        Duration.ofSeconds(2), Duration.ofMinutes(1), 3, 10, maxQueued, Duration.ofMinutes(5)),
+                mock(TelegramGlobalRateLimiter.class),
+                meterRegistry);
+    }
+
+    private static SendResponse response(boolean ok, int errorCode, Integer retryAfter) {
+        SendResponse response = mock(SendResponse.class);
+        when(response.isOk()).thenReturn(ok);
+        when(response.errorCode()).thenReturn(errorCode);
+        if (retryAfter != null) {
+            ResponseParameters parameters = mock(ResponseParameters.class);
+            when(parameters.retryAfter()).thenReturn(retryAfter);
+            when(response.parameters()).thenReturn(parameters);
+        }
+        return response;
+    }
+}
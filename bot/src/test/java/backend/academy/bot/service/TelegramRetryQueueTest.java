@@ -0,0 +1,161 @@
+package backend.academy.bot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pengrad.telegrambot.model.request.ParseMode;
+import com.pengrad.telegrambot.request.SendMessage;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+class TelegramRetryQueueTest {
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Container
+    static final GenericContainer<?> redis =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-04-01T12:00:00Z"));
+    private final TelegramRetryQueue queue = replica("first");
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void cleanUp() {
+        redisTemplate.delete(TelegramRetryQueue.QUEUE_KEY);
+    }
+
+    @Test
+    void claimDue_shouldReturnMessagesOnlyAfterTheirDelayInDueOrder() {
+        queue.schedule(new SendMessage(2L, "later"), 2, Duration.ofSeconds(20));
+        queue.schedule(new SendMessage(1L, "sooner"), 3, Duration.ofSeconds(10));
+
+        assertThat(queue.claimDue(10)).isEmpty();
+
+        clock.advance(Duration.ofSeconds(30));
+        var claimed = queue.claimDue(10);
+
+        assertThat(claimed)
+                .extracting(pending -> pending.message().getParameters().get("text"))
+                .containsExactly("sooner", "later");
+        assertThat(claimed).extracting(TelegramRetryQueue.PendingMessage::attempt).containsExactly(3, 2);
+    }
+
+    @Test
+    void claimDue_shouldRestoreParseModeAndKeyboard() {
+        var original = new SendMessage(1L, "<b>hello</b>")
+                .parseMode(ParseMode.HTML)
+                .replyMarkup(new KeyboardFactory().getBackStateKeyboard());
+        queue.schedule(original, 2, Duration.ZERO);
+
+        var claimed = queue.claimDue(1);
+
+        assertThat(claimed).hasSize(1);
+        assertThat(TelegramRetryQueue.parameters(claimed.getFirst().message()))
+                .isEqualTo(TelegramRetryQueue.parameters(original))
+                .containsEntry("parse_mode", "HTML")
+                .hasEntrySatisfying("reply_markup", markup -> assertThat(markup).contains("Назад"));
+    }
+
+    @Test
+    void claimDue_shouldHideClaimedMessagesUntilLeaseExpires() {
+        queue.schedule(new SendMessage(1L, "hello"), 2, Duration.ZERO);
+
+        var claimed = queue.claimDue(10);
+        assertThat(claimed).hasSize(1);
+        assertThat(queue.claimDue(10)).isEmpty();
+
+        clock.advance(LEASE.plusSeconds(1));
+        var reclaimed = queue.claimDue(10);
+        assertThat(reclaimed).hasSize(1);
+
+        queue.acknowledge(reclaimed.getFirst());
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void claimDue_shouldRespectLimit() {
+        for (int i = 0; i < 5; i++) {
+            queue.schedule(new SendMessage(i, "message-" + i), 2, Duration.ZERO);
+        }
+
+        assertThat(queue.claimDue(3)).hasSize(3);
+        assertThat(queue.claimDue(3)).hasSize(2);
+        assertThat(queue.size()).isEqualTo(5);
+    }
+
+    @Test
+    void claimDue_shouldLeaveOtherReplicaMessagesUntilTheyAreAbandoned() {
+        var other = replica("second");
+        other.schedule(new SendMessage(1L, "theirs"), 2, Duration.ZERO);
+        queue.schedule(new SendMessage(2L, "mine"), 2, Duration.ZERO);
+
+        assertThat(queue.claimDue(10))
+                .extracting(pending -> pending.message().getParameters().get("text"))
+                .containsExactly("mine");
+
+        clock.advance(LEASE.plusSeconds(1));
+
+        assertThat(queue.claimDue(10))
+                .extracting(pending -> pending.message().getParameters().get("text"))
+                .containsExactly("theirs", "mine");
+    }
+
+    private TelegramRetryQueue replica(String owner) {
+        return new TelegramRetryQueue(redisTemplate, new ObjectMapper(), LEASE, clock, owner);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
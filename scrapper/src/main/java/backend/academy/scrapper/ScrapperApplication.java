@@ -3,10 +3,16 @@ package backend.academy.scrapper;
 import backend.academy.scrapper.config.BotClientProperties;
 import backend.academy.scrapper.config.DataSourceConfig;
 import backend.academy.scrapper.config.GitHubConfig;
+import backend.academy.scrapper.config.GitHubGraphQlProperties;
+import backend.academy.scrapper.config.GitHubWebhookProperties;
 import backend.academy.scrapper.config.GithubClientProperties;
 import backend.academy.scrapper.config.RateLimitingProperties;
+import backend.academy.scrapper.config.ScrapperLeaseProperties;
+import backend.academy.scrapper.config.ScrapperPipelineProperties;
+import backend.academy.scrapper.config.ScrapperScheduleProperties;
 import backend.academy.scrapper.config.StackOverflowConfig;
 import backend.academy.scrapper.config.StackoverflowClientProperties;
+import backend.academy.scrapper.config.UpstreamExecutorProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -20,12 +26,18 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
 @EnableConfigurationProperties({
     GitHubConfig.class,
+    GitHubGraphQlProperties.class,
+    GitHubWebhookProperties.class,
     StackOverflowConfig.class,
     DataSourceConfig.class,
     RateLimitingProperties.class,
     GithubClientProperties.class,
     StackoverflowClientProperties.class,
-    BotClientProperties.class
+    BotClientProperties.class,
+    ScrapperScheduleProperties.class,
+    ScrapperLeaseProperties.class,
+    ScrapperPipelineProperties.class,
+    UpstreamExecutorProperties.class
 })
 public class ScrapperApplication {
     public static void main(String[] args) {
@@ -1,13 +1,84 @@
 package backend.academy.scrapper.client;
 
+import backend.academy.scrapper.data.dto.ResponseValidators;
+import backend.academy.scrapper.data.dto.UpdateInfo;
 import backend.academy.scrapper.service.LinkToApiRequestConverter;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import backend.academy.scrapper.service.ResponseValidatorService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
+@Slf4j
 @RequiredArgsConstructor
 public abstract class AbstractUpdateCheckingClient implements UpdateCheckingClient {
-    protected final ObjectMapper objectMapper = new ObjectMapper();
     protected final RestClient restClient;
     protected final LinkToApiRequestConverter converterApi;
+    protected final ResponseValidatorService validatorService;
+    protected final UpstreamRateGovernor rateGovernor;
+
+    /**
+     * Условный GET событий новее {@code since}: отправляет сохраненные {@code If-None-Match}/{@code If-Modified-Since}
+     * и возвращает пустой список, если upstream ответил {@code 304 Not Modified}. Тело ответа разбирается потоком, без
+     * чтения в строку. Валидаторы применяются, только если {@code since} уже дошел до самого нового события ответа, по
+     * которому они сохранены: иначе проверка с этим ответом не завершилась (упал соседний запрос, сработал
+     * {@code TimeLimiter}, не записался {@code lastUpdate}), и 304 навсегда скрыл бы его события.
+     */
+    protected List<UpdateInfo> fetchIfModified(
+            String uri, LocalDateTime since, String errorMessage, EventDecoder decoder) {
+        return fetchIfModified(uri, since, errorMessage, headers -> {}, rateGovernor::onHeaders, decoder);
+    }
+
+    /**
+     * То же с дополнительными заголовками запроса (например, авторизацией) и собственной обработкой заголовков
+     * ответа вместо передачи их в {@link UpstreamRateGovernor}.
+     */
+    protected List<UpdateInfo> fetchIfModified(
+            String uri,
+            LocalDateTime since,
+            String errorMessage,
+            Consumer<HttpHeaders> requestHeaders,
+            Consumer<HttpHeaders> responseHeaders,
+            EventDecoder decoder) {
+        var validators = validatorService.find(uri).filter(v -> v.appliesSince(since));
+        return restClient
+                .get()
+                .uri(uri)
+                .headers(headers -> {
+                    requestHeaders.accept(headers);
+                    validators.ifPresent(v -> v.applyTo(headers));
+                })
+                .exchange((request, response) -> {
+                    responseHeaders.accept(response.getHeaders());
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        log.debug("Not modified: {}", uri);
+                        return List.<UpdateInfo>of();
+                    }
+                    if (response.getStatusCode().isError()) {
+                        log.error("{} [{}]: status={}", errorMessage, uri, response.getStatusCode());
+                        throw new RestClientException(errorMessage);
+                    }
+                    List<UpdateInfo> events = decoder.decode(response.getBody());
+                    var received = ResponseValidators.from(response.getHeaders(), coveredUntil(events, since));
+                    validatorService.save(uri, received);
+                    return events;
+                });
+    }
+
+    private static LocalDateTime coveredUntil(List<UpdateInfo> events, LocalDateTime since) {
+        return events.stream().map(UpdateInfo::date).max(Comparator.naturalOrder()).orElse(since);
+    }
+
+    @FunctionalInterface
+    protected interface EventDecoder {
+        List<UpdateInfo> decode(InputStream body) throws IOException;
+    }
 }
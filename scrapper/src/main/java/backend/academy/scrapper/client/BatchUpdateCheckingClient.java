@@ -0,0 +1,17 @@
+package backend.academy.scrapper.client;
+
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/** Клиент, умеющий проверить обновления сразу для группы ссылок одним или несколькими пакетными запросами. */
+public interface BatchUpdateCheckingClient extends UpdateCheckingClient {
+
+    /**
+     * Проверяет группу ссылок. На вход передается время последнего известного обновления каждой ссылки (может быть
+     * {@code null}), результат для каждой ссылки — события новее этого времени, как в
+     * {@link #checkUpdates(String, LocalDateTime)}. Ссылки, отсутствующие в результате, нужно проверить по одной.
+     */
+    Map<String, List<UpdateInfo>> checkUpdates(Map<String, LocalDateTime> lastUpdates);
+}
@@ -1,145 +1,140 @@
 package backend.academy.scrapper.client;
 
-import backend.academy.scrapper.data.dto.GitHubIssue;
-import backend.academy.scrapper.data.dto.GitHubPullRequest;
+import backend.academy.scrapper.config.UpstreamExecutorConfig;
 import backend.academy.scrapper.data.dto.UpdateInfo;
 import backend.academy.scrapper.service.LinkToApiRequestConverter;
+import backend.academy.scrapper.service.ResponseValidatorService;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.decorators.Decorators;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.timelimiter.TimeLimiter;
+import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpStatusCode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
 
 @Slf4j
 @Component
+@ConditionalOnProperty(value = "app.github-graphql.enabled", havingValue = "false", matchIfMissing = true)
 public class GitHubClient extends AbstractUpdateCheckingClient {
 
     private final CircuitBreaker circuitBreaker;
     private final Retry retry;
     private final TimeLimiter timeLimiter;
+    private final ExecutorService upstreamExecutor;
+    private final GitHubTokenPool tokenPool;
 
     public GitHubClient(
             RestClient restClient,
             LinkToApiRequestConverter converterApi,
+            ResponseValidatorService validatorService,
+            @Qualifier("githubRateGovernor") UpstreamRateGovernor rateGovernor,
             @Qualifier("githubCircuitBreaker") CircuitBreaker circuitBreaker,
             @Qualifier("githubRetry") Retry retry,
-            @Qualifier("githubTimeLimiter") TimeLimiter timeLimiter) {
-        super(restClient, converterApi);
-        this.objectMapper.registerModule(new JavaTimeModule());
+            @Qualifier("githubTimeLimiter") TimeLimiter timeLimiter,
+            @Qualifier(UpstreamExecutorConfig.UPSTREAM_EXECUTOR) ExecutorService upstreamExecutor,
+            GitHubTokenPool tokenPool) {
+        super(restClient, converterApi, validatorService, rateGovernor);
         this.circuitBreaker = circuitBreaker;
         this.retry = retry;
         this.timeLimiter = timeLimiter;
+        this.upstreamExecutor = upstreamExecutor;
+        this.tokenPool = tokenPool;
     }
 
     @Override
-    public Optional<UpdateInfo> checkUpdates(String link) throws JsonProcessingException {
+    public List<UpdateInfo> checkUpdates(String link, LocalDateTime since) throws JsonProcessingException {
         String apiUrl = converterApi.convertGithubUrlToApi(link);
         log.info("Checking GitHub updates for: {}", apiUrl);
 
-        Supplier<Optional<UpdateInfo>> decoratedSupplier = Decorators.ofSupplier(() -> fetchWithResilience(apiUrl))
+        // разрешения берутся на каждую попытку: повторы тоже расходуют лимит upstream
+        Supplier<List<UpdateInfo>> decoratedSupplier = Decorators.ofSupplier(() -> {
+                    rateGovernor.acquire(2);
+                    return fetchWithResilience(apiUrl, since);
+                })
                 .withRetry(retry)
                 .withCircuitBreaker(circuitBreaker)
                 .withFallback(List.of(Throwable.class), t -> {
                     log.warn("Fallback executed for GitHubClient: {}", t.getMessage());
-                    return Optional.empty();
+                    return List.<UpdateInfo>of();
                 })
                 .decorate();
 
         return decoratedSupplier.get();
     }
 
-    private Optional<UpdateInfo> fetchWithResilience(String apiUrl) {
+    private List<UpdateInfo> fetchWithResilience(String apiUrl, LocalDateTime since) {
         try {
-            return timeLimiter.executeFutureSupplier(() -> CompletableFuture.supplyAsync(() -> {
-                try {
-                    List<GitHubIssue> issues = fetchIssues(apiUrl);
-                    List<GitHubPullRequest> prs = fetchPullRequests(apiUrl);
-                    return determineLatestUpdate(issues, prs);
-                } catch (Exception e) {
-                    throw new CompletionException(e);
-                }
-            }));
+            return timeLimiter.executeFutureSupplier(() -> startCheck(apiUrl, since));
         } catch (Exception e) {
             throw new CompletionException(e);
         }
     }
 
-    private List<GitHubIssue> fetchIssues(String apiUrl) throws JsonProcessingException {
-        var response = restClient
-                .get()
-                .uri(apiUrl + "/issues?state=all")
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, (req, res) -> {
-                    log.error("GitHub API returned error for Issues [{}]: status={}", apiUrl, res.getStatusCode());
-                    throw new RestClientException("GitHub API error for issues");
-                })
-                .toEntity(String.class);
-
-        return objectMapper.readValue(
-                response.getBody(),
-                objectMapper.getTypeFactory().constructCollectionType(List.class, GitHubIssue.class));
+    /**
+     * Координирующая задача живет в собственном виртуальном потоке, а не в {@code upstreamExecutor}: иначе при
+     * заполненном пуле родительские задачи ждали бы дочерние запросы, которым не хватило потоков.
+     */
+    private Future<List<UpdateInfo>> startCheck(String apiUrl, LocalDateTime since) {
+        var check = new FutureTask<>(() -> fetchConcurrently(apiUrl, since));
+        Thread.ofVirtual().name("github-check").start(check);
+        return check;
     }
 
-    private List<GitHubPullRequest> fetchPullRequests(String apiUrl) throws JsonProcessingException {
-        var response = restClient
-                .get()
-                .uri(apiUrl + "/pulls?state=all")
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, (req, res) -> {
-                    log.error(
-                            "GitHub API returned error for Pull Requests [{}]: status={}", apiUrl, res.getStatusCode());
-                    throw new RestClientException("GitHub API error for pull requests");
-                })
-                .toEntity(String.class);
-
-        return objectMapper.readValue(
-                response.getBody(),
-                objectMapper.getTypeFactory().constructCollectionType(List.class, GitHubPullRequest.class));
+    /**
+     * Запрашивает issues и pull requests параллельно. Первая ошибка или отмена родительской задачи (срабатывание
+     * {@link TimeLimiter}) прерывает оставшийся запрос: виртуальный поток, заблокированный на сокете, закрывает
+     * соединение при прерывании.
+     */
+    private List<UpdateInfo> fetchConcurrently(String apiUrl, LocalDateTime since) throws Exception {
+        CompletionService<List<UpdateInfo>> scope = new ExecutorCompletionService<>(upstreamExecutor);
+        Future<List<UpdateInfo>> issues =
+                scope.submit(() -> fetchSince(apiUrl + "/issues?state=all", "issue", since));
+        Future<List<UpdateInfo>> prs =
+                scope.submit(() -> fetchSince(apiUrl + "/pulls?state=all", "pull-request", since));
+        try {
+            for (int i = 0; i < 2; i++) {
+                scope.take().get();
+            }
+            return mergeEvents(issues.get(), prs.get(), since);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            issues.cancel(true);
+            prs.cancel(true);
+        }
     }
 
-    private Optional<UpdateInfo> determineLatestUpdate(List<GitHubIssue> issues, List<GitHubPullRequest> pullRequests) {
-        var latestIssue = issues.stream()
-                .max(Comparator.comparing(GitHubIssue::createdAt))
-                .map(issue -> UpdateInfo.builder()
-                        .date(issue.createdAt())
-                        .username(issue.user().login())
-                        .title(issue.title())
-                        .type("issue")
-                        .preview(Optional.ofNullable(issue.body())
-                                .map(b -> StringUtils.substring(b, 0, 200))
-                                .orElse(""))
-                        .build());
-
-        var latestPR = pullRequests.stream()
-                .max(Comparator.comparing(GitHubPullRequest::createdAt))
-                .map(pr -> UpdateInfo.builder()
-                        .date(pr.createdAt())
-                        .username(pr.user().login())
-                        .title(pr.title())
-                        .type("pull-request")
-                        .preview(Optional.ofNullable(pr.body())
-                                .map(b -> StringUtils.substring(b, 0, 200))
-                                .orElse(""))
-                        .build());
+    private List<UpdateInfo> fetchSince(String uri, String type, LocalDateTime since) {
+        var token = tokenPool.acquire();
+        return fetchIfModified(
+                uri,
+                since,
+                "GitHub API error for " + type + "s",
+                headers -> headers.setBearerAuth(token.value()),
+                headers -> tokenPool.onResponse(token, headers),
+                body -> UpstreamJson.gitHubItemsSince(body, type, since));
+    }
 
-        return Stream.of(latestIssue, latestPR)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .max(Comparator.comparing(UpdateInfo::date));
+    /** Без {@code since} каждый список содержит только свой последний элемент, и из двух остается более новый. */
+    private List<UpdateInfo> mergeEvents(List<UpdateInfo> issues, List<UpdateInfo> pullRequests, LocalDateTime since) {
+        List<UpdateInfo> events = Stream.concat(issues.stream(), pullRequests.stream())
+                .sorted(Comparator.comparing(UpdateInfo::date))
+                .toList();
+        return since != null || events.size() <= 1 ? events : List.of(events.getLast());
     }
 }
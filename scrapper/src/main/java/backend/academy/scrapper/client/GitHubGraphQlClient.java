@@ -0,0 +1,231 @@
+package backend.academy.scrapper.client;
+
+import backend.academy.scrapper.config.GitHubGraphQlProperties;
+import backend.academy.scrapper.config.UpstreamExecutorConfig;
+import backend.academy.scrapper.data.dto.GitHubGraphQlItem;
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.service.LinkToApiRequestConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Проверка GitHub-ссылок через GraphQL API: один запрос с алиасами {@code r0..rN} возвращает последние
+ * {@value #EVENTS_PER_CONNECTION} issues и pull requests сразу для {@code batch-size} репозиториев. Включается
+ * свойством {@code app.github-graphql.enabled} вместо {@link GitHubClient}.
+ *
+ * <p>Результат пачки содержит запись для каждой ее ссылки, даже если репозиторий не найден или запрос не удался:
+ * иначе {@code ScrapperService} стал бы проверять такие ссылки по одной через тот же недоступный API.
+ */
+@Slf4j
+@Component("gitHubClient")
+@ConditionalOnProperty(value = "app.github-graphql.enabled", havingValue = "true")
+public class GitHubGraphQlClient implements BatchUpdateCheckingClient {
+    static final int EVENTS_PER_CONNECTION = 20;
+    private static final String LATEST_ITEM_FIELDS = "nodes { title createdAt bodyText author { login } }";
+    private static final String LATEST_ORDER =
+            "(first: " + EVENTS_PER_CONNECTION + ", orderBy: {field: CREATED_AT, direction: DESC})";
+    private static final String REPOSITORY_FRAGMENT = "fragment latest on Repository {"
+            + " issues" + LATEST_ORDER + " { " + LATEST_ITEM_FIELDS + " }"
+            + " pullRequests" + LATEST_ORDER + " { " + LATEST_ITEM_FIELDS + " }"
+            + " }";
+    private static final String GHOST_LOGIN = "ghost";
+
+    private final RestClient restClient;
+    private final LinkToApiRequestConverter converterApi;
+    private final GitHubGraphQlProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService upstreamExecutor;
+    private final UpstreamRateGovernor rateGovernor;
+    private final GitHubTokenPool tokenPool;
+
+    public GitHubGraphQlClient(
+            RestClient restClient,
+            LinkToApiRequestConverter converterApi,
+            GitHubGraphQlProperties properties,
+            @Qualifier("githubCircuitBreaker") CircuitBreaker circuitBreaker,
+            @Qualifier("githubRetry") Retry retry,
+            @Qualifier("githubTimeLimiter") TimeLimiter timeLimiter,
+            @Qualifier(UpstreamExecutorConfig.UPSTREAM_EXECUTOR) ExecutorService upstreamExecutor,
+            @Qualifier("githubRateGovernor") UpstreamRateGovernor rateGovernor,
+            GitHubTokenPool tokenPool) {
+        this.restClient = restClient;
+        this.converterApi = converterApi;
+        this.properties = properties;
+        this.circuitBreaker = circuitBreaker;
+        this.retry = retry;
+        this.timeLimiter = timeLimiter;
+        this.upstreamExecutor = upstreamExecutor;
+        this.rateGovernor = rateGovernor;
+        this.tokenPool = tokenPool;
+    }
+
+    @Override
+    public List<UpdateInfo> checkUpdates(String url, LocalDateTime since) {
+        return fetchBatchWithResilience(List.of(url), Collections.singletonMap(url, since))
+                .getOrDefault(url, List.of());
+    }
+
+    @Override
+    public Map<String, List<UpdateInfo>> checkUpdates(Map<String, LocalDateTime> lastUpdates) {
+        List<String> githubUrls =
+                lastUpdates.keySet().stream().filter(converterApi::isGithubUrl).toList();
+        Map<String, List<UpdateInfo>> result = new HashMap<>();
+        for (int from = 0; from < githubUrls.size(); from += properties.batchSize()) {
+            var batch = githubUrls.subList(from, Math.min(from + properties.batchSize(), githubUrls.size()));
+            result.putAll(fetchBatchWithResilience(batch, lastUpdates));
+        }
+        return result;
+    }
+
+    private Map<String, List<UpdateInfo>> fetchBatchWithResilience(
+            List<String> batch, Map<String, LocalDateTime> lastUpdates) {
+        log.info("Checking GitHub updates for {} repositories via GraphQL", batch.size());
+        return Decorators.ofSupplier(() -> {
+                    rateGovernor.acquire(1);
+                    return fetchBatchWithTimeLimiter(batch, lastUpdates);
+                })
+                .withRetry(retry)
+                .withCircuitBreaker(circuitBreaker)
+                .withFallback(List.of(Throwable.class), t -> {
+                    log.warn("Fallback executed for GitHubGraphQlClient: {}", t.getMessage());
+                    return emptyResult(batch);
+                })
+                .decorate()
+                .get();
+    }
+
+    private Map<String, List<UpdateInfo>> fetchBatchWithTimeLimiter(
+            List<String> batch, Map<String, LocalDateTime> lastUpdates) {
+        try {
+            return timeLimiter.executeFutureSupplier(
+                    () -> upstreamExecutor.submit(() -> fetchBatch(batch, lastUpdates)));
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /** Пустой список событий для каждой ссылки пачки: до следующего прохода ссылки повторно не проверяются. */
+    private static Map<String, List<UpdateInfo>> emptyResult(List<String> batch) {
+        Map<String, List<UpdateInfo>> result = new HashMap<>();
+        batch.forEach(url -> result.put(url, List.of()));
+        return result;
+    }
+
+    private Map<String, List<UpdateInfo>> fetchBatch(List<String> batch, Map<String, LocalDateTime> lastUpdates) {
+        var token = tokenPool.acquire(GitHubTokenPool.GRAPHQL);
+        return restClient
+                .post()
+                .uri(properties.url())
+                .headers(headers -> headers.setBearerAuth(token.value()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(buildRequest(batch))
+                .exchange((request, res) -> {
+                    tokenPool.onResponse(token, res.getHeaders());
+                    if (res.getStatusCode().isError()) {
+                        log.error("GitHub GraphQL API returned error: status={}", res.getStatusCode());
+                        throw new RestClientException("GitHub GraphQL API error");
+                    }
+                    // тело разбирается прямо из потока ответа, без промежуточной строки
+                    try {
+                        return parseResponse(batch, lastUpdates, UpstreamJson.TREE.readTree(res.getBody()));
+                    } catch (JsonProcessingException e) {
+                        throw new RestClientException("Malformed GitHub GraphQL response", e);
+                    }
+                });
+    }
+
+    private Map<String, Object> buildRequest(List<String> batch) {
+        var variables = new LinkedHashMap<String, Object>();
+        var declarations = new ArrayList<String>();
+        var selections = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            String[] repoPath = converterApi.convertGithubUrlToRepoPath(batch.get(i)).split("/", 2);
+            variables.put("o" + i, repoPath[0]);
+            variables.put("n" + i, repoPath[1]);
+            declarations.add("$o" + i + ": String!, $n" + i + ": String!");
+            selections.append(" r%d: repository(owner: $o%d, name: $n%d) { ...latest }".formatted(i, i, i));
+        }
+        String query = "query(" + String.join(", ", declarations) + ") {" + selections + " } " + REPOSITORY_FRAGMENT;
+        return Map.of("query", query, "variables", variables);
+    }
+
+    private Map<String, List<UpdateInfo>> parseResponse(
+            List<String> batch, Map<String, LocalDateTime> lastUpdates, JsonNode response)
+            throws JsonProcessingException {
+        if (response.hasNonNull("errors")) {
+            log.warn("GitHub GraphQL API returned partial errors: {}", response.get("errors"));
+        }
+        JsonNode data = response.path("data");
+        Map<String, List<UpdateInfo>> result = emptyResult(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            JsonNode repository = data.path("r" + i);
+            if (repository.isMissingNode() || repository.isNull()) {
+                log.warn("GitHub GraphQL API returned no repository for {}", batch.get(i));
+                continue;
+            }
+            result.put(batch.get(i), eventsSince(repository, lastUpdates.get(batch.get(i))));
+        }
+        return result;
+    }
+
+    /** Без {@code since} возвращается только самое новое событие репозитория. */
+    private List<UpdateInfo> eventsSince(JsonNode repository, LocalDateTime since) throws JsonProcessingException {
+        List<UpdateInfo> events = new ArrayList<>();
+        collectItems(repository.path("issues"), "issue", events);
+        collectItems(repository.path("pullRequests"), "pull-request", events);
+        events.sort(Comparator.comparing(UpdateInfo::date));
+        if (since == null) {
+            return events.isEmpty() ? List.of() : List.of(events.getLast());
+        }
+        return events.stream().filter(event -> event.date().isAfter(since)).toList();
+    }
+
+    private void collectItems(JsonNode connection, String type, List<UpdateInfo> events)
+            throws JsonProcessingException {
+        for (JsonNode node : connection.path("nodes")) {
+            if (!node.isNull()) {
+                var item = UpstreamJson.GITHUB_GRAPHQL_ITEM.treeToValue(node, GitHubGraphQlItem.class);
+                events.add(toUpdateInfo(item, type));
+            }
+        }
+    }
+
+    private UpdateInfo toUpdateInfo(GitHubGraphQlItem item, String type) {
+        return UpdateInfo.builder()
+                .date(item.createdAt())
+                .username(Optional.ofNullable(item.author())
+                        .map(GitHubGraphQlItem.Author::login)
+                        .orElse(GHOST_LOGIN))
+                .title(item.title())
+                .type(type)
+                .preview(Optional.ofNullable(item.bodyText())
+                        .map(b -> StringUtils.substring(b, 0, 200))
+                        .orElse(""))
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package backend.academy.scrapper.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Пул токенов GitHub с учетом остатка квоты каждого. Запрос уходит с токеном, у которого больше всего запаса,
+ * исчерпанный токен отставляется до своего {@code X-RateLimit-Reset}. Суммарный остаток пула передается в
+ * {@link UpstreamRateGovernor}, поэтому пропускная способность растет с числом токенов.
+ *
+ * <p>Квоты REST ({@value #CORE}) и GraphQL ({@value #GRAPHQL}, в очках) у GitHub раздельные, поэтому остаток
+ * токена хранится по значению заголовка {@value #RESOURCE_HEADER}.
+ */
+@Slf4j
+public class GitHubTokenPool {
+    public static final String CORE = "core";
+    public static final String GRAPHQL = "graphql";
+    static final String RESOURCE_HEADER = "X-RateLimit-Resource";
+
+    private final List<TokenState> tokens;
+    private final UpstreamRateGovernor rateGovernor;
+    private final Clock clock;
+
+    public GitHubTokenPool(List<String> tokens, UpstreamRateGovernor rateGovernor, Clock clock) {
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("At least one GitHub token is required");
+        }
+        this.tokens = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            this.tokens.add(new TokenState(new Token(i, tokens.get(i))));
+        }
+        this.rateGovernor = rateGovernor;
+        this.clock = clock;
+        log.info("GitHub token pool initialized with {} tokens", tokens.size());
+    }
+
+    /** Токен для запроса к REST API. */
+    public Token acquire() {
+        return acquire(CORE);
+    }
+
+    /**
+     * Выбирает токен с наибольшим остатком квоты {@code resource} и резервирует под него один запрос. Токены, по
+     * которым квота еще не известна, выбираются первыми. Если исчерпаны все, возвращается токен с ближайшим сбросом:
+     * ожидание до сброса обеспечивает {@link UpstreamRateGovernor}.
+     */
+    public synchronized Token acquire(String resource) {
+        Instant now = clock.instant();
+        TokenState best = null;
+        TokenState earliestReset = null;
+        for (TokenState state : tokens) {
+            Quota quota = state.quota(resource);
+            quota.expireIfReset(now);
+            if (quota.isParked()) {
+                if (earliestReset == null || quota.resetAt.isBefore(earliestReset.quota(resource).resetAt)) {
+                    earliestReset = state;
+                }
+            } else if (best == null || quota.headroom() > best.quota(resource).headroom()) {
+                best = state;
+            }
+        }
+        TokenState chosen = best != null ? best : earliestReset;
+        chosen.quota(resource).reserve();
+        return chosen.token;
+    }
+
+    /**
+     * Учитывает заголовки квоты из ответа на запрос, отправленный с {@code token}. Квота без
+     * {@value #RESOURCE_HEADER} считается квотой REST.
+     */
+    public synchronized void onResponse(Token token, HttpHeaders headers) {
+        long remaining = UpstreamRateGovernor.parseLong(headers.getFirst(UpstreamRateGovernor.REMAINING_HEADER));
+        long reset = UpstreamRateGovernor.parseLong(headers.getFirst(UpstreamRateGovernor.RESET_HEADER));
+        if (remaining != UpstreamRateGovernor.UNKNOWN && reset != UpstreamRateGovernor.UNKNOWN) {
+            String resource = Optional.ofNullable(headers.getFirst(RESOURCE_HEADER)).orElse(CORE);
+            Quota quota = tokens.get(token.index()).quota(resource);
+            quota.remaining = remaining;
+            quota.resetAt = Instant.ofEpochSecond(reset);
+            if (quota.isParked()) {
+                log.warn(
+                        "GitHub token #{} exhausted {} quota, parked until {}", token.index(), resource, quota.resetAt);
+            }
+            publishBudget(resource);
+        }
+        long retryAfter = UpstreamRateGovernor.parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        if (retryAfter > 0) {
+            rateGovernor.backoff(Duration.ofSeconds(retryAfter));
+        }
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Передает регулятору суммарный остаток квоты {@code resource} до самого позднего сброса. Пока квота известна не
+     * по всем токенам, регулятор работает по статическому лимиту. Если исчерпаны все токены, пауза длится до
+     * ближайшего сброса.
+     */
+    private void publishBudget(String resource) {
+        long total = 0L;
+        Instant latestReset = Instant.MIN;
+        Instant earliestReset = Instant.MAX;
+        for (TokenState state : tokens) {
+            Quota quota = state.quota(resource);
+            if (quota.remaining == UpstreamRateGovernor.UNKNOWN) {
+                return;
+            }
+            total += quota.remaining;
+            latestReset = quota.resetAt.isAfter(latestReset) ? quota.resetAt : latestReset;
+            earliestReset = quota.resetAt.isBefore(earliestReset) ? quota.resetAt : earliestReset;
+        }
+        rateGovernor.update(total, total == 0 ? earliestReset : latestReset);
+    }
+
+    /** Токен и его номер в пуле; номер используется в логах вместо значения токена. */
+    public record Token(int index, String value) {
+        @Override
+        public String toString() {
+            return "GitHub token #" + index;
+        }
+    }
+
+    private static final class TokenState {
+        private final Token token;
+        private final Map<String, Quota> quotas = new HashMap<>();
+
+        TokenState(Token token) {
+            this.token = token;
+        }
+
+        Quota quota(String resource) {
+            return quotas.computeIfAbsent(resource, r -> new Quota());
+        }
+    }
+
+    private static final class Quota {
+        private long remaining = UpstreamRateGovernor.UNKNOWN;
+        private Instant resetAt = Instant.MIN;
+
+        void expireIfReset(Instant now) {
+            if (remaining != UpstreamRateGovernor.UNKNOWN && !resetAt.isAfter(now)) {
+                remaining = UpstreamRateGovernor.UNKNOWN;
+            }
+        }
+
+        boolean isParked() {
+            return remaining == 0;
+        }
+
+        long headroom() {
+            return remaining == UpstreamRateGovernor.UNKNOWN ? Long.MAX_VALUE : remaining;
+        }
+
+        void reserve() {
+            if (remaining > 0) {
+                remaining--;
+            }
+        }
+    }
+}
@@ -1,61 +1,69 @@
 package backend.academy.scrapper.client;
 
+import backend.academy.scrapper.config.UpstreamExecutorConfig;
 import backend.academy.scrapper.data.dto.StackOverflowResponse;
 import backend.academy.scrapper.data.dto.UpdateInfo;
 import backend.academy.scrapper.service.LinkToApiRequestConverter;
+import backend.academy.scrapper.service.ResponseValidatorService;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.decorators.Decorators;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.timelimiter.TimeLimiter;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
 @Slf4j
 @Component
-public class StackOverflowClient extends AbstractUpdateCheckingClient {
+public class StackOverflowClient extends AbstractUpdateCheckingClient implements BatchUpdateCheckingClient {
+    /** Максимальное число идентификаторов в одном запросе StackExchange API. */
+    static final int MAX_BATCH_SIZE = 100;
 
     private final CircuitBreaker circuitBreaker;
     private final Retry retry;
     private final TimeLimiter timeLimiter;
+    private final ExecutorService upstreamExecutor;
 
     public StackOverflowClient(
             RestClient restClient,
             LinkToApiRequestConverter converterApi,
+            ResponseValidatorService validatorService,
+            @Qualifier("stackoverflowRateGovernor") UpstreamRateGovernor rateGovernor,
             @Qualifier("stackoverflowCircuitBreaker") CircuitBreaker stackoverflowCircuitBreaker,
             @Qualifier("stackoverflowRetry") Retry stackoverflowRetry,
-            @Qualifier("stackoverflowTimeLimiter") TimeLimiter stackoverflowTimeLimiter) {
-        super(restClient, converterApi);
-        objectMapper.registerModule(new JavaTimeModule());
+            @Qualifier("stackoverflowTimeLimiter") TimeLimiter stackoverflowTimeLimiter,
+            @Qualifier(UpstreamExecutorConfig.UPSTREAM_EXECUTOR) ExecutorService upstreamExecutor) {
+        super(restClient, converterApi, validatorService, rateGovernor);
 
         this.circuitBreaker = stackoverflowCircuitBreaker;
         this.retry = stackoverflowRetry;
         this.timeLimiter = stackoverflowTimeLimiter;
+        this.upstreamExecutor = upstreamExecutor;
     }
 
     @Override
-    public Optional<UpdateInfo> checkUpdates(String link) throws JsonProcessingException {
+    public List<UpdateInfo> checkUpdates(String link, LocalDateTime since) throws JsonProcessingException {
         String apiUrl = converterApi.convertStackOverflowUrlToApi(link);
         log.info("Checking for StackOverflow updates... {}", apiUrl);
 
-        Supplier<Optional<UpdateInfo>> decoratedSupplier = Decorators.ofSupplier(() -> {
+        Supplier<List<UpdateInfo>> decoratedSupplier = Decorators.ofSupplier(() -> {
+                    rateGovernor.acquire(1);
                     try {
-                        return fetchResponseWithTimeLimiter(apiUrl);
+                        return fetchResponseWithTimeLimiter(apiUrl, since);
                     } catch (Exception e) {
                         throw new CompletionException(e);
                     }
@@ -64,74 +72,100 @@ public class StackOverflowClient extends AbstractUpdateCheckingClient {
                 .withCircuitBreaker(circuitBreaker)
                 .withFallback(List.of(Throwable.class), t -> {
                     log.warn("Fallback executed for StackOverflowClient due to: {}", t.getMessage());
-                    return Optional.empty();
+                    return List.<UpdateInfo>of();
                 })
                 .decorate();
 
         return decoratedSupplier.get();
     }
 
-    private Optional<UpdateInfo> fetchResponseWithTimeLimiter(String apiUrl) throws Exception {
-        return timeLimiter.executeFutureSupplier(() -> CompletableFuture.supplyAsync(() -> {
-            try {
-                StackOverflowResponse response = fetchResponse(apiUrl);
-                return determineLatestUpdate(response);
-            } catch (Exception e) {
-                throw new CompletionException(e);
+    /**
+     * Одним запросом на каждые {@value #MAX_BATCH_SIZE} вопросов получает {@code last_activity_date}. Вопросы без
+     * активности после последнего обновления сразу получают пустой список событий, а изменившиеся не попадают в ответ
+     * и проверяются по одной ссылке с загрузкой ответов и комментариев.
+     */
+    @Override
+    public Map<String, List<UpdateInfo>> checkUpdates(Map<String, LocalDateTime> lastUpdates) {
+        Map<String, String> urlsByQuestionId = new LinkedHashMap<>();
+        lastUpdates.keySet().stream()
+                .filter(converterApi::isStackOverflowUrl)
+                .forEach(url -> urlsByQuestionId.put(converterApi.extractStackOverflowQuestionId(url), url));
+
+        List<String> questionIds = List.copyOf(urlsByQuestionId.keySet());
+        Map<String, List<UpdateInfo>> result = new HashMap<>();
+        for (int from = 0; from < questionIds.size(); from += MAX_BATCH_SIZE) {
+            var batch = questionIds.subList(from, Math.min(from + MAX_BATCH_SIZE, questionIds.size()));
+            var activity = fetchActivityWithResilience(batch);
+            if (activity.isEmpty()) {
+                continue;
             }
-        }));
+            for (String questionId : batch) {
+                String url = urlsByQuestionId.get(questionId);
+                LocalDateTime lastActivity = activity.get().get(questionId);
+                LocalDateTime lastUpdate = lastUpdates.get(url);
+                if (lastActivity == null || (lastUpdate != null && !lastActivity.isAfter(lastUpdate))) {
+                    result.put(url, List.of());
+                }
+            }
+        }
+        return result;
     }
 
-    private StackOverflowResponse fetchResponse(String apiUrl) throws JsonProcessingException {
-        var response = restClient
-                .get()
-                .uri(apiUrl)
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, (req, res) -> {
-                    log.error("StackOverflow API error for URL: {} (status: {})", apiUrl, res.getStatusCode());
-                    throw new RestClientException("StackOverflow API error for URL: " + apiUrl);
+    private Optional<Map<String, LocalDateTime>> fetchActivityWithResilience(List<String> questionIds) {
+        String apiUrl = converterApi.convertStackOverflowIdsToApi(questionIds);
+        log.info("Checking StackOverflow activity for {} questions", questionIds.size());
+
+        return Decorators.ofSupplier(() -> {
+                    rateGovernor.acquire(1);
+                    try {
+                        return Optional.of(fetchActivityWithTimeLimiter(apiUrl));
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .withRetry(retry)
+                .withCircuitBreaker(circuitBreaker)
+                .withFallback(List.of(Throwable.class), t -> {
+                    log.warn("Fallback executed for StackOverflow batch check due to: {}", t.getMessage());
+                    return Optional.<Map<String, LocalDateTime>>empty();
                 })
-                .toEntity(String.class);
-        return objectMapper.readValue(response.getBody(), StackOverflowResponse.class);
+                .decorate()
+                .get();
     }
 
-    private Optional<UpdateInfo> determineLatestUpdate(StackOverflowResponse parsedResponse) {
-        if (parsedResponse.items() == null || parsedResponse.items().isEmpty()) {
-            return Optional.empty();
-        }
+    private Map<String, LocalDateTime> fetchActivityWithTimeLimiter(String apiUrl) throws Exception {
+        return timeLimiter.executeFutureSupplier(() -> upstreamExecutor.submit(() -> fetchActivity(apiUrl)));
+    }
+
+    /** Ответ на 100 вопросов — самый крупный у StackExchange, поэтому тело читается потоком, без копии в строку. */
+    private Map<String, LocalDateTime> fetchActivity(String apiUrl) {
+        StackOverflowResponse response = restClient.get().uri(apiUrl).exchange((request, res) -> {
+            if (res.getStatusCode().isError()) {
+                log.error("StackOverflow API error for URL: {} (status: {})", apiUrl, res.getStatusCode());
+                throw new RestClientException("StackOverflow API error for URL: " + apiUrl);
+            }
+            try {
+                return UpstreamJson.STACKOVERFLOW_RESPONSE.readValue(res.getBody());
+            } catch (JsonProcessingException e) {
+                throw new RestClientException("Malformed StackOverflow response for URL: " + apiUrl, e);
+            }
+        });
+
+        rateGovernor.onStackExchangeQuota(
+                Optional.ofNullable(response.quotaRemaining()).orElse(UpstreamRateGovernor.UNKNOWN),
+                Optional.ofNullable(response.backoff()).orElse(0L));
+        return Optional.ofNullable(response.items()).orElse(List.of()).stream()
+                .collect(Collectors.toMap(
+                        item -> String.valueOf(item.questionId()),
+                        item -> LocalDateTime.ofEpochSecond(item.lastActivityDate(), 0, ZoneOffset.UTC),
+                        (first, second) -> first));
+    }
 
-        var item = parsedResponse.items().getFirst();
-        var title = item.title();
-
-        Optional<UpdateInfo> latestAnswer = item.answers() != null
-                        && !item.answers().isEmpty()
-                ? item.answers().stream()
-                        .max(Comparator.comparingLong(StackOverflowResponse.StackOverflowItem.Answer::creationDate))
-                        .map(ans -> UpdateInfo.builder()
-                                .date(LocalDateTime.ofEpochSecond(ans.creationDate(), 0, ZoneOffset.UTC))
-                                .title(title)
-                                .username(ans.owner().displayName())
-                                .type("answer")
-                                .preview(StringUtils.substring(ans.body(), 0, 200))
-                                .build())
-                : Optional.empty();
-
-        Optional<UpdateInfo> latestComment = item.comments() != null
-                        && !item.comments().isEmpty()
-                ? item.comments().stream()
-                        .max(Comparator.comparingLong(StackOverflowResponse.StackOverflowItem.Comment::creationDate))
-                        .map(c -> UpdateInfo.builder()
-                                .date(LocalDateTime.ofEpochSecond(c.creationDate(), 0, ZoneOffset.UTC))
-                                .title(title)
-                                .username(c.owner().displayName())
-                                .type("comment")
-                                .preview(StringUtils.substring(c.body(), 0, 200))
-                                .build())
-                : Optional.empty();
-
-        return Stream.of(latestAnswer, latestComment)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .max(Comparator.comparing(UpdateInfo::date));
+    private List<UpdateInfo> fetchResponseWithTimeLimiter(String apiUrl, LocalDateTime since) throws Exception {
+        return timeLimiter.executeFutureSupplier(() -> upstreamExecutor.submit(() -> fetchIfModified(
+                apiUrl,
+                since,
+                "StackOverflow API error for URL: " + apiUrl,
+                body -> UpstreamJson.stackOverflowPostsSince(body, since, rateGovernor))));
     }
 }
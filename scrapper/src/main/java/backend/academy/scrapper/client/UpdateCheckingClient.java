@@ -2,8 +2,20 @@ package backend.academy.scrapper.client;
 
 import backend.academy.scrapper.data.dto.UpdateInfo;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 public interface UpdateCheckingClient {
-    Optional<UpdateInfo> checkUpdates(String url) throws JsonProcessingException;
+
+    /**
+     * Все события ссылки новее {@code since} по возрастанию даты. Если {@code since} неизвестен, возвращается только
+     * последнее событие, чтобы новая ссылка не присылала всю историю репозитория или вопроса.
+     */
+    List<UpdateInfo> checkUpdates(String url, LocalDateTime since) throws JsonProcessingException;
+
+    default Optional<UpdateInfo> checkUpdates(String url) throws JsonProcessingException {
+        return checkUpdates(url, null).stream().max(Comparator.comparing(UpdateInfo::date));
+    }
 }
@@ -0,0 +1,408 @@
+package backend.academy.scrapper.client;
+
+import backend.academy.scrapper.data.dto.GitHubGraphQlItem;
+import backend.academy.scrapper.data.dto.GitHubWebhookPayload;
+import backend.academy.scrapper.data.dto.StackOverflowResponse;
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Общие для всех клиентов заранее построенные {@link ObjectReader} и потоковый разбор ответов upstream. Разбор
+ * списков issues/PR и ответов/комментариев идет по токенам: в памяти держится только текущий максимум (или только
+ * события новее заданной даты) и превью из {@value #PREVIEW_LENGTH} символов, полные тексты тел не создаются.
+ */
+public final class UpstreamJson {
+    static final int PREVIEW_LENGTH = 200;
+    private static final int MAX_TITLE_LENGTH = 1024;
+    private static final int MAX_LOGIN_LENGTH = 256;
+    private static final int MAX_DATE_LENGTH = 64;
+
+    private static final ObjectMapper MAPPER =
+            JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+    public static final ObjectReader TREE = MAPPER.reader();
+    public static final ObjectReader STACKOVERFLOW_RESPONSE = MAPPER.readerFor(StackOverflowResponse.class);
+    public static final ObjectReader GITHUB_GRAPHQL_ITEM = MAPPER.readerFor(GitHubGraphQlItem.class);
+    public static final ObjectReader GITHUB_WEBHOOK_PAYLOAD = MAPPER.readerFor(GitHubWebhookPayload.class);
+
+    private UpstreamJson() {}
+
+    /**
+     * Последний по {@code created_at} элемент массива GitHub REST API ({@code /issues}, {@code /pulls}). Pull requests
+     * из {@code /issues} (с полем {@code pull_request}) пропускаются: их отдельно возвращает {@code /pulls}.
+     */
+    public static Optional<UpdateInfo> latestGitHubItem(InputStream body, String type) throws IOException {
+        try (JsonParser parser = TREE.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected JSON array of GitHub items");
+            }
+            var best = new GitHubItem();
+            var current = new GitHubItem();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                current.read(parser);
+                if (current.isRelevant()
+                        && (!best.createdAt.isPresent() || current.createdAt.compareTo(best.createdAt) > 0)) {
+                    var previous = best;
+                    best = current;
+                    current = previous;
+                }
+            }
+            if (!best.createdAt.isPresent()) {
+                return Optional.empty();
+            }
+            return Optional.of(best.toUpdateInfo(type));
+        }
+    }
+
+    /**
+     * Все элементы массива GitHub REST API, созданные позже {@code since}, по возрастанию {@code created_at}. Без
+     * {@code since} возвращается только последний элемент, как в {@link #latestGitHubItem(InputStream, String)}; pull
+     * requests из списка issues так же пропускаются.
+     */
+    public static List<UpdateInfo> gitHubItemsSince(InputStream body, String type, LocalDateTime since)
+            throws IOException {
+        if (since == null) {
+            return latestGitHubItem(body, type).map(List::of).orElse(List.of());
+        }
+        try (JsonParser parser = TREE.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected JSON array of GitHub items");
+            }
+            var item = new GitHubItem();
+            List<UpdateInfo> events = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                item.read(parser);
+                if (!item.isRelevant()) {
+                    continue;
+                }
+                LocalDateTime createdAt = parseGitHubDate(item.createdAt.toString());
+                if (createdAt.isAfter(since)) {
+                    events.add(item.toUpdateInfo(type, createdAt));
+                }
+            }
+            events.sort(Comparator.comparing(UpdateInfo::date));
+            return events;
+        }
+    }
+
+    /** Последний ответ или комментарий первого вопроса из ответа StackExchange API {@code /questions/{id}}. */
+    public static Optional<UpdateInfo> latestStackOverflowPost(InputStream body) throws IOException {
+        return latestStackOverflowPost(body, null);
+    }
+
+    /**
+     * То же, что {@link #latestStackOverflowPost(InputStream)}, но дочитывает обертку ответа и передает
+     * {@code quota_remaining}/{@code backoff} в {@code quota}.
+     */
+    public static Optional<UpdateInfo> latestStackOverflowPost(InputStream body, UpstreamRateGovernor quota)
+            throws IOException {
+        StackOverflowQuestion question = readStackOverflowQuestion(body, new StackOverflowQuestion(null), quota);
+        return question == null ? Optional.empty() : question.latestPost();
+    }
+
+    /**
+     * Все ответы и комментарии первого вопроса, созданные позже {@code since}, по возрастанию даты. Без {@code since}
+     * возвращается только последний пост, как в {@link #latestStackOverflowPost(InputStream, UpstreamRateGovernor)}.
+     */
+    public static List<UpdateInfo> stackOverflowPostsSince(
+            InputStream body, LocalDateTime since, UpstreamRateGovernor quota) throws IOException {
+        if (since == null) {
+            return latestStackOverflowPost(body, quota).map(List::of).orElse(List.of());
+        }
+        StackOverflowQuestion question = readStackOverflowQuestion(body, new StackOverflowQuestion(since), quota);
+        return question == null ? List.of() : question.postsSince();
+    }
+
+    private static StackOverflowQuestion readStackOverflowQuestion(
+            InputStream body, StackOverflowQuestion question, UpstreamRateGovernor quota) throws IOException {
+        try (JsonParser parser = TREE.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected JSON object from StackExchange API");
+            }
+            StackOverflowQuestion latest = null;
+            long quotaRemaining = UpstreamRateGovernor.UNKNOWN;
+            long backoff = 0L;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    if (parser.nextToken() == JsonToken.START_OBJECT) {
+                        latest = question.read(parser);
+                        skipRemainingElements(parser);
+                    }
+                    if (quota == null) {
+                        return latest;
+                    }
+                } else if ("quota_remaining".equals(field)) {
+                    quotaRemaining = parser.getValueAsLong(UpstreamRateGovernor.UNKNOWN);
+                } else if ("backoff".equals(field)) {
+                    backoff = parser.getValueAsLong(0L);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (quota != null) {
+                quota.onStackExchangeQuota(quotaRemaining, backoff);
+            }
+            return latest;
+        }
+    }
+
+    private static LocalDateTime parseGitHubDate(String value) {
+        TemporalAccessor parsed =
+                DateTimeFormatter.ISO_DATE_TIME.parseBest(value, OffsetDateTime::from, LocalDateTime::from);
+        return parsed instanceof OffsetDateTime offset
+                ? offset.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime()
+                : (LocalDateTime) parsed;
+    }
+
+    private static void skipRemainingElements(JsonParser parser) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+    }
+
+    private static void readNested(JsonParser parser, String nestedField, TextSlot target) throws IOException {
+        target.clear();
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (nestedField.equals(field)) {
+                target.copyFrom(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /** Переиспользуемый буфер для префикса строкового значения без создания {@link String} на каждый токен. */
+    private static final class TextSlot implements Comparable<TextSlot> {
+        private final char[] chars;
+        private int length;
+        private boolean present;
+
+        TextSlot(int capacity) {
+            this.chars = new char[capacity];
+        }
+
+        void copyFrom(JsonParser parser) throws IOException {
+            if (!parser.currentToken().isScalarValue() || parser.currentToken() == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                clear();
+                return;
+            }
+            length = Math.min(parser.getTextLength(), chars.length);
+            System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), chars, 0, length);
+            present = true;
+        }
+
+        void copyFrom(TextSlot other) {
+            System.arraycopy(other.chars, 0, chars, 0, other.length);
+            length = other.length;
+            present = other.present;
+        }
+
+        void clear() {
+            length = 0;
+            present = false;
+        }
+
+        boolean isPresent() {
+            return present;
+        }
+
+        @Override
+        public int compareTo(TextSlot other) {
+            return Arrays.compare(chars, 0, length, other.chars, 0, other.length);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+
+    private static final class GitHubItem {
+        private final TextSlot title = new TextSlot(MAX_TITLE_LENGTH);
+        private final TextSlot createdAt = new TextSlot(MAX_DATE_LENGTH);
+        private final TextSlot login = new TextSlot(MAX_LOGIN_LENGTH);
+        private final TextSlot body = new TextSlot(PREVIEW_LENGTH);
+        private boolean pullRequest;
+
+        void read(JsonParser parser) throws IOException {
+            title.clear();
+            createdAt.clear();
+            login.clear();
+            body.clear();
+            pullRequest = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "title" -> title.copyFrom(parser);
+                    case "created_at" -> createdAt.copyFrom(parser);
+                    case "body" -> body.copyFrom(parser);
+                    case "user" -> readNested(parser, "login", login);
+                    case "pull_request" -> {
+                        pullRequest = parser.currentToken() != JsonToken.VALUE_NULL;
+                        parser.skipChildren();
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        /** Элемент с датой, не являющийся pull request в списке issues. */
+        boolean isRelevant() {
+            return createdAt.isPresent() && !pullRequest;
+        }
+
+        UpdateInfo toUpdateInfo(String type) {
+            return toUpdateInfo(type, parseGitHubDate(createdAt.toString()));
+        }
+
+        UpdateInfo toUpdateInfo(String type, LocalDateTime date) {
+            return UpdateInfo.builder()
+                    .date(date)
+                    .username(login.toString())
+                    .title(title.toString())
+                    .type(type)
+                    .preview(body.toString())
+                    .build();
+        }
+    }
+
+    private static final class StackOverflowPost {
+        private final TextSlot author = new TextSlot(MAX_LOGIN_LENGTH);
+        private final TextSlot body = new TextSlot(PREVIEW_LENGTH);
+        private long creationDate;
+        private boolean present;
+
+        void read(JsonParser parser) throws IOException {
+            author.clear();
+            body.clear();
+            creationDate = 0L;
+            present = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "creation_date" -> {
+                        creationDate = parser.getValueAsLong();
+                        present = true;
+                    }
+                    case "body" -> body.copyFrom(parser);
+                    case "owner" -> readNested(parser, "display_name", author);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        void copyFrom(StackOverflowPost other) {
+            author.copyFrom(other.author);
+            body.copyFrom(other.body);
+            creationDate = other.creationDate;
+            present = other.present;
+        }
+    }
+
+    private static final class StackOverflowQuestion {
+        private final TextSlot title = new TextSlot(MAX_TITLE_LENGTH);
+        private final StackOverflowPost current = new StackOverflowPost();
+        private final StackOverflowPost latestAnswer = new StackOverflowPost();
+        private final StackOverflowPost latestComment = new StackOverflowPost();
+        private final List<PostSnapshot> newerPosts;
+        private final long sinceEpochSecond;
+
+        /** {@code since} включает сбор всех постов новее этой даты, {@code null} — только поиск последнего. */
+        StackOverflowQuestion(LocalDateTime since) {
+            this.newerPosts = since == null ? null : new ArrayList<>();
+            this.sinceEpochSecond = since == null ? Long.MAX_VALUE : since.toEpochSecond(ZoneOffset.UTC);
+        }
+
+        StackOverflowQuestion read(JsonParser parser) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "title" -> title.copyFrom(parser);
+                    case "answers" -> readLatest(parser, latestAnswer, "answer");
+                    case "comments" -> readLatest(parser, latestComment, "comment");
+                    default -> parser.skipChildren();
+                }
+            }
+            return this;
+        }
+
+        private void readLatest(JsonParser parser, StackOverflowPost latest, String type) throws IOException {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                current.read(parser);
+                if (current.present && (!latest.present || current.creationDate > latest.creationDate)) {
+                    latest.copyFrom(current);
+                }
+                if (newerPosts != null && current.present && current.creationDate > sinceEpochSecond) {
+                    newerPosts.add(new PostSnapshot(
+                            current.creationDate, current.author.toString(), current.body.toString(), type));
+                }
+            }
+        }
+
+        /** Заголовок может идти в JSON после ответов, поэтому {@link UpdateInfo} собираются только после разбора. */
+        List<UpdateInfo> postsSince() {
+            return newerPosts.stream()
+                    .sorted(Comparator.comparingLong(PostSnapshot::creationDate))
+                    .map(post -> UpdateInfo.builder()
+                            .date(LocalDateTime.ofEpochSecond(post.creationDate(), 0, ZoneOffset.UTC))
+                            .title(title.toString())
+                            .username(post.author())
+                            .type(post.type())
+                            .preview(post.preview())
+                            .build())
+                    .toList();
+        }
+
+        Optional<UpdateInfo> latestPost() {
+            if (!latestAnswer.present && !latestComment.present) {
+                return Optional.empty();
+            }
+            boolean answer = latestAnswer.present
+                    && (!latestComment.present || latestAnswer.creationDate >= latestComment.creationDate);
+            StackOverflowPost post = answer ? latestAnswer : latestComment;
+            return Optional.of(UpdateInfo.builder()
+                    .date(LocalDateTime.ofEpochSecond(post.creationDate, 0, ZoneOffset.UTC))
+                    .title(title.toString())
+                    .username(post.author.toString())
+                    .type(answer ? "answer" : "comment")
+                    .preview(post.body.toString())
+                    .build());
+        }
+    }
+
+    private record PostSnapshot(long creationDate, String author, String preview, String type) {}
+}
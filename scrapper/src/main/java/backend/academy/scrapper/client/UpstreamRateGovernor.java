@@ -0,0 +1,161 @@
+package backend.academy.scrapper.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Темп запросов к одному upstream, подстроенный под остаток его квоты. Интервал между разрешениями равен времени до
+ * сброса квоты, деленному на остаток, поэтому бюджет растягивается до сброса, а не выжигается за первые минуты.
+ * Интервал не бывает меньше заданного статически {@code rate-limit-refresh-period}/{@code rate-limit-for-period},
+ * до первого ответа с заголовками квоты действует только он. Подряд без ожидания выдается не больше {@code burst}
+ * разрешений.
+ */
+@Slf4j
+public class UpstreamRateGovernor {
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+    static final long UNKNOWN = -1L;
+
+    @Getter
+    private final String provider;
+
+    private final Duration minInterval;
+    private final int burst;
+    private final Clock clock;
+
+    private long remaining = UNKNOWN;
+    private Instant resetAt = Instant.MIN;
+    private Instant blockedUntil = Instant.MIN;
+    private Instant theoreticalArrival = Instant.MIN;
+
+    public UpstreamRateGovernor(String provider, Duration minInterval, int burst, Clock clock) {
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be positive: " + burst);
+        }
+        this.provider = provider;
+        this.minInterval = minInterval;
+        this.burst = burst;
+        this.clock = clock;
+    }
+
+    /** Блокирует вызывающий поток до момента, когда можно отправить {@code permits} запросов. */
+    public void acquire(int permits) {
+        Duration wait = reserve(permits);
+        if (!wait.isPositive()) {
+            return;
+        }
+        log.debug("Pacing {} requests for {} ms", provider, wait.toMillis());
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Резервирует {@code permits} разрешений и возвращает, сколько нужно подождать перед запросом. */
+    synchronized Duration reserve(int permits) {
+        Instant now = clock.instant();
+        Duration interval = currentInterval(now);
+        Instant start = blockedUntil.isAfter(now) ? blockedUntil : now;
+        if (remaining != UNKNOWN) {
+            remaining = Math.max(remaining - permits, 0L);
+        }
+        if (interval.isZero()) {
+            return Duration.between(now, start);
+        }
+        if (theoreticalArrival.isBefore(start)) {
+            theoreticalArrival = start;
+        }
+        Instant earliest = theoreticalArrival.minus(interval.multipliedBy(burst - 1L));
+        Instant grantAt = earliest.isAfter(start) ? earliest : start;
+        theoreticalArrival = theoreticalArrival.plus(interval.multipliedBy(permits));
+        return Duration.between(now, grantAt);
+    }
+
+    /** Учитывает {@code X-RateLimit-Remaining}/{@code X-RateLimit-Reset} и {@code Retry-After} из ответа GitHub. */
+    public void onHeaders(HttpHeaders headers) {
+        long remainingValue = parseLong(headers.getFirst(REMAINING_HEADER));
+        long resetEpochSecond = parseLong(headers.getFirst(RESET_HEADER));
+        if (remainingValue != UNKNOWN && resetEpochSecond != UNKNOWN) {
+            update(remainingValue, Instant.ofEpochSecond(resetEpochSecond));
+        }
+        long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        if (retryAfter > 0) {
+            backoff(Duration.ofSeconds(retryAfter));
+        }
+    }
+
+    /**
+     * Учитывает {@code quota_remaining} и {@code backoff} из тела ответа StackExchange API. Дневная квота
+     * StackExchange сбрасывается в полночь по UTC.
+     */
+    public void onStackExchangeQuota(long quotaRemaining, long backoffSeconds) {
+        if (quotaRemaining != UNKNOWN) {
+            Instant nextMidnight = LocalDate.now(clock)
+                    .plusDays(1)
+                    .atStartOfDay()
+                    .toInstant(ZoneOffset.UTC);
+            update(quotaRemaining, nextMidnight);
+        }
+        if (backoffSeconds > 0) {
+            backoff(Duration.ofSeconds(backoffSeconds));
+        }
+    }
+
+    public synchronized void update(long remaining, Instant resetAt) {
+        this.remaining = remaining;
+        this.resetAt = resetAt;
+        if (remaining == 0 && resetAt.isAfter(clock.instant())) {
+            log.warn("{} rate limit exhausted, pausing until {}", provider, resetAt);
+            blockedUntil = resetAt;
+        }
+    }
+
+    public synchronized void backoff(Duration duration) {
+        Instant until = clock.instant().plus(duration);
+        if (until.isAfter(blockedUntil)) {
+            log.warn("{} asked to back off for {}", provider, duration);
+            blockedUntil = until;
+        }
+    }
+
+    /** Остаток квоты по последнему ответу upstream за вычетом уже выданных разрешений, {@code NaN} если неизвестен. */
+    public synchronized double remainingBudget() {
+        return remaining == UNKNOWN || !resetAt.isAfter(clock.instant()) ? Double.NaN : remaining;
+    }
+
+    /** Текущий интервал между запросами в секундах. */
+    public synchronized double intervalSeconds() {
+        return currentInterval(clock.instant()).toNanos() / 1e9;
+    }
+
+    private Duration currentInterval(Instant now) {
+        if (remaining == UNKNOWN || !resetAt.isAfter(now)) {
+            remaining = UNKNOWN;
+            return minInterval;
+        }
+        if (remaining == 0) {
+            blockedUntil = blockedUntil.isAfter(resetAt) ? blockedUntil : resetAt;
+            return minInterval;
+        }
+        Duration adaptive = Duration.between(now, resetAt).dividedBy(remaining);
+        return adaptive.compareTo(minInterval) > 0 ? adaptive : minInterval;
+    }
+
+    static long parseLong(String value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+}
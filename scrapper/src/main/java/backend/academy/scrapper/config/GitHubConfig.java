@@ -1,9 +1,36 @@
 package backend.academy.scrapper.config;
 
 import jakarta.validation.constraints.NotBlank;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
 import org.springframework.validation.annotation.Validated;
 
+/**
+ * @param token основной токен GitHub
+ * @param tokens дополнительные токены (PAT или токены установок GitHub App), запросы распределяются между всеми
+ */
 @Validated
 @ConfigurationProperties(prefix = "app.github", ignoreUnknownFields = false)
-public record GitHubConfig(@NotBlank String token, @NotBlank String url) {}
+public record GitHubConfig(@NotBlank String token, List<String> tokens, @NotBlank String url) {
+
+    @ConstructorBinding
+    public GitHubConfig {
+        tokens = tokens == null ? List.of() : List.copyOf(tokens);
+    }
+
+    public GitHubConfig(String token, String url) {
+        this(token, List.of(), url);
+    }
+
+    /** Все непустые токены без повторов, основной первым. */
+    public List<String> allTokens() {
+        return Stream.concat(Stream.of(token), tokens.stream())
+                .filter(StringUtils::isNotBlank)
+                .map(String::trim)
+                .distinct()
+                .toList();
+    }
+}
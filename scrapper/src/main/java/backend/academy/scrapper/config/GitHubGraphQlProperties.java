@@ -0,0 +1,15 @@
+package backend.academy.scrapper.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Настройки пакетной проверки GitHub через GraphQL API. Вынесены из {@code app.github}, так как {@link GitHubConfig}
+ * не допускает неизвестных полей.
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.github-graphql")
+public record GitHubGraphQlProperties(boolean enabled, @NotBlank String url, @Min(1) @Max(100) int batchSize) {}
@@ -0,0 +1,11 @@
+package backend.academy.scrapper.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param secret секрет, которым GitHub подписывает доставки ({@code X-Hub-Signature-256})
+ * @param safetyNetInterval интервал страховочного опроса репозиториев, от которых приходят webhook-события
+ */
+@ConfigurationProperties(prefix = "app.github-webhook")
+public record GitHubWebhookProperties(boolean enabled, String secret, Duration safetyNetInterval) {}
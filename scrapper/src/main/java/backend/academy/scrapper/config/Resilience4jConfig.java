@@ -1,5 +1,6 @@
 package backend.academy.scrapper.config;
 
+import backend.academy.scrapper.service.ScrapperMetrics;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.Retry;
@@ -8,6 +9,8 @@ import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.timelimiter.TimeLimiter;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 import lombok.RequiredArgsConstructor;
@@ -75,18 +78,19 @@ public class Resilience4jConfig {
     }
 
     @Bean
-    public Retry githubRetry(RetryRegistry registry) {
-        return registry.retry("githubClient", "githubRetryConfig");
+    public Retry githubRetry(RetryRegistry registry, MeterRegistry meterRegistry) {
+        return countEvents(registry.retry("githubClient", "githubRetryConfig"), "github", meterRegistry);
     }
 
     @Bean
-    public Retry stackoverflowRetry(RetryRegistry registry) {
-        return registry.retry("stackoverflowClient", "stackoverflowRetryConfig");
+    public Retry stackoverflowRetry(RetryRegistry registry, MeterRegistry meterRegistry) {
+        return countEvents(
+                registry.retry("stackoverflowClient", "stackoverflowRetryConfig"), "stackoverflow", meterRegistry);
     }
 
     @Bean
-    public Retry botRetry(RetryRegistry registry) {
-        return registry.retry("botClient", "botRetryConfig");
+    public Retry botRetry(RetryRegistry registry, MeterRegistry meterRegistry) {
+        return countEvents(registry.retry("botClient", "botRetryConfig"), "bot", meterRegistry);
     }
 
     @Bean
@@ -97,14 +101,14 @@ public class Resilience4jConfig {
                 "githubTimeLimiter",
                 TimeLimiterConfig.custom()
                         .timeoutDuration(github.timeout())
-                        .cancelRunningFuture(false)
+                        .cancelRunningFuture(true)
                         .build());
 
         registry.addConfiguration(
                 "stackoverflowTimeLimiter",
                 TimeLimiterConfig.custom()
                         .timeoutDuration(stackoverflow.timeout())
-                        .cancelRunningFuture(false)
+                        .cancelRunningFuture(true)
                         .build());
 
         registry.addConfiguration(
@@ -138,12 +142,38 @@ public class Resilience4jConfig {
     }
 
     @Bean
-    public CircuitBreaker githubCircuitBreaker(CircuitBreakerRegistry registry) {
-        return registry.circuitBreaker("githubClient");
+    public CircuitBreaker githubCircuitBreaker(CircuitBreakerRegistry registry, MeterRegistry meterRegistry) {
+        return countEvents(registry.circuitBreaker("githubClient"), "github", meterRegistry);
     }
 
     @Bean
-    public CircuitBreaker stackoverflowCircuitBreaker(CircuitBreakerRegistry registry) {
-        return registry.circuitBreaker("stackoverflowClient");
+    public CircuitBreaker stackoverflowCircuitBreaker(CircuitBreakerRegistry registry, MeterRegistry meterRegistry) {
+        return countEvents(registry.circuitBreaker("stackoverflowClient"), "stackoverflow", meterRegistry);
+    }
+
+    /**
+     * Повторы и исчерпанные попытки. Вызов уходит в fallback после {@code retry-exhausted} или
+     * {@code short-circuited} от circuit breaker.
+     */
+    private static Retry countEvents(Retry retry, String provider, MeterRegistry meterRegistry) {
+        Counter retries = resilienceCounter(meterRegistry, provider, "retry");
+        Counter exhausted = resilienceCounter(meterRegistry, provider, "retry-exhausted");
+        retry.getEventPublisher().onRetry(event -> retries.increment()).onError(event -> exhausted.increment());
+        return retry;
+    }
+
+    private static CircuitBreaker countEvents(
+            CircuitBreaker circuitBreaker, String provider, MeterRegistry meterRegistry) {
+        Counter rejected = resilienceCounter(meterRegistry, provider, "short-circuited");
+        circuitBreaker.getEventPublisher().onCallNotPermitted(event -> rejected.increment());
+        return circuitBreaker;
+    }
+
+    private static Counter resilienceCounter(MeterRegistry meterRegistry, String provider, String event) {
+        return Counter.builder(ScrapperMetrics.RESILIENCE_METRIC)
+                .description("Retry and circuit breaker events of upstream calls")
+                .tag("provider", provider)
+                .tag("event", event)
+                .register(meterRegistry);
     }
 }
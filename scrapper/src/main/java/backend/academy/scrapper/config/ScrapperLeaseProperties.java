@@ -0,0 +1,7 @@
+package backend.academy.scrapper.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.scrapper.lease")
+public record ScrapperLeaseProperties(boolean enabled, Duration duration) {}
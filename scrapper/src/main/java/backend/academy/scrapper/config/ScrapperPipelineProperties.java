@@ -0,0 +1,13 @@
+package backend.academy.scrapper.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Размеры стадий конвейера после загрузки обновлений: {@code delivery} — отправка уведомлений и запись дайджестов,
+ * {@code persist} — запись результатов проверок в БД.
+ */
+@ConfigurationProperties(prefix = "app.scrapper.pipeline")
+public record ScrapperPipelineProperties(Stage delivery, Stage persist) {
+
+    public record Stage(int parallelism, int capacity, int batchSize) {}
+}
@@ -0,0 +1,7 @@
+package backend.academy.scrapper.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.scrapper.schedule")
+public record ScrapperScheduleProperties(Duration minInterval, Duration maxInterval, double backoffMultiplier) {}
@@ -0,0 +1,90 @@
+package backend.academy.scrapper.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Теги {@code http.client.requests} для запросов к провайдерам: {@code uri} — endpoint без идентификаторов
+ * репозиториев и вопросов, {@code provider} — провайдер ссылки. Полный адрес в теге давал бы отдельную серию на
+ * каждую отслеживаемую ссылку и упирался в {@code maxUriTags}.
+ */
+public class UpstreamClientObservationConvention extends DefaultClientRequestObservationConvention {
+    static final String PROVIDER = "provider";
+    private static final KeyValue PROVIDER_NONE = KeyValue.of(PROVIDER, KeyValue.NONE_VALUE);
+
+    private final List<Endpoint> endpoints;
+
+    public UpstreamClientObservationConvention(
+            GitHubConfig gitHubConfig, GitHubGraphQlProperties graphQlProperties, StackOverflowConfig stackOverflow) {
+        this.endpoints = List.of(
+                new Endpoint("github", graphQlProperties.url(), List.of()),
+                new Endpoint("github", gitHubConfig.url(), List.of("{owner}", "{repo}")),
+                new Endpoint("stackoverflow", stackOverflow.url(), List.of("{ids}")));
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(endpoint(context)
+                        .map(endpoint -> KeyValue.of(PROVIDER, endpoint.provider()))
+                        .orElse(PROVIDER_NONE));
+    }
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        return endpoint(context)
+                .map(endpoint -> KeyValue.of(LowCardinalityKeyNames.URI.asString(), endpoint.template(path(context))))
+                .orElseGet(() -> super.uri(context));
+    }
+
+    private Optional<Endpoint> endpoint(ClientRequestObservationContext context) {
+        String path = path(context);
+        return path == null ? Optional.empty() : endpoints.stream().filter(e -> e.matches(path)).findFirst();
+    }
+
+    /** Адрес запроса без query: идентификаторы и параметры вроде {@code since} в теги не попадают. */
+    private static String path(ClientRequestObservationContext context) {
+        ClientHttpRequest request = context.getCarrier();
+        if (request == null) {
+            return null;
+        }
+        return UriComponentsBuilder.fromUri(request.getURI())
+                .replaceQuery(null)
+                .fragment(null)
+                .build()
+                .toUriString();
+    }
+
+    /**
+     * Базовый адрес провайдера из настроек; первые сегменты пути после него — идентификаторы, которые в теге
+     * заменяются на {@code placeholders}.
+     */
+    private record Endpoint(String provider, String baseUrl, List<String> placeholders) {
+
+        boolean matches(String path) {
+            return path.equals(baseUrl) || path.startsWith(baseUrl + "/");
+        }
+
+        String template(String path) {
+            String basePath = UriComponentsBuilder.fromUriString(baseUrl).build().getPath();
+            var template = new StringBuilder(basePath == null ? "" : basePath);
+            String[] segments = path.substring(baseUrl.length()).split("/");
+            int identifiers = 0;
+            for (String segment : segments) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                template.append('/')
+                        .append(identifiers < placeholders.size() ? placeholders.get(identifiers++) : segment);
+            }
+            return template.isEmpty() ? "/" : template.toString();
+        }
+    }
+}
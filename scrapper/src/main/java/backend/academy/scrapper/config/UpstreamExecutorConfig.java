@@ -0,0 +1,40 @@
+package backend.academy.scrapper.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+public class UpstreamExecutorConfig {
+    public static final String UPSTREAM_EXECUTOR = "upstreamExecutor";
+
+    private final UpstreamExecutorProperties properties;
+
+    /**
+     * Ограниченный пул для блокирующих HTTP-вызовов под {@code TimeLimiter} вместо {@code ForkJoinPool.commonPool()}.
+     * Размер пула и очереди ограничивают нагрузку на upstream, при переполнении задача отклоняется и уходит в
+     * retry/circuit breaker. Рабочие потоки виртуальные: отмена future прерывает поток, а прерывание виртуального
+     * потока, заблокированного на сокете, закрывает соединение, то есть HTTP-запрос действительно обрывается.
+     * Бин не является кандидатом по умолчанию, чтобы не отключать автоконфигурацию {@code applicationTaskExecutor}.
+     */
+    @Bean(name = UPSTREAM_EXECUTOR, destroyMethod = "shutdownNow", defaultCandidate = false)
+    public ExecutorService upstreamExecutor(MeterRegistry meterRegistry) {
+        var executor = new ThreadPoolExecutor(
+                properties.poolSize(),
+                properties.poolSize(),
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(properties.queueCapacity(), 1)),
+                Thread.ofVirtual().name("upstream-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, UPSTREAM_EXECUTOR);
+    }
+}
@@ -0,0 +1,9 @@
+package backend.academy.scrapper.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "app.upstream-executor")
+public record UpstreamExecutorProperties(@Min(1) int poolSize, @Min(0) int queueCapacity) {}
@@ -0,0 +1,70 @@
+package backend.academy.scrapper.config;
+
+import backend.academy.scrapper.client.GitHubTokenPool;
+import backend.academy.scrapper.client.UpstreamRateGovernor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+public class UpstreamRateGovernorConfig {
+    private static final String REMAINING_METRIC = "scrapper.upstream.rate.remaining";
+    private static final String INTERVAL_METRIC = "scrapper.upstream.rate.interval";
+
+    private final GitHubConfig githubConfig;
+    private final GithubClientProperties github;
+    private final StackoverflowClientProperties stackoverflow;
+
+    /** Статический лимит GitHub задан на один токен, поэтому минимальный интервал и burst растут с размером пула. */
+    @Bean
+    public UpstreamRateGovernor githubRateGovernor(MeterRegistry meterRegistry) {
+        int limitForPeriod = github.rateLimitForPeriod() * Math.max(githubConfig.allTokens().size(), 1);
+        return register(
+                meterRegistry,
+                new UpstreamRateGovernor(
+                        "github",
+                        minInterval(github.rateLimitRefreshPeriod(), limitForPeriod),
+                        limitForPeriod,
+                        Clock.systemUTC()));
+    }
+
+    @Bean
+    public GitHubTokenPool githubTokenPool(@Qualifier("githubRateGovernor") UpstreamRateGovernor rateGovernor) {
+        return new GitHubTokenPool(githubConfig.allTokens(), rateGovernor, Clock.systemUTC());
+    }
+
+    @Bean
+    public UpstreamRateGovernor stackoverflowRateGovernor(MeterRegistry meterRegistry) {
+        return register(
+                meterRegistry,
+                new UpstreamRateGovernor(
+                        "stackoverflow",
+                        minInterval(stackoverflow.rateLimitRefreshPeriod(), stackoverflow.rateLimitForPeriod()),
+                        stackoverflow.rateLimitForPeriod(),
+                        Clock.systemUTC()));
+    }
+
+    private static Duration minInterval(Duration refreshPeriod, int limitForPeriod) {
+        return refreshPeriod.dividedBy(limitForPeriod);
+    }
+
+    private static UpstreamRateGovernor register(MeterRegistry meterRegistry, UpstreamRateGovernor governor) {
+        String provider = governor.provider();
+        Gauge.builder(REMAINING_METRIC, governor, UpstreamRateGovernor::remainingBudget)
+                .description("Remaining upstream request budget until the quota reset")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder(INTERVAL_METRIC, governor, UpstreamRateGovernor::intervalSeconds)
+                .description("Current pacing interval between upstream requests")
+                .baseUnit("seconds")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        return governor;
+    }
+}
@@ -11,21 +11,33 @@ import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
 
+/**
+ * HTTP-клиенты собираются из автонастроенных builder, поэтому их запросы попадают в метрику
+ * {@code http.client.requests} с кодом ответа и хостом провайдера; запросы к провайдерам помечаются endpoint без
+ * идентификаторов ({@link UpstreamClientObservationConvention}).
+ */
 @Configuration
 public class WebConfig {
 
     @Bean
-    public WebClient webClient(@Value("${app.bot.url}") String botUrl) {
-        return WebClient.builder()
-                .baseUrl(botUrl)
+    public WebClient webClient(WebClient.Builder builder, @Value("${app.bot.url}") String botUrl) {
+        return builder.baseUrl(botUrl)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
 
     @Bean
     @Qualifier("trackClient")
-    public RestClient trackClient() {
-        return RestClient.builder().requestFactory(clientHttpRequestFactory()).build();
+    public RestClient trackClient(RestClient.Builder builder, UpstreamClientObservationConvention convention) {
+        return builder.requestFactory(clientHttpRequestFactory())
+                .observationConvention(convention)
+                .build();
+    }
+
+    @Bean
+    public UpstreamClientObservationConvention upstreamClientObservationConvention(
+            GitHubConfig gitHubConfig, GitHubGraphQlProperties graphQlProperties, StackOverflowConfig stackOverflow) {
+        return new UpstreamClientObservationConvention(gitHubConfig, graphQlProperties, stackOverflow);
     }
 
     @Bean
@@ -0,0 +1,44 @@
+package backend.academy.scrapper.controller;
+
+import backend.academy.scrapper.service.GitHubWebhookService;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(GitHubWebhookController.PATH)
+@ConditionalOnProperty(value = "app.github-webhook.enabled", havingValue = "true")
+public class GitHubWebhookController {
+    public static final String PATH = "/webhooks/github";
+
+    private final GitHubWebhookService webhookService;
+
+    @PostMapping
+    public ResponseEntity<Void> receive(
+            @RequestHeader("X-GitHub-Event") String event,
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] body) {
+        String safeEvent = event.replaceAll("[\r\n]", "");
+        if (!webhookService.isSignatureValid(body, signature)) {
+            log.warn("Rejected GitHub {} webhook with invalid signature", safeEvent);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            webhookService.handle(safeEvent, body);
+        } catch (IOException e) {
+            log.warn("Malformed GitHub {} webhook payload: {}", safeEvent, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+}
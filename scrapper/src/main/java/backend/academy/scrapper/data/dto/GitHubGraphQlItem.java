@@ -0,0 +1,12 @@
+package backend.academy.scrapper.data.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.time.LocalDateTime;
+
+/** Последний issue или pull request репозитория из ответа GitHub GraphQL API. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GitHubGraphQlItem(String title, LocalDateTime createdAt, String bodyText, Author author) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Author(String login) {}
+}
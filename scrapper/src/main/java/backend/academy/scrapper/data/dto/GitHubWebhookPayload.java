@@ -0,0 +1,16 @@
+package backend.academy.scrapper.data.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Поля событий {@code issues}, {@code pull_request} и {@code ping} GitHub webhook, нужные для уведомлений. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GitHubWebhookPayload(
+        String action,
+        Repository repository,
+        GitHubIssue issue,
+        @JsonProperty("pull_request") GitHubPullRequest pullRequest) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Repository(@JsonProperty("full_name") String fullName) {}
+}
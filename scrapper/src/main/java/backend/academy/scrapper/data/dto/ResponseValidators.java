@@ -0,0 +1,40 @@
+package backend.academy.scrapper.data.dto;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Валидаторы HTTP-ответа, по которым upstream может ответить {@code 304 Not Modified}. {@code coveredUntil} — дата
+ * самого нового события этого ответа: пока {@code lastUpdate} ссылки до нее не дошел, события ответа могли быть не
+ * разосланы, и валидаторы не применяются.
+ */
+@Builder
+public record ResponseValidators(String etag, String lastModified, LocalDateTime coveredUntil) {
+
+    public static ResponseValidators from(HttpHeaders headers, LocalDateTime coveredUntil) {
+        return ResponseValidators.builder()
+                .etag(headers.getFirst(HttpHeaders.ETAG))
+                .lastModified(headers.getFirst(HttpHeaders.LAST_MODIFIED))
+                .coveredUntil(coveredUntil)
+                .build();
+    }
+
+    public boolean isEmpty() {
+        return etag == null && lastModified == null;
+    }
+
+    /** Можно ли отправить валидаторы при проверке событий новее {@code since}. */
+    public boolean appliesSince(LocalDateTime since) {
+        return coveredUntil == null || (since != null && !since.isBefore(coveredUntil));
+    }
+
+    public void applyTo(HttpHeaders headers) {
+        if (etag != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+}
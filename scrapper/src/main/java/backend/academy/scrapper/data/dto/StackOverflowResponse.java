@@ -20,12 +20,20 @@ import lombok.ToString;
 public class StackOverflowResponse {
     private List<StackOverflowItem> items;
 
+    @JsonProperty("quota_remaining")
+    private Long quotaRemaining;
+
+    private Long backoff;
+
     @Getter
     @Setter
     @NoArgsConstructor
     @AllArgsConstructor
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class StackOverflowItem {
+        @JsonProperty("question_id")
+        private long questionId;
+
         @JsonProperty("last_activity_date")
         private long lastActivityDate;
 
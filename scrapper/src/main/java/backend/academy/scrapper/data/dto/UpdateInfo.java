@@ -2,10 +2,13 @@ package backend.academy.scrapper.data.dto;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import lombok.Builder;
 
 @Builder
 public record UpdateInfo(String title, String username, LocalDateTime date, String type, String preview) {
+    /** Сколько событий попадает в текст сводного уведомления, остальные только пересчитываются. */
+    public static final int MAX_AGGREGATED_EVENTS = 5;
 
     public String getFormattedMessage() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -15,4 +18,19 @@ public record UpdateInfo(String title, String username, LocalDateTime date, Stri
                 "Название: %s%nПользователь: %s%nВремя: %s%nТип: %s%nПревью: %s",
                 title, username, formattedDate, type, preview);
     }
+
+    /** Одно уведомление на несколько событий ссылки, события идут в переданном порядке. */
+    public static String formatAggregated(List<UpdateInfo> updates) {
+        if (updates.size() == 1) {
+            return updates.getFirst().getFormattedMessage();
+        }
+        var message = new StringBuilder(String.format("Новых событий: %d", updates.size()));
+        updates.stream()
+                .limit(MAX_AGGREGATED_EVENTS)
+                .forEach(update -> message.append(String.format("%n%n")).append(update.getFormattedMessage()));
+        if (updates.size() > MAX_AGGREGATED_EVENTS) {
+            message.append(String.format("%n%n...и еще %d", updates.size() - MAX_AGGREGATED_EVENTS));
+        }
+        return message.toString();
+    }
 }
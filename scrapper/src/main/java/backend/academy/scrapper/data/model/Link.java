@@ -10,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
@@ -31,6 +32,8 @@ import org.hibernate.validator.constraints.URL;
 @Entity
 @Table(name = "link")
 public class Link {
+    public static final long DEFAULT_CHECK_INTERVAL_SECONDS = 300L;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -43,6 +46,20 @@ public class Link {
     @Column(name = "last_update")
     private LocalDateTime lastUpdate;
 
+    @Column(name = "next_check_at", nullable = false)
+    private LocalDateTime nextCheckAt;
+
+    /** Текущий интервал между проверками ссылки, в секундах. */
+    @Column(name = "check_interval", nullable = false)
+    private Long checkInterval;
+
+    /** Экземпляр scrapper, захвативший ссылку на проверку, и срок действия захвата. */
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
     @ManyToMany(
             cascade = {CascadeType.PERSIST, CascadeType.MERGE},
             fetch = FetchType.EAGER)
@@ -68,4 +85,14 @@ public class Link {
             joinColumns = {@JoinColumn(name = "link_id")},
             inverseJoinColumns = {@JoinColumn(name = "chat_id")})
     private Set<Chat> chats = new HashSet<>();
+
+    @PrePersist
+    void initCheckSchedule() {
+        if (nextCheckAt == null) {
+            nextCheckAt = LocalDateTime.now();
+        }
+        if (checkInterval == null) {
+            checkInterval = DEFAULT_CHECK_INTERVAL_SECONDS;
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package backend.academy.scrapper.repository.link;
+
+import backend.academy.scrapper.data.model.Chat;
+import backend.academy.scrapper.data.model.Filter;
+import backend.academy.scrapper.data.model.Link;
+import backend.academy.scrapper.data.model.Tag;
+import jakarta.validation.constraints.NotNull;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Разбирает агрегированную выборку {@link SqlLinkRepository}: одна строка на ссылку, чаты, теги и фильтры приходят
+ * параллельными массивами из {@code array_agg}. Колонки читаются по индексу, идентификаторы — сразу как {@link UUID}.
+ */
+@Slf4j
+public class AggregatedLinkResultSetExtractor implements ResultSetExtractor<List<Link>> {
+    static final int ID = 1;
+    static final int URL = 2;
+    static final int LAST_UPDATE = 3;
+    static final int NEXT_CHECK_AT = 4;
+    static final int CHECK_INTERVAL = 5;
+    static final int CHAT_IDS = 6;
+    static final int CHAT_TG_IDS = 7;
+    static final int CHAT_NICKNAMES = 8;
+    static final int TAG_IDS = 9;
+    static final int TAGS = 10;
+    static final int FILTER_IDS = 11;
+    static final int FILTER_PARAMETERS = 12;
+    static final int FILTER_VALUES = 13;
+
+    private static final Object[] EMPTY = new Object[0];
+
+    @Override
+    public @NotNull List<Link> extractData(ResultSet rs) throws SQLException, DataAccessException {
+        var links = new ArrayList<Link>();
+        while (rs.next()) {
+            links.add(Link.builder()
+                    .id(rs.getObject(ID, UUID.class))
+                    .url(rs.getString(URL))
+                    .lastUpdate(rs.getObject(LAST_UPDATE, LocalDateTime.class))
+                    .nextCheckAt(rs.getObject(NEXT_CHECK_AT, LocalDateTime.class))
+                    .checkInterval(rs.getObject(CHECK_INTERVAL, Long.class))
+                    .chats(chats(rs))
+                    .tags(tags(rs))
+                    .filters(filters(rs))
+                    .build());
+        }
+        log.debug("Result set converted into List<Link>: {}", links);
+        return links;
+    }
+
+    private static Set<Chat> chats(ResultSet rs) throws SQLException {
+        Object[] ids = elements(rs.getArray(CHAT_IDS));
+        Object[] tgIds = elements(rs.getArray(CHAT_TG_IDS));
+        Object[] nicknames = elements(rs.getArray(CHAT_NICKNAMES));
+        Set<Chat> chats = HashSet.newHashSet(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            chats.add(Chat.builder()
+                    .id((UUID) ids[i])
+                    .tgId((Long) tgIds[i])
+                    .nickname((String) nicknames[i])
+                    .build());
+        }
+        return chats;
+    }
+
+    private static Set<Tag> tags(ResultSet rs) throws SQLException {
+        Object[] ids = elements(rs.getArray(TAG_IDS));
+        Object[] names = elements(rs.getArray(TAGS));
+        Set<Tag> tags = HashSet.newHashSet(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            tags.add(Tag.builder().id((UUID) ids[i]).tag((String) names[i]).build());
+        }
+        return tags;
+    }
+
+    private static Set<Filter> filters(ResultSet rs) throws SQLException {
+        Object[] ids = elements(rs.getArray(FILTER_IDS));
+        Object[] parameters = elements(rs.getArray(FILTER_PARAMETERS));
+        Object[] values = elements(rs.getArray(FILTER_VALUES));
+        Set<Filter> filters = HashSet.newHashSet(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            filters.add(Filter.builder()
+                    .id((UUID) ids[i])
+                    .parameter((String) parameters[i])
+                    .value((String) values[i])
+                    .build());
+        }
+        return filters;
+    }
+
+    /** {@code array_agg} по пустому набору даёт {@code NULL}, а не пустой массив. */
+    private static Object[] elements(Array array) throws SQLException {
+        if (array == null) {
+            return EMPTY;
+        }
+        try {
+            return (Object[]) array.getArray();
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package backend.academy.scrapper.repository.link;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Итератор по страницам ссылок, захваченных экземпляром {@code owner} на время {@code leaseDuration}. Несколько
+ * экземпляров scrapper получают непересекающиеся страницы, а ссылки упавшего экземпляра снова становятся доступны,
+ * когда истекает его захват. Захват снимается при сохранении результатов проверки.
+ *
+ * <p>Проверка страницы с учетом темпа upstream может идти дольше {@code leaseDuration}, поэтому после первого захвата
+ * фоновый поток каждую треть {@code leaseDuration} продлевает захват всех еще не сохраненных ссылок экземпляра.
+ * Продление прекращается в {@link #close()}, который вызывается после сохранения результатов прохода.
+ */
+@Slf4j
+public class ClaimingLinkIterator implements Iterator<List<LinkCheckView>>, AutoCloseable {
+    private final LinkRepository linkRepository;
+    private final String owner;
+    private final int pageSize;
+    private final LocalDateTime dueBefore;
+    private final Duration leaseDuration;
+
+    private List<LinkCheckView> nextPage;
+    private boolean exhausted;
+    private Thread renewer;
+
+    public ClaimingLinkIterator(
+            LinkRepository linkRepository,
+            String owner,
+            int pageSize,
+            LocalDateTime dueBefore,
+            Duration leaseDuration) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.linkRepository = linkRepository;
+        this.owner = owner;
+        this.pageSize = pageSize;
+        this.dueBefore = dueBefore;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPage == null && !exhausted) {
+            claimNextPage();
+        }
+        return nextPage != null;
+    }
+
+    @Override
+    public List<LinkCheckView> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more link pages");
+        }
+        var page = nextPage;
+        nextPage = null;
+        return page;
+    }
+
+    private void claimNextPage() {
+        var page = linkRepository.claimDueForCheck(
+                owner, dueBefore, LocalDateTime.now().plus(leaseDuration), pageSize);
+        if (page.isEmpty()) {
+            exhausted = true;
+            return;
+        }
+        exhausted = page.size() < pageSize;
+        nextPage = page;
+        if (renewer == null) {
+            renewer = Thread.ofVirtual().name("lease-renewer-" + owner).start(this::renewLeases);
+        }
+    }
+
+    private void renewLeases() {
+        Duration interval = leaseDuration.dividedBy(3);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(interval);
+                int renewed = linkRepository.renewLeases(owner, LocalDateTime.now().plus(leaseDuration));
+                log.debug("Renewed lease of {} links for {}", renewed, owner);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Failed to renew link leases for {}: {}", owner, e.getMessage());
+            }
+        }
+    }
+
+    /** Останавливает продление захвата. */
+    @Override
+    public void close() {
+        if (renewer != null) {
+            renewer.interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package backend.academy.scrapper.repository.link;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Ленивый итератор по ссылкам, срок проверки которых наступил к {@code dueBefore}, страницами с keyset-пагинацией по
+ * {@code (next_check_at, id)}. Каждая страница содержит ссылки целиком вместе со всеми подписчиками, поэтому
+ * подписчики одной ссылки не разрываются между страницами, а стоимость запроса не растет с номером страницы.
+ */
+public class KeysetLinkIterator implements Iterator<List<LinkCheckView>> {
+    static final UUID MIN_ID = new UUID(0L, 0L);
+    static final LocalDateTime MIN_CHECK_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LinkRepository linkRepository;
+    private final int pageSize;
+    private final LocalDateTime dueBefore;
+
+    private LocalDateTime lastSeenCheckAt = MIN_CHECK_AT;
+    private UUID lastSeenId = MIN_ID;
+    private List<LinkCheckView> nextPage;
+    private boolean exhausted;
+
+    public KeysetLinkIterator(LinkRepository linkRepository, int pageSize, LocalDateTime dueBefore) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.linkRepository = linkRepository;
+        this.pageSize = pageSize;
+        this.dueBefore = dueBefore;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPage == null && !exhausted) {
+            fetchNextPage();
+        }
+        return nextPage != null;
+    }
+
+    @Override
+    public List<LinkCheckView> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more link pages");
+        }
+        var page = nextPage;
+        nextPage = null;
+        return page;
+    }
+
+    private void fetchNextPage() {
+        var page = linkRepository.findDueForCheckAfter(dueBefore, lastSeenCheckAt, lastSeenId, pageSize);
+        if (page.isEmpty()) {
+            exhausted = true;
+            return;
+        }
+        var last = page.getLast();
+        lastSeenCheckAt = last.nextCheckAt();
+        lastSeenId = last.id();
+        exhausted = page.size() < pageSize;
+        nextPage = page;
+    }
+}
@@ -0,0 +1,10 @@
+package backend.academy.scrapper.repository.link;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Итог одной проверки ссылки, записываемый пачкой в конце страницы. {@code lastUpdate} равен {@code null}, если
+ * обновлений не найдено и прежнее значение нужно сохранить.
+ */
+public record LinkCheckResult(UUID linkId, LocalDateTime lastUpdate, LocalDateTime nextCheckAt, long checkInterval) {}
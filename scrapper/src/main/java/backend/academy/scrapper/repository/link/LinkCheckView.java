@@ -0,0 +1,92 @@
+package backend.academy.scrapper.repository.link;
+
+import backend.academy.scrapper.data.model.Chat;
+import backend.academy.scrapper.data.model.Link;
+import backend.academy.scrapper.service.LinkToApiRequestConverter;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Ссылка в том виде, в котором она нужна циклу проверки: расписание, провайдер и подписчики с уже загруженными
+ * временем дайджеста и фильтрами. Решение о рассылке принимается без обращений к базе и без полных сущностей
+ * {@link Link} и {@link Chat}.
+ */
+public record LinkCheckView(
+        UUID id,
+        String url,
+        LocalDateTime lastUpdate,
+        LocalDateTime nextCheckAt,
+        Long checkInterval,
+        String provider,
+        List<Subscriber> subscribers) {
+    public static final String GITHUB = "github";
+    public static final String STACKOVERFLOW = "stackoverflow";
+    public static final String UNKNOWN = "unknown";
+
+    /**
+     * Подписчик ссылки. {@code digestTime} равен {@code null} для немедленной доставки. Одинаковые наборы
+     * {@code filters} подписчиков одной страницы разделяют общий экземпляр.
+     */
+    public record Subscriber(long tgId, LocalTime digestTime, Set<FilterRule> filters) {}
+
+    /** Строка фильтра чата для ссылки, параметр и значение приведены к нижнему регистру. */
+    public record FilterRule(String parameter, String value) {
+
+        public static FilterRule of(String parameter, String value) {
+            return new FilterRule(normalize(parameter), normalize(value));
+        }
+    }
+
+    public Set<Long> tgChatIds() {
+        return subscribers.stream().map(Subscriber::tgId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Представление для сущности, загруженной через JPA: фильтры ссылки распределяются по чатам, которым они
+     * принадлежат.
+     */
+    public static LinkCheckView of(Link link) {
+        List<Subscriber> subscribers = link.chats().stream()
+                .map(chat -> new Subscriber(chat.tgId(), chat.digestTime(), filters(link, chat)))
+                .toList();
+        return new LinkCheckView(
+                link.id(),
+                link.url(),
+                link.lastUpdate(),
+                link.nextCheckAt(),
+                link.checkInterval(),
+                provider(link.url()),
+                subscribers);
+    }
+
+    /**
+     * Провайдер по тем же шаблонам, что и у {@link LinkToApiRequestConverter}: адрес, который конвертер не сможет
+     * разобрать, получает {@link #UNKNOWN} и не уходит в клиент провайдера.
+     */
+    static String provider(String url) {
+        if (LinkToApiRequestConverter.GITHUB_URL_PATTERN.matcher(url).matches()) {
+            return GITHUB;
+        }
+        return LinkToApiRequestConverter.STACKOVERFLOW_URL_PATTERN.matcher(url).matches() ? STACKOVERFLOW : UNKNOWN;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<FilterRule> filters(Link link, Chat chat) {
+        if (link.filters() == null) {
+            return Set.of();
+        }
+        return link.filters().stream()
+                .filter(filter -> filter.chat() != null && Objects.equals(filter.chat().id(), chat.id()))
+                .map(filter -> FilterRule.of(filter.parameter(), filter.value()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,108 @@
+package backend.academy.scrapper.repository.link;
+
+import backend.academy.scrapper.repository.link.LinkCheckView.FilterRule;
+import backend.academy.scrapper.repository.link.LinkCheckView.Subscriber;
+import jakarta.validation.constraints.NotNull;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Разбирает выборку цикла проверки {@link SqlLinkRepository}: одна строка на ссылку, подписчики приходят массивами
+ * {@code tg_ids}/{@code digest_times}, фильтры — тройками {@code filter_tg_ids}/{@code filter_parameters}/
+ * {@code filter_values}. Одинаковые наборы фильтров в пределах выборки хранятся одним экземпляром.
+ */
+@Slf4j
+public class LinkCheckViewResultSetExtractor implements ResultSetExtractor<List<LinkCheckView>> {
+    static final int ID = 1;
+    static final int URL = 2;
+    static final int LAST_UPDATE = 3;
+    static final int NEXT_CHECK_AT = 4;
+    static final int CHECK_INTERVAL = 5;
+    static final int TG_IDS = 6;
+    static final int DIGEST_TIMES = 7;
+    static final int FILTER_TG_IDS = 8;
+    static final int FILTER_PARAMETERS = 9;
+    static final int FILTER_VALUES = 10;
+
+    private static final Object[] EMPTY = new Object[0];
+
+    @Override
+    public @NotNull List<LinkCheckView> extractData(ResultSet rs) throws SQLException, DataAccessException {
+        Map<Set<FilterRule>, Set<FilterRule>> internedFilters = new HashMap<>();
+        var links = new ArrayList<LinkCheckView>();
+        while (rs.next()) {
+            String url = rs.getString(URL);
+            links.add(new LinkCheckView(
+                    rs.getObject(ID, UUID.class),
+                    url,
+                    rs.getObject(LAST_UPDATE, LocalDateTime.class),
+                    rs.getObject(NEXT_CHECK_AT, LocalDateTime.class),
+                    rs.getObject(CHECK_INTERVAL, Long.class),
+                    LinkCheckView.provider(url),
+                    subscribers(rs, internedFilters)));
+        }
+        log.debug("Result set converted into {} link check views", links.size());
+        return links;
+    }
+
+    private static List<Subscriber> subscribers(ResultSet rs, Map<Set<FilterRule>, Set<FilterRule>> internedFilters)
+            throws SQLException {
+        Object[] tgIds = elements(rs.getArray(TG_IDS));
+        if (tgIds.length == 0) {
+            return List.of();
+        }
+        Object[] digestTimes = elements(rs.getArray(DIGEST_TIMES));
+        Map<Long, Set<FilterRule>> filters = filters(rs);
+        var subscribers = new ArrayList<Subscriber>(tgIds.length);
+        for (int i = 0; i < tgIds.length; i++) {
+            Long tgId = (Long) tgIds[i];
+            Time digestTime = (Time) digestTimes[i];
+            Set<FilterRule> chatFilters = filters.getOrDefault(tgId, Set.of());
+            subscribers.add(new Subscriber(
+                    tgId,
+                    digestTime == null ? null : digestTime.toLocalTime(),
+                    internedFilters.computeIfAbsent(chatFilters, Set::copyOf)));
+        }
+        return subscribers;
+    }
+
+    private static Map<Long, Set<FilterRule>> filters(ResultSet rs) throws SQLException {
+        Object[] tgIds = elements(rs.getArray(FILTER_TG_IDS));
+        if (tgIds.length == 0) {
+            return Map.of();
+        }
+        Object[] parameters = elements(rs.getArray(FILTER_PARAMETERS));
+        Object[] values = elements(rs.getArray(FILTER_VALUES));
+        Map<Long, Set<FilterRule>> filters = new HashMap<>();
+        for (int i = 0; i < tgIds.length; i++) {
+            filters.computeIfAbsent((Long) tgIds[i], tgId -> new HashSet<>())
+                    .add(new FilterRule((String) parameters[i], (String) values[i]));
+        }
+        return filters;
+    }
+
+    /** {@code array_agg} по пустому набору даёт {@code NULL}, а не пустой массив. */
+    private static Object[] elements(Array array) throws SQLException {
+        if (array == null) {
+            return EMPTY;
+        }
+        try {
+            return (Object[]) array.getArray();
+        } finally {
+            array.free();
+        }
+    }
+}
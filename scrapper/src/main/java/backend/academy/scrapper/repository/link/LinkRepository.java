@@ -1,6 +1,8 @@
 package backend.academy.scrapper.repository.link;
 
 import backend.academy.scrapper.data.model.Link;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,12 +23,47 @@ public interface LinkRepository {
 
     Optional<Link> findByTgIdAndUrl(Long tgId, String url);
 
+    /** Ссылки с любым из адресов {@code urls} без учета регистра в виде для проверки, со всеми подписчиками. */
+    List<LinkCheckView> findForCheckByUrlsIgnoreCase(Collection<String> urls);
+
     Iterable<Link> findAll();
 
     Iterable<Link> findAll(Pageable pageable);
 
     Iterable<Link> findAllWithChats(Pageable pageable);
 
+    /**
+     * Keyset-страница ссылок, срок проверки которых наступил не позже {@code dueBefore}, в виде для проверки со всеми
+     * подписчиками. Ссылки упорядочены по {@code (next_check_at, id)} и начинаются строго после курсора
+     * {@code (lastSeenCheckAt, lastSeenId)}.
+     */
+    List<LinkCheckView> findDueForCheckAfter(
+            LocalDateTime dueBefore, LocalDateTime lastSeenCheckAt, UUID lastSeenId, int limit);
+
+    /**
+     * Захватывает для экземпляра {@code owner} до {@code limit} ссылок, срок проверки которых наступил, а захват
+     * другим экземпляром отсутствует или истек. Строки, заблокированные параллельным захватом, пропускаются
+     * ({@code FOR UPDATE SKIP LOCKED}), поэтому разные экземпляры получают непересекающиеся страницы.
+     */
+    List<LinkCheckView> claimDueForCheck(String owner, LocalDateTime dueBefore, LocalDateTime leaseUntil, int limit);
+
+    /** Продлевает до {@code leaseUntil} захват всех ссылок, которые экземпляр {@code owner} еще не сохранил. */
+    int renewLeases(String owner, LocalDateTime leaseUntil);
+
+    /**
+     * Сохраняет результаты проверок страницы одной короткой транзакцией: новый {@code last_update}, расписание и
+     * снятие захвата. {@code last_update} и {@code next_check_at} только растут: параллельный {@link #reschedule}
+     * вебхука мог уже разослать более новое событие или отодвинуть проверку, и их нельзя откатить.
+     */
+    void saveCheckResults(Collection<LinkCheckResult> results);
+
+    /**
+     * Сохраняет {@code last_update} и расписание, не снимая захват: ссылку в это время может проверять другой
+     * экземпляр, и его захват должен сохраниться до конца проверки. Как и в {@link #saveCheckResults},
+     * {@code last_update} и {@code next_check_at} не уменьшаются.
+     */
+    void reschedule(Collection<LinkCheckResult> results);
+
     Iterable<Link> findAllByTgId(Long tgId);
 
     Iterable<Link> findLinksByTgIdAndTags(Long tgId, List<String> tags);
@@ -8,9 +8,11 @@ import jakarta.validation.constraints.NotNull;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,7 +27,7 @@ import org.springframework.stereotype.Component;
 public class LinkResultSetExtractor implements ResultSetExtractor<List<Link>> {
     @Override
     public @NotNull List<Link> extractData(ResultSet rs) throws SQLException, DataAccessException {
-        Map<UUID, Link> linkMap = new HashMap<>();
+        Map<UUID, Link> linkMap = new LinkedHashMap<>();
 
         ResultSetMetaData metaData = rs.getMetaData();
         Set<String> columnNames = new HashSet<>();
@@ -41,6 +43,12 @@ public class LinkResultSetExtractor implements ResultSetExtractor<List<Link>> {
                             .id(id)
                             .url(rs.getString("url"))
                             .lastUpdate(rs.getTimestamp("last_update").toLocalDateTime())
+                            .nextCheckAt(
+                                    columnNames.contains("next_check_at")
+                                            ? toLocalDateTime(rs.getTimestamp("next_check_at"))
+                                            : null)
+                            .checkInterval(
+                                    columnNames.contains("check_interval") ? rs.getLong("check_interval") : null)
                             .chats(new HashSet<>())
                             .tags(new HashSet<>())
                             .filters(new HashSet<>())
@@ -91,4 +99,8 @@ public class LinkResultSetExtractor implements ResultSetExtractor<List<Link>> {
         log.debug("Result set converted into List<Link>: {}", links);
         return links;
     }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
 }
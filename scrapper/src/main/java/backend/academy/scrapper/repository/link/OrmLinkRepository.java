@@ -1,16 +1,22 @@
 package backend.academy.scrapper.repository.link;
 
 import backend.academy.scrapper.data.model.Link;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 @ConditionalOnProperty(prefix = "app.db", name = "access-type", havingValue = "orm")
@@ -49,8 +55,163 @@ public interface OrmLinkRepository extends LinkRepository, JpaRepository<Link, U
     @Override
     Optional<Link> findByUrl(String url);
 
+    @EntityGraph(attributePaths = {"chats"})
+    @Query("SELECT l FROM Link l WHERE LOWER(l.url) IN :urls")
+    List<Link> findWithChatsByLowerCaseUrls(@Param("urls") Collection<String> urls);
+
+    @Override
+    default List<LinkCheckView> findForCheckByUrlsIgnoreCase(Collection<String> urls) {
+        var lowerCaseUrls = urls.stream().map(url -> url.toLowerCase(Locale.ROOT)).toList();
+        return findWithChatsByLowerCaseUrls(lowerCaseUrls).stream().map(LinkCheckView::of).toList();
+    }
+
     @EntityGraph(attributePaths = {"chats"})
     @Query("SELECT l FROM Link as l")
     @Override
     List<Link> findAllWithChats(Pageable pageable);
+
+    @Override
+    default List<LinkCheckView> findDueForCheckAfter(
+            LocalDateTime dueBefore, LocalDateTime lastSeenCheckAt, UUID lastSeenId, int limit) {
+        var ids = findDueIdsAfter(dueBefore, lastSeenCheckAt, lastSeenId, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return findAllWithChatsByIdIn(ids).stream().map(LinkCheckView::of).toList();
+    }
+
+    @Query(
+            """
+        SELECT l.id
+        FROM Link l
+        WHERE l.nextCheckAt <= :dueBefore
+          AND (l.nextCheckAt > :lastSeenCheckAt OR (l.nextCheckAt = :lastSeenCheckAt AND l.id > :lastSeenId))
+        ORDER BY l.nextCheckAt, l.id
+        """)
+    List<UUID> findDueIdsAfter(
+            @Param("dueBefore") LocalDateTime dueBefore,
+            @Param("lastSeenCheckAt") LocalDateTime lastSeenCheckAt,
+            @Param("lastSeenId") UUID lastSeenId,
+            Limit limit);
+
+    @EntityGraph(attributePaths = {"chats"})
+    @Query("SELECT l FROM Link l WHERE l.id IN :ids ORDER BY l.nextCheckAt, l.id")
+    List<Link> findAllWithChatsByIdIn(@Param("ids") List<UUID> ids);
+
+    @Override
+    @Transactional
+    default List<LinkCheckView> claimDueForCheck(
+            String owner, LocalDateTime dueBefore, LocalDateTime leaseUntil, int limit) {
+        var ids = lockClaimableIds(dueBefore, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        lease(ids, owner, leaseUntil);
+        return findAllWithChatsByIdIn(ids).stream().map(LinkCheckView::of).toList();
+    }
+
+    /** JPQL не поддерживает {@code SKIP LOCKED}, поэтому выборка под захват выполняется нативным запросом. */
+    @Query(
+            value =
+                    """
+        SELECT id
+        FROM link
+        WHERE next_check_at <= :dueBefore
+          AND (lease_until IS NULL OR lease_until <= :dueBefore)
+        ORDER BY next_check_at, id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """,
+            nativeQuery = true)
+    List<UUID> lockClaimableIds(@Param("dueBefore") LocalDateTime dueBefore, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Link l SET l.leaseOwner = :owner, l.leaseUntil = :leaseUntil WHERE l.id IN :ids")
+    void lease(
+            @Param("ids") List<UUID> ids,
+            @Param("owner") String owner,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Override
+    @Transactional
+    @Modifying
+    @Query("UPDATE Link l SET l.leaseUntil = :leaseUntil WHERE l.leaseOwner = :owner")
+    int renewLeases(@Param("owner") String owner, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /** Одним запросом на страницу: строки передаются массивами и разворачиваются через {@code unnest}. */
+    @Override
+    @Transactional
+    default void saveCheckResults(Collection<LinkCheckResult> results) {
+        if (!results.isEmpty()) {
+            updateCheckResults(ids(results), lastUpdates(results), nextCheckAts(results), checkIntervals(results));
+        }
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            value =
+                    """
+        UPDATE link
+        SET last_update = GREATEST(link.last_update, v.last_update),
+            next_check_at = GREATEST(link.next_check_at, v.next_check_at),
+            check_interval = CASE
+                WHEN link.next_check_at IS NULL OR v.next_check_at >= link.next_check_at
+                THEN v.check_interval ELSE link.check_interval END,
+            lease_owner = NULL,
+            lease_until = NULL
+        FROM unnest(CAST(:ids AS uuid[]), CAST(:lastUpdates AS timestamp[]), CAST(:nextCheckAts AS timestamp[]),
+                    CAST(:checkIntervals AS bigint[])) AS v(id, last_update, next_check_at, check_interval)
+        WHERE link.id = v.id
+        """,
+            nativeQuery = true)
+    void updateCheckResults(
+            @Param("ids") UUID[] ids,
+            @Param("lastUpdates") LocalDateTime[] lastUpdates,
+            @Param("nextCheckAts") LocalDateTime[] nextCheckAts,
+            @Param("checkIntervals") Long[] checkIntervals);
+
+    @Override
+    @Transactional
+    default void reschedule(Collection<LinkCheckResult> results) {
+        if (!results.isEmpty()) {
+            updateSchedules(ids(results), lastUpdates(results), nextCheckAts(results), checkIntervals(results));
+        }
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+            value =
+                    """
+        UPDATE link
+        SET last_update = GREATEST(link.last_update, v.last_update),
+            next_check_at = GREATEST(link.next_check_at, v.next_check_at),
+            check_interval = CASE
+                WHEN link.next_check_at IS NULL OR v.next_check_at >= link.next_check_at
+                THEN v.check_interval ELSE link.check_interval END
+        FROM unnest(CAST(:ids AS uuid[]), CAST(:lastUpdates AS timestamp[]), CAST(:nextCheckAts AS timestamp[]),
+                    CAST(:checkIntervals AS bigint[])) AS v(id, last_update, next_check_at, check_interval)
+        WHERE link.id = v.id
+        """,
+            nativeQuery = true)
+    void updateSchedules(
+            @Param("ids") UUID[] ids,
+            @Param("lastUpdates") LocalDateTime[] lastUpdates,
+            @Param("nextCheckAts") LocalDateTime[] nextCheckAts,
+            @Param("checkIntervals") Long[] checkIntervals);
+
+    private static UUID[] ids(Collection<LinkCheckResult> results) {
+        return results.stream().map(LinkCheckResult::linkId).toArray(UUID[]::new);
+    }
+
+    private static LocalDateTime[] lastUpdates(Collection<LinkCheckResult> results) {
+        return results.stream().map(LinkCheckResult::lastUpdate).toArray(LocalDateTime[]::new);
+    }
+
+    private static LocalDateTime[] nextCheckAts(Collection<LinkCheckResult> results) {
+        return results.stream().map(LinkCheckResult::nextCheckAt).toArray(LocalDateTime[]::new);
+    }
+
+    private static Long[] checkIntervals(Collection<LinkCheckResult> results) {
+        return results.stream().map(LinkCheckResult::checkInterval).toArray(Long[]::new);
+    }
 }
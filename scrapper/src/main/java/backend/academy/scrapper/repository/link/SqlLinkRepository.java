@@ -3,10 +3,15 @@ package backend.academy.scrapper.repository.link;
 import backend.academy.scrapper.data.model.Chat;
 import backend.academy.scrapper.data.model.Link;
 import backend.academy.scrapper.exception.SqlRepositoryException;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -23,6 +28,82 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "app.db", name = "access-type", havingValue = "sql")
 public class SqlLinkRepository implements LinkRepository {
+    private static final int STREAM_FETCH_SIZE = 500;
+    /** Четыре параметра на строку, держим запрос далеко от лимита PostgreSQL в 65535 параметров. */
+    private static final int CHECK_RESULTS_PER_STATEMENT = 1000;
+    private static final String RELEASE_LEASE = ", lease_owner = NULL, lease_until = NULL";
+    private static final String CHECK_RESULT_ROW = "(CAST(:id%1$d AS uuid), CAST(:lastUpdate%1$d AS timestamp),"
+            + " CAST(:nextCheckAt%1$d AS timestamp), CAST(:checkInterval%1$d AS bigint))";
+    /**
+     * Одна строка на ссылку: чаты, теги и фильтры собираются подзапросами в массивы, вместо декартова произведения
+     * join-ов. Порядок колонок задан индексами {@link AggregatedLinkResultSetExtractor}. Первый {@code %s} сужает чаты
+     * ссылки, второй — добавляет условие {@code WHERE} к выборке ссылок.
+     */
+    private static final String AGGREGATED_LINK_SELECT =
+            """
+            SELECT l.id, l.url, l.last_update, l.next_check_at, l.check_interval,
+                c.chat_ids, c.tg_ids, c.nicknames,
+                t.tag_ids, t.tags,
+                f.filter_ids, f.parameters, f.filter_values
+            FROM link AS l
+            CROSS JOIN LATERAL (
+                SELECT array_agg(ch.id) AS chat_ids, array_agg(ch.tg_id) AS tg_ids, array_agg(ch.nickname) AS nicknames
+                FROM link_to_chat AS ltc
+                JOIN chat AS ch ON ch.id = ltc.chat_id
+                WHERE ltc.link_id = l.id %s
+            ) AS c
+            CROSS JOIN LATERAL (
+                SELECT array_agg(tg.id) AS tag_ids, array_agg(tg.tag) AS tags
+                FROM tag_to_link AS ttl
+                JOIN tag AS tg ON tg.id = ttl.tag_id
+                WHERE ttl.link_id = l.id
+            ) AS t
+            CROSS JOIN LATERAL (
+                SELECT array_agg(fl.id) AS filter_ids, array_agg(fl.parameter) AS parameters,
+                    array_agg(fl.value) AS filter_values
+                FROM link_to_filter AS ltf
+                JOIN filter AS fl ON fl.id = ltf.filter_id
+                WHERE ltf.link_id = l.id
+            ) AS f
+            %s
+            """;
+    private static final String ALL_CHATS = "";
+    private static final String CHAT_BY_TG_ID = "AND ch.tg_id = :tgId";
+    private static final String TRACKED_BY_TG_ID =
+            """
+            EXISTS (
+                SELECT 1
+                FROM link_to_chat AS own
+                JOIN chat AS owner ON owner.id = own.chat_id
+                WHERE own.link_id = l.id AND owner.tg_id = :tgId
+            )""";
+    /**
+     * Выборка цикла проверки, одна строка на ссылку: подписчики с временем дайджеста и фильтры чатов для этой ссылки
+     * собираются в массивы. {@code %s} — источник ссылок с алиасом {@code l}. Порядок колонок задан индексами
+     * {@link LinkCheckViewResultSetExtractor}.
+     */
+    private static final String CHECK_VIEW_SELECT =
+            """
+            SELECT l.id, l.url, l.last_update, l.next_check_at, l.check_interval,
+                s.tg_ids, s.digest_times, f.filter_tg_ids, f.filter_parameters, f.filter_values
+            FROM %s
+            CROSS JOIN LATERAL (
+                SELECT array_agg(ch.tg_id) AS tg_ids, array_agg(ch.digest_time) AS digest_times
+                FROM link_to_chat AS ltc
+                JOIN chat AS ch ON ch.id = ltc.chat_id
+                WHERE ltc.link_id = l.id
+            ) AS s
+            CROSS JOIN LATERAL (
+                SELECT array_agg(ch.tg_id) AS filter_tg_ids, array_agg(lower(fl.parameter)) AS filter_parameters,
+                    array_agg(lower(fl.value)) AS filter_values
+                FROM link_to_filter AS ltf
+                JOIN filter AS fl ON fl.id = ltf.filter_id
+                JOIN chat AS ch ON ch.id = fl.chat_id
+                WHERE ltf.link_id = l.id
+            ) AS f
+            ORDER BY l.next_check_at, l.id
+            """;
+
     private final NamedParameterJdbcTemplate jdbc;
 
     @Override
@@ -39,13 +120,22 @@ public class SqlLinkRepository implements LinkRepository {
         KeyHolder keyHolder = new GeneratedKeyHolder();
         String insertLinkSql =
                 """
-        INSERT INTO link(url, last_update)
-        VALUES (:url, :lastUpdate)
+        INSERT INTO link(url, last_update, next_check_at, check_interval)
+        VALUES (:url, :lastUpdate, :nextCheckAt, :checkInterval)
         RETURNING id
         """;
 
-        MapSqlParameterSource insertParams =
-                new MapSqlParameterSource().addValue("url", link.url()).addValue("lastUpdate", link.lastUpdate());
+        if (link.nextCheckAt() == null) {
+            link.nextCheckAt(LocalDateTime.now());
+        }
+        if (link.checkInterval() == null) {
+            link.checkInterval(Link.DEFAULT_CHECK_INTERVAL_SECONDS);
+        }
+        MapSqlParameterSource insertParams = new MapSqlParameterSource()
+                .addValue("url", link.url())
+                .addValue("lastUpdate", link.lastUpdate())
+                .addValue("nextCheckAt", link.nextCheckAt())
+                .addValue("checkInterval", link.checkInterval());
 
         jdbc.update(insertLinkSql, insertParams, keyHolder);
 
@@ -101,21 +191,8 @@ public class SqlLinkRepository implements LinkRepository {
 
     @Override
     public Optional<Link> findById(UUID id) {
-        var sql =
-                """
-                SELECT l.*, c.id as chat_id, c.tg_id, c.nickname,
-                    t.id as tag_id, t.tag, f.id as filter_id, f.parameter, f.value
-                FROM link AS l
-                LEFT JOIN link_to_chat ltc ON l.id = ltc.link_id
-                LEFT JOIN chat AS c ON ltc.chat_id = c.id
-                LEFT JOIN tag_to_link AS ttl ON l.id = ttl.link_id
-                LEFT JOIN tag AS t ON t.id = ttl.tag_id
-                LEFT JOIN link_to_filter AS ltf ON ltf.link_id = l.id
-                LEFT JOIN filter AS f ON ltf.filter_id = f.id
-                WHERE l.id = :id
-                """;
-
-        var result = jdbc.query(sql, new MapSqlParameterSource("id", id), new LinkResultSetExtractor());
+        var sql = AGGREGATED_LINK_SELECT.formatted(ALL_CHATS, "WHERE l.id = :id");
+        var result = jdbc.query(sql, new MapSqlParameterSource("id", id), new AggregatedLinkResultSetExtractor());
         if (result == null) {
             return Optional.empty();
         }
@@ -124,21 +201,9 @@ public class SqlLinkRepository implements LinkRepository {
 
     @Override
     public Optional<Link> findByTgIdAndUrl(final Long tgId, final String url) {
-        var sql =
-                """
-                SELECT l.*, c.id as chat_id, c.tg_id, c.nickname,
-                    t.id as tag_id, t.tag, f.id as filter_id, f.parameter, f.value
-                FROM link AS l
-                LEFT JOIN link_to_chat ltc ON l.id = ltc.link_id
-                LEFT JOIN chat AS c ON ltc.chat_id = c.id
-                LEFT JOIN tag_to_link AS ttl ON l.id = ttl.link_id
-                LEFT JOIN tag AS t ON t.id = ttl.tag_id
-                LEFT JOIN link_to_filter AS ltf ON ltf.link_id = l.id
-                LEFT JOIN filter AS f ON ltf.filter_id = f.id
-                WHERE c.tg_id = :tgId AND l.url = :url
-                """;
+        var sql = AGGREGATED_LINK_SELECT.formatted(CHAT_BY_TG_ID, "WHERE l.url = :url AND " + TRACKED_BY_TG_ID);
         var params = new MapSqlParameterSource().addValue("tgId", tgId).addValue("url", url);
-        var result = jdbc.query(sql, params, new LinkResultSetExtractor());
+        var result = jdbc.query(sql, params, new AggregatedLinkResultSetExtractor());
         if (result == null) {
             return Optional.empty();
         }
@@ -147,41 +212,17 @@ public class SqlLinkRepository implements LinkRepository {
 
     @Override
     public List<Link> findAll() {
-        var sql =
-                """
-                SELECT l.*, c.id as chat_id, c.tg_id, c.nickname,
-                    t.id as tag_id, t.tag, f.id as filter_id, f.parameter, f.value
-                FROM link AS l
-                LEFT JOIN link_to_chat ltc ON l.id = ltc.link_id
-                LEFT JOIN chat AS c ON ltc.chat_id = c.id
-                LEFT JOIN tag_to_link AS ttl ON l.id = ttl.link_id
-                LEFT JOIN tag AS t ON t.id = ttl.tag_id
-                LEFT JOIN link_to_filter AS ltf ON ltf.link_id = l.id
-                LEFT JOIN filter AS f ON ltf.filter_id = f.id
-                """;
-        return jdbc.query(sql, new LinkResultSetExtractor());
+        var sql = AGGREGATED_LINK_SELECT.formatted(ALL_CHATS, "");
+        return jdbc.query(sql, new AggregatedLinkResultSetExtractor());
     }
 
     @Override
     public List<Link> findAll(final Pageable pageable) {
-        var sql =
-                """
-                SELECT l.*, c.id as chat_id, c.tg_id, c.nickname,
-                    t.id as tag_id, t.tag, f.id as filter_id, f.parameter, f.value
-                FROM link AS l
-                LEFT JOIN link_to_chat ltc ON l.id = ltc.link_id
-                LEFT JOIN chat AS c ON ltc.chat_id = c.id
-                LEFT JOIN tag_to_link AS ttl ON l.id = ttl.link_id
-                LEFT JOIN tag AS t ON t.id = ttl.tag_id
-                LEFT JOIN link_to_filter AS ltf ON ltf.link_id = l.id
-                LEFT JOIN filter AS f ON ltf.filter_id = f.id
-                LIMIT :limit
-                OFFSET :offset
-                """;
+        var sql = AGGREGATED_LINK_SELECT.formatted(ALL_CHATS, "LIMIT :limit OFFSET :offset");
         var params = new MapSqlParameterSource()
                 .addValue("limit", pageable.getPageSize())
                 .addValue("offset", pageable.getOffset());
-        return jdbc.query(sql, params, new LinkResultSetExtractor());
+        return jdbc.query(sql, params, new AggregatedLinkResultSetExtractor());
     }
 
     @Override
@@ -203,40 +244,161 @@ public class SqlLinkRepository implements LinkRepository {
     }
 
     @Override
-    public List<Link> findAllByTgId(final Long tgId) {
-        var sql =
+    public List<LinkCheckView> findForCheckByUrlsIgnoreCase(final Collection<String> urls) {
+        if (urls.isEmpty()) {
+            return List.of();
+        }
+        var lowerCaseUrls = urls.stream().map(url -> url.toLowerCase(Locale.ROOT)).toList();
+        var sql = CHECK_VIEW_SELECT.formatted("(SELECT * FROM link WHERE lower(url) IN (:urls)) AS l");
+        return jdbc.query(
+                sql, new MapSqlParameterSource("urls", lowerCaseUrls), new LinkCheckViewResultSetExtractor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LinkCheckView> findDueForCheckAfter(
+            final LocalDateTime dueBefore,
+            final LocalDateTime lastSeenCheckAt,
+            final UUID lastSeenId,
+            final int limit) {
+        var sql = CHECK_VIEW_SELECT.formatted(
                 """
-                SELECT l.*, c.id as chat_id, c.tg_id, c.nickname,
-                    t.id as tag_id, t.tag, f.id as filter_id, f.parameter, f.value
-                FROM link AS l
-                LEFT JOIN link_to_chat ltc ON l.id = ltc.link_id
-                LEFT JOIN chat AS c ON ltc.chat_id = c.id
-                LEFT JOIN tag_to_link AS ttl ON l.id = ttl.link_id
-                LEFT JOIN tag AS t ON t.id = ttl.tag_id
-                LEFT JOIN link_to_filter AS ltf ON ltf.link_id = l.id
-                LEFT JOIN filter AS f ON ltf.filter_id = f.id
-                WHERE c.tg_id = :tgId
+                (
+                    SELECT *
+                    FROM link
+                    WHERE next_check_at <= ?
+                      AND (next_check_at, id) > (?, ?)
+                    ORDER BY next_check_at, id
+                    LIMIT ?
+                ) AS l""");
+
+        return jdbc.getJdbcOperations()
+                .query(
+                        connection -> {
+                            var statement = connection.prepareStatement(
+                                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                            statement.setObject(1, dueBefore);
+                            statement.setObject(2, lastSeenCheckAt);
+                            statement.setObject(3, lastSeenId);
+                            statement.setInt(4, limit);
+                            statement.setFetchSize(STREAM_FETCH_SIZE);
+                            return statement;
+                        },
+                        new LinkCheckViewResultSetExtractor());
+    }
+
+    @Override
+    @Transactional
+    public List<LinkCheckView> claimDueForCheck(
+            final String owner, final LocalDateTime dueBefore, final LocalDateTime leaseUntil, final int limit) {
+        var claimSql =
+                """
+                UPDATE link
+                SET lease_owner = :owner, lease_until = :leaseUntil
+                WHERE id IN (
+                    SELECT id
+                    FROM link
+                    WHERE next_check_at <= :dueBefore
+                      AND (lease_until IS NULL OR lease_until <= :dueBefore)
+                    ORDER BY next_check_at, id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id
                 """;
-        return jdbc.query(sql, new MapSqlParameterSource("tgId", tgId), new LinkResultSetExtractor());
+        var claimParams = new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("leaseUntil", leaseUntil)
+                .addValue("dueBefore", dueBefore)
+                .addValue("limit", limit);
+        List<UUID> ids = jdbc.queryForList(claimSql, claimParams, UUID.class);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        var sql = CHECK_VIEW_SELECT.formatted("(SELECT * FROM link WHERE id IN (:ids)) AS l");
+        return jdbc.query(sql, new MapSqlParameterSource("ids", ids), new LinkCheckViewResultSetExtractor());
     }
 
     @Override
-    public List<Link> findLinksByTgIdAndTags(final Long tgId, final List<String> tags) {
+    public int renewLeases(final String owner, final LocalDateTime leaseUntil) {
+        var sql = "UPDATE link SET lease_until = :leaseUntil WHERE lease_owner = :owner";
+        var params = new MapSqlParameterSource().addValue("owner", owner).addValue("leaseUntil", leaseUntil);
+        return jdbc.update(sql, params);
+    }
+
+    @Override
+    @Transactional
+    public void saveCheckResults(final Collection<LinkCheckResult> results) {
+        updateInChunks(results, true);
+    }
+
+    @Override
+    @Transactional
+    public void reschedule(final Collection<LinkCheckResult> results) {
+        updateInChunks(results, false);
+    }
+
+    private void updateInChunks(final Collection<LinkCheckResult> results, final boolean releaseLease) {
+        var chunk = new ArrayList<LinkCheckResult>(Math.min(results.size(), CHECK_RESULTS_PER_STATEMENT));
+        for (LinkCheckResult result : results) {
+            chunk.add(result);
+            if (chunk.size() == CHECK_RESULTS_PER_STATEMENT) {
+                updateCheckResults(chunk, releaseLease);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            updateCheckResults(chunk, releaseLease);
+        }
+    }
+
+    private void updateCheckResults(final List<LinkCheckResult> results, final boolean releaseLease) {
+        var values = new StringJoiner(", ");
+        var params = new MapSqlParameterSource();
+        for (int i = 0; i < results.size(); i++) {
+            var result = results.get(i);
+            values.add(CHECK_RESULT_ROW.formatted(i));
+            params.addValue("id" + i, result.linkId())
+                    .addValue("lastUpdate" + i, result.lastUpdate())
+                    .addValue("nextCheckAt" + i, result.nextCheckAt())
+                    .addValue("checkInterval" + i, result.checkInterval());
+        }
         var sql =
                 """
-                SELECT l.*, c.id as chat_id, c.tg_id, c.nickname,
-                    t.id as tag_id, t.tag, f.id as filter_id, f.parameter, f.value
-                FROM link AS l
-                LEFT JOIN link_to_chat ltc ON l.id = ltc.link_id
-                LEFT JOIN chat AS c ON ltc.chat_id = c.id
-                LEFT JOIN tag_to_link AS ttl ON l.id = ttl.link_id
-                LEFT JOIN tag AS t ON t.id = ttl.tag_id
-                LEFT JOIN link_to_filter AS ltf ON ltf.link_id = l.id
-                LEFT JOIN filter AS f ON ltf.filter_id = f.id
-                WHERE c.tg_id = :tgId AND t.tag IN (:tags)
-                """;
+                UPDATE link
+                SET last_update = GREATEST(link.last_update, v.last_update),
+                    next_check_at = GREATEST(link.next_check_at, v.next_check_at),
+                    check_interval = CASE
+                        WHEN link.next_check_at IS NULL OR v.next_check_at >= link.next_check_at
+                        THEN v.check_interval ELSE link.check_interval END%s
+                FROM (VALUES %s) AS v(id, last_update, next_check_at, check_interval)
+                WHERE link.id = v.id
+                """
+                        .formatted(releaseLease ? RELEASE_LEASE : "", values);
+        jdbc.update(sql, params);
+    }
+
+    @Override
+    public List<Link> findAllByTgId(final Long tgId) {
+        var sql = AGGREGATED_LINK_SELECT.formatted(CHAT_BY_TG_ID, "WHERE " + TRACKED_BY_TG_ID);
+        return jdbc.query(sql, new MapSqlParameterSource("tgId", tgId), new AggregatedLinkResultSetExtractor());
+    }
+
+    @Override
+    public List<Link> findLinksByTgIdAndTags(final Long tgId, final List<String> tags) {
+        var where =
+                """
+                WHERE %s AND EXISTS (
+                    SELECT 1
+                    FROM tag_to_link AS tagged
+                    JOIN tag AS matched ON matched.id = tagged.tag_id
+                    WHERE tagged.link_id = l.id AND matched.tag IN (:tags)
+                )"""
+                        .formatted(TRACKED_BY_TG_ID);
+        var sql = AGGREGATED_LINK_SELECT.formatted(CHAT_BY_TG_ID, where);
         var params = new MapSqlParameterSource().addValue("tgId", tgId).addValue("tags", tags);
-        return jdbc.query(sql, params, new LinkResultSetExtractor());
+        return jdbc.query(sql, params, new AggregatedLinkResultSetExtractor());
     }
 
     @Override
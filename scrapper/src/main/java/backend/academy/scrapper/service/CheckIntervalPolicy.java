@@ -0,0 +1,29 @@
+package backend.academy.scrapper.service;
+
+import backend.academy.scrapper.config.ScrapperScheduleProperties;
+import backend.academy.scrapper.data.model.Link;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Адаптивный интервал проверки ссылки: если ссылка обновилась, интервал сокращается в {@code backoffMultiplier} раз,
+ * если нет — во столько же раз растет. Результат всегда ограничен {@code [minInterval, maxInterval]}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckIntervalPolicy {
+
+    private final ScrapperScheduleProperties properties;
+
+    public Duration nextInterval(Long currentIntervalSeconds, boolean updated) {
+        long current =
+                currentIntervalSeconds == null ? Link.DEFAULT_CHECK_INTERVAL_SECONDS : currentIntervalSeconds;
+        double factor = updated ? 1 / properties.backoffMultiplier() : properties.backoffMultiplier();
+        long next = Math.round(current * factor);
+
+        long min = properties.minInterval().toSeconds();
+        long max = properties.maxInterval().toSeconds();
+        return Duration.ofSeconds(Math.clamp(next, min, max));
+    }
+}
@@ -0,0 +1,154 @@
+package backend.academy.scrapper.service;
+
+import backend.academy.scrapper.client.UpstreamJson;
+import backend.academy.scrapper.config.GitHubWebhookProperties;
+import backend.academy.scrapper.data.dto.GitHubWebhookPayload;
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.repository.link.LinkCheckResult;
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import backend.academy.scrapper.repository.link.LinkRepository;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Прием событий GitHub webhook. Новый issue или pull request рассылается подписчикам тем же путем, что и результат
+ * опроса, а ссылки репозитория, от которого пришло подписанное событие {@code issues} или {@code pull_request},
+ * переводятся на редкий страховочный опрос с интервалом {@code safety-net-interval}. Остальные события, включая
+ * {@code ping}, ничего не меняют: они не доказывают, что webhook доставляет то, о чем сообщает scrapper.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "app.github-webhook.enabled", havingValue = "true")
+public class GitHubWebhookService {
+    static final String SIGNATURE_PREFIX = "sha256=";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Set<String> REPORTED_EVENTS = Set.of("issues", "pull_request");
+    private static final String OPENED_ACTION = "opened";
+    private static final String GHOST_LOGIN = "ghost";
+    private static final int PREVIEW_LENGTH = 200;
+
+    private final GitHubWebhookProperties properties;
+    private final LinkRepository linkRepository;
+    private final ScrapperService scrapperService;
+    private final LinkToApiRequestConverter converterApi;
+    private final SecretKeySpec signingKey;
+
+    public GitHubWebhookService(
+            GitHubWebhookProperties properties,
+            LinkRepository linkRepository,
+            ScrapperService scrapperService,
+            LinkToApiRequestConverter converterApi) {
+        if (StringUtils.isBlank(properties.secret())) {
+            throw new IllegalStateException("app.github-webhook.secret must be set when GitHub webhooks are enabled");
+        }
+        this.properties = properties;
+        this.linkRepository = linkRepository;
+        this.scrapperService = scrapperService;
+        this.converterApi = converterApi;
+        this.signingKey = new SecretKeySpec(properties.secret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /** Проверяет заголовок {@code X-Hub-Signature-256} — HMAC-SHA256 тела запроса — за постоянное время. */
+    public boolean isSignatureValid(byte[] body, String signature) {
+        if (signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            return false;
+        }
+        byte[] expected;
+        try {
+            expected = HexFormat.of().parseHex(signature.substring(SIGNATURE_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(body), expected);
+    }
+
+    /** Обрабатывает событие {@code event} и возвращает число затронутых ссылок. */
+    public int handle(String event, byte[] body) throws IOException {
+        if (!REPORTED_EVENTS.contains(event)) {
+            log.debug("Ignoring GitHub {} event", event);
+            return 0;
+        }
+        GitHubWebhookPayload payload = UpstreamJson.GITHUB_WEBHOOK_PAYLOAD.readValue(body);
+        if (payload.repository() == null || StringUtils.isBlank(payload.repository().fullName())) {
+            log.debug("Ignoring GitHub {} event without repository", event);
+            return 0;
+        }
+
+        String repository = payload.repository().fullName();
+        List<LinkCheckView> links =
+                linkRepository.findForCheckByUrlsIgnoreCase(converterApi.convertRepoPathToGithubUrls(repository));
+        if (links.isEmpty()) {
+            return 0;
+        }
+
+        Optional<UpdateInfo> update = toUpdateInfo(event, payload);
+        LocalDateTime nextCheckAt = LocalDateTime.now().plus(properties.safetyNetInterval());
+        List<LinkCheckResult> results = new ArrayList<>(links.size());
+        for (LinkCheckView link : links) {
+            Optional<LocalDateTime> lastUpdate = update.flatMap(info -> scrapperService.publishUpdate(link, info));
+            results.add(new LinkCheckResult(
+                    link.id(), lastUpdate.orElse(null), nextCheckAt, properties.safetyNetInterval().toSeconds()));
+        }
+        linkRepository.reschedule(results);
+        log.info("GitHub {} event for {} applied to {} links", event, repository, links.size());
+        return links.size();
+    }
+
+    private Optional<UpdateInfo> toUpdateInfo(String event, GitHubWebhookPayload payload) {
+        if (!OPENED_ACTION.equals(payload.action())) {
+            return Optional.empty();
+        }
+        return switch (event) {
+            case "issues" -> Optional.ofNullable(payload.issue())
+                    .map(issue -> toUpdateInfo(
+                            issue.title(),
+                            issue.user() == null ? null : issue.user().login(),
+                            issue.createdAt(),
+                            issue.body(),
+                            "issue"));
+            case "pull_request" -> Optional.ofNullable(payload.pullRequest())
+                    .map(pr -> toUpdateInfo(
+                            pr.title(),
+                            pr.user() == null ? null : pr.user().login(),
+                            pr.createdAt(),
+                            pr.body(),
+                            "pull-request"));
+            default -> Optional.empty();
+        };
+    }
+
+    private UpdateInfo toUpdateInfo(
+            String title, String login, LocalDateTime createdAt, String body, String type) {
+        return UpdateInfo.builder()
+                .title(title)
+                .username(StringUtils.defaultIfBlank(login, GHOST_LOGIN))
+                .date(createdAt)
+                .type(type)
+                .preview(StringUtils.defaultString(StringUtils.substring(body, 0, PREVIEW_LENGTH)))
+                .build();
+    }
+
+    private byte[] sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
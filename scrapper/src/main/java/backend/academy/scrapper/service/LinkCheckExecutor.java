@@ -0,0 +1,15 @@
+package backend.academy.scrapper.service;
+
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Стратегия выполнения проверок одной страницы ссылок. Реализация выбирается свойством
+ * {@code app.scrapper.execution-mode}.
+ */
+public interface LinkCheckExecutor {
+
+    /** Выполняет {@code check} для каждой ссылки страницы и блокируется до завершения всех проверок. */
+    void checkAll(List<LinkCheckView> links, Consumer<LinkCheckView> check);
+}
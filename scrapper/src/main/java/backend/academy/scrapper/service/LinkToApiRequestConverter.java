@@ -3,6 +3,8 @@ package backend.academy.scrapper.service;
 import backend.academy.scrapper.config.GitHubConfig;
 import backend.academy.scrapper.config.StackOverflowConfig;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Collection;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
@@ -17,22 +19,46 @@ public class LinkToApiRequestConverter {
     private final GitHubConfig githubConfig;
     private final StackOverflowConfig stackOverflowConfig;
 
-    private static final Pattern GITHUB_URL_PATTERN =
+    public static final Pattern GITHUB_URL_PATTERN =
             Pattern.compile("^https://github\\.com/[a-zA-Z0-9_.-]+/[a-zA-Z0-9_.-]+/?$");
 
-    private static final Pattern STACKOVERFLOW_URL_PATTERN =
+    public static final Pattern STACKOVERFLOW_URL_PATTERN =
             Pattern.compile("^https://(ru\\.)?stackoverflow\\.com/questions/\\d+/.+");
 
+    private static final String GITHUB_URL_PREFIX = "https://github.com/";
+
+    private static final String STACKOVERFLOW_QUERY = "?order=desc&sort=activity&site=ru.stackoverflow";
+
     public String convertGithubUrlToApi(String githubUrl) {
+        return githubConfig.url() + "/" + convertGithubUrlToRepoPath(githubUrl);
+    }
+
+    /** Возвращает путь репозитория вида {@code owner/name}. */
+    public String convertGithubUrlToRepoPath(String githubUrl) {
         if (!isGithubUrl(githubUrl)) {
             throw new IllegalArgumentException("Invalid GitHub URL format: " + githubUrl);
         }
 
-        String repoPath = githubUrl.replace("https://github.com/", "").replaceAll("/$", "");
-        return githubConfig.url() + "/" + repoPath;
+        return githubUrl.replace(GITHUB_URL_PREFIX, "").replaceAll("/$", "");
+    }
+
+    /** Адреса, под которыми может быть сохранен репозиторий {@code owner/name}: без и с завершающим {@code /}. */
+    public List<String> convertRepoPathToGithubUrls(String repoPath) {
+        String url = GITHUB_URL_PREFIX + repoPath;
+        return List.of(url, url + "/");
     }
 
     public String convertStackOverflowUrlToApi(String stackOverflowUrl) {
+        return stackOverflowConfig.url() + "/" + extractStackOverflowQuestionId(stackOverflowUrl) + STACKOVERFLOW_QUERY;
+    }
+
+    /** Строит запрос к {@code /questions/{ids}} для пачки вопросов, идентификаторы разделяются {@code ;}. */
+    public String convertStackOverflowIdsToApi(Collection<String> questionIds) {
+        return stackOverflowConfig.url() + "/" + String.join(";", questionIds) + STACKOVERFLOW_QUERY + "&pagesize="
+                + questionIds.size();
+    }
+
+    public String extractStackOverflowQuestionId(String stackOverflowUrl) {
         if (!isStackOverflowUrl(stackOverflowUrl)) {
             throw new IllegalArgumentException("Invalid StackOverflow URL format: " + stackOverflowUrl);
         }
@@ -42,9 +68,7 @@ public class LinkToApiRequestConverter {
             throw new IllegalArgumentException("Cannot extract question ID: " + stackOverflowUrl);
         }
 
-        String questionId =
-                stackOverflowUrl.replaceAll("^https://(ru\\.)?stackoverflow\\.com/questions/(\\d+)/.*", "$2");
-        return stackOverflowConfig.url() + "/" + questionId + "?order=desc&sort=activity&site=ru.stackoverflow";
+        return stackOverflowUrl.replaceAll("^https://(ru\\.)?stackoverflow\\.com/questions/(\\d+)/.*", "$2");
     }
 
     public boolean isGithubUrl(String url) {
@@ -0,0 +1,80 @@
+package backend.academy.scrapper.service;
+
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Фиксированный пул потоков: страница делится на {@code threads-count} частей, каждая проверяется последовательно. */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.scrapper.execution-mode", havingValue = "pool", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PooledLinkCheckExecutor implements LinkCheckExecutor {
+    static final String EXECUTOR_NAME = "linkCheckExecutor";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.scrapper.threads-count:4}")
+    private int threadsCount;
+
+    private ExecutorService executorService;
+
+    /** Пул публикует {@code executor.queued}/{@code executor.active}, по ним подбирается {@code threads-count}. */
+    @PostConstruct
+    public void initializeExecutor() {
+        this.executorService = ExecutorServiceMetrics.monitor(
+                meterRegistry, Executors.newFixedThreadPool(this.threadsCount), EXECUTOR_NAME);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    @Override
+    public void checkAll(List<LinkCheckView> links, Consumer<LinkCheckView> check) {
+        List<Future<?>> futures = new ArrayList<>();
+        Spliterator<LinkCheckView> spliterator = links.spliterator();
+
+        for (int i = 0; i < threadsCount; i++) {
+            Spliterator<LinkCheckView> chunkSpliterator =
+                    (i < threadsCount - 1) ? spliterator.trySplit() : spliterator;
+
+            if (chunkSpliterator == null) {
+                continue;
+            }
+
+            futures.add(executorService.submit(() -> {
+                StreamSupport.stream(chunkSpliterator, false).forEach(check);
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while processing link batch", e);
+                return;
+            } catch (ExecutionException e) {
+                log.error("Error in processing link batch", e);
+            }
+        }
+    }
+}
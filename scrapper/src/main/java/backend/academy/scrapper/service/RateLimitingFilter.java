@@ -1,6 +1,7 @@
 package backend.academy.scrapper.service;
 
 import backend.academy.scrapper.config.RateLimitingProperties;
+import backend.academy.scrapper.controller.GitHubWebhookController;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
@@ -46,6 +47,12 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         return Bucket.builder().addLimit(limit).build();
     }
 
+    /** Доставки GitHub webhook аутентифицируются подписью и приходят пачками с нескольких адресов GitHub. */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(GitHubWebhookController.PATH);
+    }
+
     private String extractClientIp(HttpServletRequest request) {
         String forwardedFor = request.getHeader("X-Forwarded-For");
         return (forwardedFor != null && !forwardedFor.isBlank())
@@ -5,6 +5,8 @@ import dto.Digest;
 import dto.DigestRecord;
 import dto.LinkUpdate;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import jakarta.annotation.PostConstruct;
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -27,9 +29,12 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class RedisScheduler {
+    private static final String DIGEST_EXECUTOR = "digestExecutor";
 
     private final RedisService redisService;
     private final NotificationClient notificationClient;
+    private final ScrapperMetrics metrics;
+    private final MeterRegistry meterRegistry;
 
     private ExecutorService executor;
 
@@ -38,7 +43,8 @@ public class RedisScheduler {
 
     @PostConstruct
     public void init() {
-        this.executor = Executors.newFixedThreadPool(threadsCount);
+        this.executor = ExecutorServiceMetrics.monitor(
+                meterRegistry, Executors.newFixedThreadPool(threadsCount), DIGEST_EXECUTOR);
     }
 
     @Scheduled(fixedDelayString = "${app.digest.scheduler-time}")
@@ -84,7 +90,7 @@ public class RedisScheduler {
             var digest = Digest.builder().tgId(entry.getKey()).updates(updates).build();
 
             try {
-                notificationClient.sendDigest(digest);
+                metrics.recordNotification("digest", () -> notificationClient.sendDigest(digest));
                 log.info("Sent digest to chat {} ", digest);
             } catch (Exception e) {
                 log.error("Failed to send digest to chat {}: {}", entry.getKey(), e.getMessage(), e);
@@ -1,20 +1,22 @@
 package backend.academy.scrapper.service;
 
-import backend.academy.scrapper.data.dto.UpdateInfo;
-import backend.academy.scrapper.data.model.Chat;
-import backend.academy.scrapper.data.model.Link;
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import backend.academy.scrapper.repository.link.LinkCheckView.Subscriber;
 import dto.DigestRecord;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -26,27 +28,35 @@ public class RedisService {
 
     private final RedisTemplate<String, DigestRecord> redisTemplate;
 
-    /** Сохраняет уведомление для всех указанных чатов в Redis в их время дайджеста. */
-    public void storeUpdate(Set<Chat> chats, Link link, UpdateInfo updateInfo) {
-        for (Chat chat : chats) {
-            LocalTime digestTime = chat.digestTime();
-            String key = getRedisKey(digestTime);
-            DigestRecord record = DigestRecord.builder()
-                    .url(link.url())
-                    .chatId(chat.tgId())
-                    .linkId(link.id())
-                    .message(updateInfo.getFormattedMessage())
-                    .build();
-
-            redisTemplate.opsForList().rightPush(key, record);
-            log.debug("Stored digest for time {} in key {}: {}", digestTime, key, record);
+    /**
+     * Сохраняет уведомление для подписчиков из цикла проверки в Redis в их время дайджеста, загруженное вместе со
+     * ссылкой.
+     */
+    public void storeUpdate(Collection<Subscriber> subscribers, LinkCheckView link, String message) {
+        for (Subscriber subscriber : subscribers) {
+            store(subscriber.digestTime(), subscriber.tgId(), link.id(), link.url(), message);
         }
     }
 
-    /** Извлекает все уведомления для текущего времени (hh:mm) и группирует их по chatId. */
+    /**
+     * Извлекает все уведомления для текущего времени (hh:mm) и группирует их по chatId. Записи забираются и удаляются
+     * одной транзакцией {@code MULTI/EXEC}, поэтому при нескольких экземплярах scrapper дайджест отправляет один.
+     */
     public Map<Long, List<DigestRecord>> consumeForTime(LocalTime now) {
         String key = getRedisKey(now);
-        List<DigestRecord> rawRecords = redisTemplate.opsForList().range(key, 0, -1);
+        List<Object> results = redisTemplate.execute(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) {
+                operations.multi();
+                operations.opsForList().range(key, 0, -1);
+                operations.delete(key);
+                return operations.exec();
+            }
+        });
+        @SuppressWarnings("unchecked")
+        List<DigestRecord> rawRecords =
+                results == null || results.isEmpty() ? null : (List<DigestRecord>) results.getFirst();
 
         if (rawRecords == null || rawRecords.isEmpty()) {
             return Collections.emptyMap();
@@ -64,6 +74,19 @@ public class RedisService {
         log.info("Cleared digest key for time {}: {}", now, key);
     }
 
+    private void store(LocalTime digestTime, Long tgId, UUID linkId, String url, String message) {
+        String key = getRedisKey(digestTime);
+        DigestRecord record = DigestRecord.builder()
+                .url(url)
+                .chatId(tgId)
+                .linkId(linkId)
+                .message(message)
+                .build();
+
+        redisTemplate.opsForList().rightPush(key, record);
+        log.debug("Stored digest for time {} in key {}: {}", digestTime, key, record);
+    }
+
     private String getRedisKey(LocalTime time) {
         return REDIS_KEY_PREFIX + time.format(TIME_FORMATTER);
     }
@@ -0,0 +1,77 @@
+package backend.academy.scrapper.service;
+
+import backend.academy.scrapper.data.dto.ResponseValidators;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Хранит в Redis {@code ETag}/{@code Last-Modified} последнего полного ответа для каждого upstream-ресурса вместе с
+ * датой самого нового события в нем. Недоступность Redis не ломает проверку ссылок: запрос просто уходит без условных
+ * заголовков.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResponseValidatorService {
+    private static final String REDIS_KEY_PREFIX = "validators:";
+    private static final String ETAG_FIELD = "etag";
+    private static final String LAST_MODIFIED_FIELD = "last-modified";
+    private static final String COVERED_UNTIL_FIELD = "covered-until";
+    private static final Duration VALIDATOR_TTL = Duration.ofDays(7);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public Optional<ResponseValidators> find(String uri) {
+        try {
+            Map<Object, Object> fields = redisTemplate.opsForHash().entries(getRedisKey(uri));
+            var validators = ResponseValidators.builder()
+                    .etag((String) fields.get(ETAG_FIELD))
+                    .lastModified((String) fields.get(LAST_MODIFIED_FIELD))
+                    .coveredUntil(Optional.ofNullable((String) fields.get(COVERED_UNTIL_FIELD))
+                            .map(LocalDateTime::parse)
+                            .orElse(null))
+                    .build();
+            return validators.isEmpty() ? Optional.empty() : Optional.of(validators);
+        } catch (DataAccessException | DateTimeParseException e) {
+            log.warn("Failed to read response validators for {}: {}", uri, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(String uri, ResponseValidators validators) {
+        if (validators.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, String> fields = new HashMap<>();
+            if (validators.etag() != null) {
+                fields.put(ETAG_FIELD, validators.etag());
+            }
+            if (validators.lastModified() != null) {
+                fields.put(LAST_MODIFIED_FIELD, validators.lastModified());
+            }
+            if (validators.coveredUntil() != null) {
+                fields.put(COVERED_UNTIL_FIELD, validators.coveredUntil().toString());
+            }
+            String key = getRedisKey(uri);
+            redisTemplate.delete(key);
+            redisTemplate.opsForHash().putAll(key, fields);
+            redisTemplate.expire(key, VALIDATOR_TTL);
+        } catch (DataAccessException e) {
+            log.warn("Failed to store response validators for {}: {}", uri, e.getMessage());
+        }
+    }
+
+    private String getRedisKey(String uri) {
+        return REDIS_KEY_PREFIX + uri;
+    }
+}
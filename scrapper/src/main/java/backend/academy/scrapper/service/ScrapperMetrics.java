@@ -0,0 +1,103 @@
+package backend.academy.scrapper.service;
+
+import backend.academy.scrapper.service.pipeline.PipelineStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Метрики цикла проверки ссылок. Задержки и коды ответов upstream пишутся автоматически в
+ * {@code http.client.requests} (тег {@code client.name} — хост провайдера), очереди пулов — в
+ * {@code executor.queued}, события retry/circuit breaker — в {@value #RESILIENCE_METRIC}.
+ */
+@Component
+public class ScrapperMetrics {
+    public static final String CYCLE_DURATION_METRIC = "scrapper.cycle.duration";
+    public static final String CYCLE_LINKS_METRIC = "scrapper.cycle.links";
+    public static final String UPDATES_DETECTED_METRIC = "scrapper.updates.detected";
+    public static final String FANOUT_METRIC = "scrapper.updates.fanout";
+    public static final String NOTIFICATION_SEND_METRIC = "scrapper.notification.send";
+    public static final String RESILIENCE_METRIC = "scrapper.upstream.resilience.events";
+
+    private static final String FETCH_STAGE = "fetch";
+
+    private final MeterRegistry meterRegistry;
+    private final String transport;
+    private final Timer cycleDuration;
+    private final DistributionSummary cycleLinks;
+    private final Timer fetchLatency;
+    private final Counter immediateFanOut;
+    private final Counter deferredFanOut;
+
+    public ScrapperMetrics(MeterRegistry meterRegistry, @Value("${app.message.transport:HTTP}") String transport) {
+        this.meterRegistry = meterRegistry;
+        this.transport = transport.toLowerCase(Locale.ROOT);
+        this.cycleDuration = Timer.builder(CYCLE_DURATION_METRIC)
+                .description("Duration of a full pass over due links")
+                .register(meterRegistry);
+        this.cycleLinks = DistributionSummary.builder(CYCLE_LINKS_METRIC)
+                .description("Links checked in a single pass")
+                .register(meterRegistry);
+        this.fetchLatency = Timer.builder(PipelineStage.LATENCY_METRIC)
+                .tag("stage", FETCH_STAGE)
+                .register(meterRegistry);
+        this.immediateFanOut = fanOutCounter("immediate");
+        this.deferredFanOut = fanOutCounter("deferred");
+    }
+
+    public Timer.Sample startCycle() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void cycleFinished(Timer.Sample sample, long links) {
+        sample.stop(cycleDuration);
+        cycleLinks.record(links);
+    }
+
+    /** Время загрузки и сравнения обновлений одной ссылки, стадия {@code fetch} конвейера. */
+    public Timer fetchLatency() {
+        return fetchLatency;
+    }
+
+    public void updatesDetected(String provider, int events) {
+        Counter.builder(UPDATES_DETECTED_METRIC)
+                .description("New upstream events found by the scrapper")
+                .tag("provider", provider)
+                .register(meterRegistry)
+                .increment(events);
+    }
+
+    /** Число чатов, получивших уведомление сразу и отложенных в дайджест. */
+    public void fanOut(int immediateChats, int deferredChats) {
+        immediateFanOut.increment(immediateChats);
+        deferredFanOut.increment(deferredChats);
+    }
+
+    /** Выполняет отправку в бот и записывает ее длительность с транспортом, видом сообщения и исходом. */
+    public void recordNotification(String kind, Runnable send) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            send.run();
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder(NOTIFICATION_SEND_METRIC)
+                    .description("Latency of sending notifications to the bot")
+                    .tag("transport", transport)
+                    .tag("kind", kind)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private Counter fanOutCounter(String mode) {
+        return Counter.builder(FANOUT_METRIC)
+                .description("Chats an update was delivered to")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+}
@@ -1,38 +1,33 @@
 package backend.academy.scrapper.service;
 
+import backend.academy.scrapper.client.BatchUpdateCheckingClient;
 import backend.academy.scrapper.client.KafkaDLQNotificationClient;
-import backend.academy.scrapper.client.NotificationClient;
 import backend.academy.scrapper.client.UpdateCheckingClient;
+import backend.academy.scrapper.config.ScrapperLeaseProperties;
 import backend.academy.scrapper.data.dto.UpdateInfo;
-import backend.academy.scrapper.data.model.Chat;
-import backend.academy.scrapper.data.model.Link;
-import backend.academy.scrapper.exception.BotServiceException;
-import backend.academy.scrapper.exception.BotServiceInternalErrorException;
-import backend.academy.scrapper.exception.ScrapperServicesApiException;
+import backend.academy.scrapper.repository.link.ClaimingLinkIterator;
+import backend.academy.scrapper.repository.link.KeysetLinkIterator;
+import backend.academy.scrapper.repository.link.LinkCheckResult;
+import backend.academy.scrapper.repository.link.LinkCheckView;
 import backend.academy.scrapper.repository.link.LinkRepository;
+import backend.academy.scrapper.service.pipeline.CheckResultWriter;
+import backend.academy.scrapper.service.pipeline.LinkUpdateDispatcher;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import dto.ErrorUpdate;
-import dto.LinkUpdate;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.Spliterator;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -42,152 +37,159 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class ScrapperService {
-
     @Value("${app.scrapper.page-size:1000}")
     private int pageSize;
 
-    @Value("${app.scrapper.threads-count:4}")
-    private int threadsCount;
-
     private final LinkRepository linkRepository;
-    private final LinkToApiRequestConverter converter;
     private final UpdateCheckingClient stackOverflowClient;
     private final UpdateCheckingClient gitHubClient;
-    private final NotificationClient restNotificationClient;
     private final KafkaDLQNotificationClient dlqClient;
-    private final RedisService redisService;
-
-    private ExecutorService executorService;
-
-    @PostConstruct
-    public void initializeExecutor() {
-        this.executorService = Executors.newFixedThreadPool(this.threadsCount);
-    }
-
+    private final CheckIntervalPolicy checkIntervalPolicy;
+    private final LinkCheckExecutor linkCheckExecutor;
+    private final ScrapperLeaseProperties leaseProperties;
+    private final LinkUpdateDispatcher updateDispatcher;
+    private final CheckResultWriter checkResultWriter;
+    private final ScrapperMetrics metrics;
+    private final UpdateFilterEngine filterEngine;
+
+    /** Идентификатор экземпляра, под которым захватываются ссылки при нескольких репликах scrapper. */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * Проход по ссылкам, срок проверки которых наступил. Стадии конвейера: {@code fetch} — загрузка и сравнение
+     * обновлений на {@link LinkCheckExecutor}, {@code delivery} — рассылка ({@link LinkUpdateDispatcher}),
+     * {@code persist} — запись расписания ({@link CheckResultWriter}). Стадии связаны ограниченными очередями и
+     * масштабируются независимо.
+     */
     @Scheduled(fixedDelayString = "${app.scrapper.scheduled-time:100000}")
     public void scrapper() {
         log.info("Scrapper scheduled started");
-        int pageNumber = 0;
-        Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        Iterable<Link> linksIterable;
-
-        do {
-            linksIterable = linkRepository.findAllWithChats(pageable);
-            List<Link> links =
-                    StreamSupport.stream(linksIterable.spliterator(), false).collect(Collectors.toList());
-            if (!links.isEmpty()) {
-                List<Future<?>> futures = processBatchInParallel(links);
-                for (Future<?> future : futures) {
-                    try {
-                        future.get();
-                    } catch (NullPointerException | InterruptedException | ExecutionException e) {
-                        log.error("Error in processing link batch", e);
-                    }
-                }
+        Timer.Sample cycle = metrics.startCycle();
+        long checkedLinks = 0;
+        LocalDateTime startedAt = LocalDateTime.now();
+        Iterator<List<LinkCheckView>> pages = leaseProperties.enabled()
+                ? new ClaimingLinkIterator(linkRepository, instanceId, pageSize, startedAt, leaseProperties.duration())
+                : new KeysetLinkIterator(linkRepository, pageSize, startedAt);
+
+        Timer fetchLatency = metrics.fetchLatency();
+        try {
+            while (pages.hasNext()) {
+                List<LinkCheckView> links = pages.next();
+                checkedLinks += links.size();
+                Map<String, List<UpdateInfo>> prefetched = prefetchBatchUpdates(links);
+                linkCheckExecutor.checkAll(links, link -> fetchLatency.record(() -> processLink(link, prefetched)));
             }
-            pageNumber++;
-            pageable = PageRequest.of(pageNumber, pageSize);
-        } while (linksIterable.iterator().hasNext());
-    }
-
-    private List<Future<?>> processBatchInParallel(Iterable<Link> links) {
-        List<Future<?>> futures = new ArrayList<>();
-        Spliterator<Link> spliterator = links.spliterator();
-
-        for (int i = 0; i < threadsCount; i++) {
-            Spliterator<Link> chunkSpliterator = (i < threadsCount - 1) ? spliterator.trySplit() : spliterator;
-
-            if (chunkSpliterator == null) {
-                continue;
+            checkResultWriter.awaitPersisted();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for check results to be saved");
+        } finally {
+            // захват продлевается, пока результаты прохода не сохранены
+            if (pages instanceof ClaimingLinkIterator claiming) {
+                claiming.close();
             }
-
-            futures.add(executorService.submit(() -> {
-                StreamSupport.stream(chunkSpliterator, false).forEach(this::processLink);
-            }));
         }
+        metrics.cycleFinished(cycle, checkedLinks);
+    }
 
-        return futures;
+    /** Пакетные клиенты проверяют свои ссылки страницы заранее, остальные ссылки проверяются по одной. */
+    private Map<String, List<UpdateInfo>> prefetchBatchUpdates(List<LinkCheckView> links) {
+        Map<String, List<UpdateInfo>> prefetched = new HashMap<>();
+        prefetched.putAll(prefetchBatchUpdates(gitHubClient, links, LinkCheckView.GITHUB));
+        prefetched.putAll(prefetchBatchUpdates(stackOverflowClient, links, LinkCheckView.STACKOVERFLOW));
+        return prefetched;
     }
 
-    private void processLink(Link link) {
-        Optional<UpdateInfo> updateInfoOpt = fetchUpdateInfo(link);
-        if (updateInfoOpt.isEmpty()) {
-            return;
+    private Map<String, List<UpdateInfo>> prefetchBatchUpdates(
+            UpdateCheckingClient client, List<LinkCheckView> links, String provider) {
+        if (!(client instanceof BatchUpdateCheckingClient batchClient)) {
+            return Map.of();
         }
+        Map<String, LocalDateTime> lastUpdates = new HashMap<>();
+        links.stream()
+                .filter(link -> provider.equals(link.provider()))
+                .forEach(link -> lastUpdates.put(link.url(), link.lastUpdate()));
+        return lastUpdates.isEmpty() ? Map.of() : batchClient.checkUpdates(lastUpdates);
+    }
 
-        UpdateInfo updateInfo = updateInfoOpt.orElseThrow(
-                () -> new IllegalStateException("UpdateInfo was expected to be present, but was empty."));
-        if (link.lastUpdate() != null && !updateInfo.date().isAfter(link.lastUpdate())) {
-            return;
+    private void processLink(LinkCheckView link, Map<String, List<UpdateInfo>> prefetched) {
+        Optional<LocalDateTime> lastUpdate = Optional.empty();
+        try {
+            lastUpdate = checkLink(link, prefetched);
+        } finally {
+            checkResultWriter.submit(toCheckResult(link, lastUpdate));
         }
+    }
 
-        log.info("Link {} updated at {}", link.url(), updateInfo.date());
-        link.lastUpdate(updateInfo.date());
-        linkRepository.save(link);
+    private Optional<LocalDateTime> checkLink(LinkCheckView link, Map<String, List<UpdateInfo>> prefetched) {
+        List<UpdateInfo> updates =
+                prefetched.containsKey(link.url()) ? prefetched.get(link.url()) : fetchUpdates(link);
+        return publishUpdates(link, updates);
+    }
 
-        Map<Boolean, Set<Chat>> partitionedChats = partitionChats(link, updateInfo);
-        Set<Chat> immediateChats = partitionedChats.get(true);
-        Set<Chat> deferredChats = partitionedChats.get(false);
+    /**
+     * Рассылает обновление подписчикам ссылки: фильтры, немедленная отправка или дайджест. Обновление не новее
+     * {@code lastUpdate} ссылки игнорируется. Возвращает новый {@code lastUpdate}, если обновление было разослано.
+     */
+    public Optional<LocalDateTime> publishUpdate(LinkCheckView link, UpdateInfo updateInfo) {
+        return publishUpdates(link, List.of(updateInfo));
+    }
 
-        if (!immediateChats.isEmpty()) {
-            sendToBotService(link, updateInfo, immediateChats);
+    /**
+     * Рассылает все события новее {@code lastUpdate} ссылки одним сводным уведомлением за проход. Фильтры чатов
+     * применяются к каждому событию: чаты с одинаковым набором видимых событий получают общее уведомление, чат без
+     * видимых событий не получает ничего. Возвращает дату самого нового события — новый {@code lastUpdate} ссылки.
+     */
+    public Optional<LocalDateTime> publishUpdates(LinkCheckView link, List<UpdateInfo> updates) {
+        List<UpdateInfo> fresh = updates.stream()
+                .filter(update -> link.lastUpdate() == null || update.date().isAfter(link.lastUpdate()))
+                .sorted(Comparator.comparing(UpdateInfo::date))
+                .toList();
+        if (fresh.isEmpty()) {
+            return Optional.empty();
         }
 
-        if (!deferredChats.isEmpty()) {
-            redisService.storeUpdate(deferredChats, link, updateInfo);
-        }
-    }
+        LocalDateTime lastUpdate = fresh.getLast().date();
+        log.info("Link {} has {} new events up to {}", link.url(), fresh.size(), lastUpdate);
+        metrics.updatesDetected(link.provider(), fresh.size());
 
-    private Optional<UpdateInfo> fetchUpdateInfo(Link link) {
-        try {
-            if (converter.isGithubUrl(link.url())) {
-                return gitHubClient.checkUpdates(link.url());
-            } else if (converter.isStackOverflowUrl(link.url())) {
-                return stackOverflowClient.checkUpdates(link.url());
-            }
-        } catch (ScrapperServicesApiException | JsonProcessingException e) {
-            log.error("Error accessing external API for link: {}", link.url(), e);
-            sendError(link, e);
-        }
-        return Optional.empty();
+        filterEngine.partition(link.subscribers(), fresh).forEach((events, partitioned) -> {
+            metrics.fanOut(partitioned.get(true).size(), partitioned.get(false).size());
+            updateDispatcher.dispatch(
+                    link, UpdateInfo.formatAggregated(events), partitioned.get(true), partitioned.get(false));
+        });
+        return Optional.of(lastUpdate);
     }
 
-    private Map<Boolean, Set<Chat>> partitionChats(Link link, UpdateInfo updateInfo) {
-        return link.chats().stream()
-                .filter(chat -> chat.filters().stream()
-                        .noneMatch(filter -> "user".equalsIgnoreCase(filter.parameter())
-                                && updateInfo.username().equalsIgnoreCase(filter.value())))
-                .collect(Collectors.partitioningBy(chat -> chat.digestTime() == null, Collectors.toSet()));
+    private LinkCheckResult toCheckResult(LinkCheckView link, Optional<LocalDateTime> lastUpdate) {
+        Duration interval = checkIntervalPolicy.nextInterval(link.checkInterval(), lastUpdate.isPresent());
+        log.debug("Link {} next check in {}", link.url(), interval);
+        return new LinkCheckResult(
+                link.id(), lastUpdate.orElse(null), LocalDateTime.now().plus(interval), interval.toSeconds());
     }
 
-    private void sendToBotService(Link link, UpdateInfo updateInfo, Set<Chat> chats) {
-        link.chats(chats);
+    private List<UpdateInfo> fetchUpdates(LinkCheckView link) {
         try {
-            sendNotification(link, updateInfo.getFormattedMessage());
-        } catch (BotServiceInternalErrorException e) {
-            log.error("Bot service returned INTERNAL_SERVER_ERROR for link: {}", link.url(), e);
-        } catch (BotServiceException e) {
-            log.error("Failed to send notification for link: {}", link.url(), e);
+            return switch (link.provider()) {
+                case LinkCheckView.GITHUB -> gitHubClient.checkUpdates(link.url(), link.lastUpdate());
+                case LinkCheckView.STACKOVERFLOW -> stackOverflowClient.checkUpdates(link.url(), link.lastUpdate());
+                default -> List.of();
+            };
+        } catch (RuntimeException | JsonProcessingException e) {
+            // ошибки клиентов API и разбора адреса в конвертере тоже уходят в DLQ, а не в пул проверки
+            log.error("Error accessing external API for link: {}", link.url(), e);
+            sendError(link, e);
         }
+        return List.of();
     }
 
-    private void sendNotification(Link link, String message) {
-        var update = LinkUpdate.builder()
-                .id(link.id())
-                .url(link.url())
-                .message(message)
-                .tgChatIds(link.chats().stream().map(Chat::tgId).collect(Collectors.toSet()))
-                .build();
-        restNotificationClient.sendLinkUpdate(update);
-    }
-
-    private void sendError(Link link, Exception e) {
+    private void sendError(LinkCheckView link, Exception e) {
         var message = ErrorUpdate.builder()
                 .id(link.id())
                 .url(link.url())
                 .timestamp(LocalDateTime.now())
                 .error(e.getMessage())
-                .tgChatIds(link.chats().stream().map(Chat::tgId).collect(Collectors.toSet()))
+                .tgChatIds(link.tgChatIds())
                 .build();
 
         dlqClient.send(message);
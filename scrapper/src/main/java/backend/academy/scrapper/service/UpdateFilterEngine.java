@@ -0,0 +1,149 @@
+package backend.academy.scrapper.service;
+
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.repository.link.LinkCheckView.FilterRule;
+import backend.academy.scrapper.repository.link.LinkCheckView.Subscriber;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Фильтрация событий по фильтрам подписчиков. Набор строк {@link FilterRule} компилируется в предикат один раз и
+ * переиспользуется всеми чатами с тем же набором; в пределах одного обновления предикат вычисляется один раз на
+ * отличающийся набор фильтров, а не на каждого подписчика.
+ *
+ * <p>Параметры: {@code user} исключает события автора, {@code type} оставляет только события указанных типов,
+ * {@code title} (или {@code keyword}) оставляет только события, в названии которых есть слово. Фильтры одного
+ * параметра объединяются через «или», разных — через «и». Прочие параметры на события не влияют.
+ */
+@Component
+public class UpdateFilterEngine {
+    static final String USER = "user";
+    static final String TYPE = "type";
+    static final String TITLE = "title";
+    static final String KEYWORD = "keyword";
+    /** Защита от неограниченного роста кэша при большом разнообразии фильтров: кэш просто сбрасывается. */
+    static final int MAX_COMPILED_FILTERS = 10_000;
+
+    private final Map<Set<FilterRule>, CompiledFilter> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * Группирует подписчиков по набору видимых им событий и внутри группы делит на получающих сразу ({@code true}) и
+     * через дайджест ({@code false}). Подписчики без видимых событий в результат не попадают.
+     */
+    public Map<List<UpdateInfo>, Map<Boolean, Set<Subscriber>>> partition(
+            Collection<Subscriber> subscribers, List<UpdateInfo> events) {
+        List<EventFields> fields = events.stream().map(EventFields::of).toList();
+        Map<Set<FilterRule>, List<UpdateInfo>> visibleByRules = new IdentityHashMap<>();
+        Map<CompiledFilter, List<UpdateInfo>> visibleByFilter = new HashMap<>();
+        Map<List<UpdateInfo>, List<UpdateInfo>> canonicalVisible = new HashMap<>();
+        Map<List<UpdateInfo>, Map<Boolean, Set<Subscriber>>> partitioned = new IdentityHashMap<>();
+
+        for (Subscriber subscriber : subscribers) {
+            List<UpdateInfo> visible = visibleByRules.computeIfAbsent(
+                    subscriber.filters(),
+                    rules -> visibleByFilter.computeIfAbsent(
+                            compile(rules),
+                            filter -> canonicalVisible.computeIfAbsent(
+                                    filter.visible(events, fields), list -> list)));
+            if (visible.isEmpty()) {
+                continue;
+            }
+            partitioned
+                    .computeIfAbsent(visible, list -> Map.of(true, new HashSet<>(), false, new HashSet<>()))
+                    .get(subscriber.digestTime() == null)
+                    .add(subscriber);
+        }
+        return new HashMap<>(partitioned);
+    }
+
+    /** Предикат для набора фильтров, одинаковые наборы получают один и тот же экземпляр. */
+    CompiledFilter compile(Set<FilterRule> rules) {
+        if (rules.isEmpty()) {
+            return CompiledFilter.ACCEPT_ALL;
+        }
+        CompiledFilter filter = compiled.get(rules);
+        if (filter != null) {
+            return filter;
+        }
+        if (compiled.size() >= MAX_COMPILED_FILTERS) {
+            compiled.clear();
+        }
+        return compiled.computeIfAbsent(Set.copyOf(rules), CompiledFilter::of);
+    }
+
+    /** Поля события, приведенные к нижнему регистру один раз на обновление. */
+    record EventFields(String user, String type, String title) {
+
+        static EventFields of(UpdateInfo update) {
+            return new EventFields(lower(update.username()), lower(update.type()), lower(update.title()));
+        }
+
+        private static String lower(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** Скомпилированный набор фильтров. Пустые множества означают отсутствие ограничения. */
+    record CompiledFilter(Set<String> excludedUsers, Set<String> types, List<String> keywords)
+            implements Predicate<EventFields> {
+        static final CompiledFilter ACCEPT_ALL = new CompiledFilter(Set.of(), Set.of(), List.of());
+
+        static CompiledFilter of(Set<FilterRule> rules) {
+            Set<String> excludedUsers = new HashSet<>();
+            Set<String> types = new HashSet<>();
+            Set<String> keywords = new HashSet<>();
+            for (FilterRule rule : rules) {
+                if (rule.parameter() == null || rule.value() == null) {
+                    continue;
+                }
+                String value = rule.value().toLowerCase(Locale.ROOT);
+                switch (rule.parameter().toLowerCase(Locale.ROOT)) {
+                    case USER -> excludedUsers.add(value);
+                    case TYPE -> types.add(value);
+                    case TITLE, KEYWORD -> keywords.add(value);
+                    default -> {}
+                }
+            }
+            if (excludedUsers.isEmpty() && types.isEmpty() && keywords.isEmpty()) {
+                return ACCEPT_ALL;
+            }
+            return new CompiledFilter(Set.copyOf(excludedUsers), Set.copyOf(types), List.copyOf(keywords));
+        }
+
+        @Override
+        public boolean test(EventFields event) {
+            if (event.user() != null && excludedUsers.contains(event.user())) {
+                return false;
+            }
+            if (!types.isEmpty() && (event.type() == null || !types.contains(event.type()))) {
+                return false;
+            }
+            return keywords.isEmpty()
+                    || event.title() != null && keywords.stream().anyMatch(event.title()::contains);
+        }
+
+        /** Видимые события; если фильтр ничего не отсеял, возвращается исходный список. */
+        List<UpdateInfo> visible(List<UpdateInfo> events, List<EventFields> fields) {
+            if (this == ACCEPT_ALL) {
+                return events;
+            }
+            List<UpdateInfo> visible = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                if (test(fields.get(i))) {
+                    visible.add(events.get(i));
+                }
+            }
+            return visible.size() == events.size() ? events : List.copyOf(visible);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package backend.academy.scrapper.service;
+
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Каждая проверка выполняется в отдельном виртуальном потоке. Число одновременных запросов к провайдеру ограничено
+ * семафором, а не размером пула, поэтому ожидание ответа upstream не занимает платформенные потоки.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.scrapper.execution-mode", havingValue = "virtual")
+public class VirtualThreadLinkCheckExecutor implements LinkCheckExecutor {
+    static final String PERMITS_WAITING_METRIC = "scrapper.check.permits.waiting";
+
+    private final LinkToApiRequestConverter converter;
+    private final Semaphore githubPermits;
+    private final Semaphore stackOverflowPermits;
+    private final ExecutorService executorService;
+
+    public VirtualThreadLinkCheckExecutor(
+            LinkToApiRequestConverter converter,
+            @Value("${app.scrapper.virtual.github-permits:64}") int githubPermits,
+            @Value("${app.scrapper.virtual.stackoverflow-permits:16}") int stackOverflowPermits,
+            MeterRegistry meterRegistry) {
+        this.converter = converter;
+        this.githubPermits = new Semaphore(githubPermits, true);
+        this.stackOverflowPermits = new Semaphore(stackOverflowPermits, true);
+        registerWaitingGauge(meterRegistry, "github", this.githubPermits);
+        registerWaitingGauge(meterRegistry, "stackoverflow", this.stackOverflowPermits);
+        this.executorService = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("link-check-", 0).factory());
+    }
+
+    @Override
+    public void checkAll(List<LinkCheckView> links, Consumer<LinkCheckView> check) {
+        List<Future<?>> futures = new ArrayList<>(links.size());
+        for (LinkCheckView link : links) {
+            futures.add(executorService.submit(() -> checkWithPermit(link, check)));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                log.error("Interrupted while processing link batch", e);
+                return;
+            } catch (ExecutionException e) {
+                log.error("Error in processing link", e.getCause());
+            }
+        }
+    }
+
+    private void checkWithPermit(LinkCheckView link, Consumer<LinkCheckView> check) {
+        Semaphore permits = permitsFor(link);
+        if (permits == null) {
+            check.accept(link);
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            check.accept(link);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Очередь проверок, ждущих разрешения провайдера, — аналог глубины очереди пула для подбора permits. */
+    private static void registerWaitingGauge(MeterRegistry meterRegistry, String provider, Semaphore permits) {
+        Gauge.builder(PERMITS_WAITING_METRIC, permits, Semaphore::getQueueLength)
+                .description("Link checks waiting for a provider permit")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    private Semaphore permitsFor(LinkCheckView link) {
+        if (converter.isGithubUrl(link.url())) {
+            return githubPermits;
+        } else if (converter.isStackOverflowUrl(link.url())) {
+            return stackOverflowPermits;
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package backend.academy.scrapper.service.pipeline;
+
+import backend.academy.scrapper.config.ScrapperPipelineProperties;
+import backend.academy.scrapper.repository.link.LinkCheckResult;
+import backend.academy.scrapper.repository.link.LinkRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Стадия {@code persist}: результаты проверок копятся в очереди и записываются пачками до {@code batch-size} строк
+ * одним вызовом {@link LinkRepository#saveCheckResults}, независимо от границ страниц.
+ */
+@Slf4j
+@Component
+public class CheckResultWriter {
+    static final String STAGE = "persist";
+
+    private final LinkRepository linkRepository;
+    private final PipelineStage<LinkCheckResult> stage;
+
+    public CheckResultWriter(
+            LinkRepository linkRepository, ScrapperPipelineProperties properties, MeterRegistry meterRegistry) {
+        this.linkRepository = linkRepository;
+        var persist = properties.persist();
+        this.stage = new PipelineStage<>(
+                STAGE, persist.parallelism(), persist.capacity(), persist.batchSize(), this::save, meterRegistry);
+    }
+
+    public void submit(LinkCheckResult result) {
+        stage.submit(result);
+    }
+
+    /** Ждет записи всех отправленных результатов, чтобы следующий проход не выбрал уже проверенные ссылки. */
+    public void awaitPersisted() throws InterruptedException {
+        stage.awaitIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stage.close();
+    }
+
+    private void save(List<LinkCheckResult> results) {
+        try {
+            linkRepository.saveCheckResults(results);
+        } catch (DataAccessException e) {
+            log.error("Failed to save check results for {} links", results.size(), e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package backend.academy.scrapper.service.pipeline;
+
+import backend.academy.scrapper.client.NotificationClient;
+import backend.academy.scrapper.config.ScrapperPipelineProperties;
+import backend.academy.scrapper.exception.BotServiceException;
+import backend.academy.scrapper.exception.BotServiceInternalErrorException;
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import backend.academy.scrapper.repository.link.LinkCheckView.Subscriber;
+import backend.academy.scrapper.service.RedisService;
+import backend.academy.scrapper.service.ScrapperMetrics;
+import dto.LinkUpdate;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Стадия {@code delivery}: немедленная отправка уведомлений в бот и запись отложенных в дайджест. Медленный бот
+ * больше не занимает поток загрузки обновлений, пока очередь стадии не заполнена.
+ */
+@Slf4j
+@Component
+public class LinkUpdateDispatcher {
+    static final String STAGE = "delivery";
+
+    private final NotificationClient restNotificationClient;
+    private final RedisService redisService;
+    private final ScrapperMetrics metrics;
+    private final PipelineStage<LinkDelivery> stage;
+
+    public LinkUpdateDispatcher(
+            NotificationClient restNotificationClient,
+            RedisService redisService,
+            ScrapperPipelineProperties properties,
+            ScrapperMetrics metrics,
+            MeterRegistry meterRegistry) {
+        this.restNotificationClient = restNotificationClient;
+        this.redisService = redisService;
+        this.metrics = metrics;
+        var delivery = properties.delivery();
+        this.stage = new PipelineStage<>(
+                STAGE,
+                delivery.parallelism(),
+                delivery.capacity(),
+                delivery.batchSize(),
+                deliveries -> deliveries.forEach(this::deliver),
+                meterRegistry);
+    }
+
+    /** Ставит уведомление в очередь отправки: {@code immediateChats} сразу, {@code deferredChats} в дайджест. */
+    public void dispatch(
+            LinkCheckView link, String message, Set<Subscriber> immediateChats, Set<Subscriber> deferredChats) {
+        stage.submit(new LinkDelivery(link, message, immediateChats, deferredChats));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stage.close();
+    }
+
+    private void deliver(LinkDelivery delivery) {
+        if (!delivery.immediateChats().isEmpty()) {
+            sendToBotService(delivery);
+        }
+        if (!delivery.deferredChats().isEmpty()) {
+            redisService.storeUpdate(delivery.deferredChats(), delivery.link(), delivery.message());
+        }
+    }
+
+    private void sendToBotService(LinkDelivery delivery) {
+        var update = LinkUpdate.builder()
+                .id(delivery.link().id())
+                .url(delivery.link().url())
+                .message(delivery.message())
+                .tgChatIds(delivery.immediateChats().stream().map(Subscriber::tgId).collect(Collectors.toSet()))
+                .build();
+        try {
+            metrics.recordNotification("update", () -> restNotificationClient.sendLinkUpdate(update));
+        } catch (BotServiceInternalErrorException e) {
+            log.error("Bot service returned INTERNAL_SERVER_ERROR for link: {}", delivery.link().url(), e);
+        } catch (BotServiceException e) {
+            log.error("Failed to send notification for link: {}", delivery.link().url(), e);
+        }
+    }
+
+    private record LinkDelivery(
+            LinkCheckView link, String message, Set<Subscriber> immediateChats, Set<Subscriber> deferredChats) {}
+}
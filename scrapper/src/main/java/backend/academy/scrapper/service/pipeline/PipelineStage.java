@@ -0,0 +1,139 @@
+package backend.academy.scrapper.service.pipeline;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Стадия конвейера проверки ссылок: ограниченная очередь и {@code parallelism} рабочих виртуальных потоков, каждый из
+ * которых забирает из очереди до {@code batchSize} элементов за раз. Заполненная очередь блокирует
+ * {@link #submit(Object)}, то есть медленная стадия притормаживает предыдущую, а не копит элементы в памяти.
+ *
+ * <p>Метрики с тегом {@code stage}: глубина очереди {@value #QUEUE_SIZE_METRIC}, время ожидания в очереди
+ * {@value #QUEUE_WAIT_METRIC} и время обработки пачки {@value #LATENCY_METRIC}.
+ */
+@Slf4j
+public class PipelineStage<T> implements AutoCloseable {
+    public static final String QUEUE_SIZE_METRIC = "scrapper.pipeline.queue.size";
+    public static final String QUEUE_WAIT_METRIC = "scrapper.pipeline.queue.wait";
+    public static final String LATENCY_METRIC = "scrapper.pipeline.stage.latency";
+
+    private final String name;
+    private final int batchSize;
+    private final Consumer<List<T>> handler;
+    private final BlockingQueue<Queued<T>> queue;
+    private final ExecutorService workers;
+    private final Timer queueWait;
+    private final Timer latency;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object idle = new Object();
+
+    public PipelineStage(
+            String name,
+            int parallelism,
+            int capacity,
+            int batchSize,
+            Consumer<List<T>> handler,
+            MeterRegistry meterRegistry) {
+        if (parallelism <= 0 || capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Stage " + name + " sizes must be positive: parallelism="
+                    + parallelism + ", capacity=" + capacity + ", batchSize=" + batchSize);
+        }
+        this.name = name;
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.queueWait = stageTimer(QUEUE_WAIT_METRIC, name, meterRegistry);
+        this.latency = stageTimer(LATENCY_METRIC, name, meterRegistry);
+        Gauge.builder(QUEUE_SIZE_METRIC, queue, BlockingQueue::size)
+                .tag("stage", name)
+                .register(meterRegistry);
+
+        this.workers = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("pipeline-" + name + "-", 0).factory());
+        for (int i = 0; i < parallelism; i++) {
+            workers.execute(this::runWorker);
+        }
+    }
+
+    /** Ставит элемент в очередь стадии, при заполненной очереди ждет освобождения места. */
+    public void submit(T item) {
+        pending.incrementAndGet();
+        try {
+            queue.put(new Queued<>(item, System.nanoTime()));
+        } catch (InterruptedException e) {
+            release(1);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while submitting to pipeline stage " + name, e);
+        }
+    }
+
+    /** Ждет, пока все отправленные в стадию элементы будут обработаны. */
+    public void awaitIdle() throws InterruptedException {
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                idle.wait();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private void runWorker() {
+        List<Queued<T>> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<Queued<T>> batch) {
+        long startedAt = System.nanoTime();
+        List<T> items = new ArrayList<>(batch.size());
+        for (Queued<T> queued : batch) {
+            queueWait.record(startedAt - queued.enqueuedAt(), TimeUnit.NANOSECONDS);
+            items.add(queued.item());
+        }
+        try {
+            handler.accept(items);
+        } catch (RuntimeException e) {
+            log.error("Pipeline stage {} failed to process {} items", name, items.size(), e);
+        } finally {
+            latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            release(items.size());
+        }
+    }
+
+    private void release(int count) {
+        if (pending.addAndGet(-count) == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+
+    private static Timer stageTimer(String metric, String stage, MeterRegistry meterRegistry) {
+        return Timer.builder(metric).tag("stage", stage).register(meterRegistry);
+    }
+
+    private record Queued<T>(T item, long enqueuedAt) {}
+}
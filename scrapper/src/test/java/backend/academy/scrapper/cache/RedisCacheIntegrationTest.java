@@ -2,12 +2,10 @@ package backend.academy.scrapper.cache;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
-import backend.academy.scrapper.data.dto.UpdateInfo;
-import backend.academy.scrapper.data.model.Chat;
-import backend.academy.scrapper.data.model.Link;
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import backend.academy.scrapper.repository.link.LinkCheckView.Subscriber;
 import backend.academy.scrapper.service.RedisService;
 import dto.DigestRecord;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
@@ -98,7 +96,9 @@ public class RedisCacheIntegrationTest {
 
         // Act
         redisService.storeUpdate(
-                Set.of(mockChat(1001L)), mockLink(record.url(), record.linkId()), mockUpdate(record.message()));
+                List.of(new Subscriber(record.chatId(), testTime, Set.of())),
+                checkView(record.url(), record.linkId()),
+                record.message());
 
         // Assert
         List<DigestRecord> results = redisTemplate.opsForList().range(expectedKey, 0, -1);
@@ -108,6 +108,7 @@ public class RedisCacheIntegrationTest {
         assertThat(actualDigest.chatId()).isEqualTo(record.chatId());
         assertThat(actualDigest.url()).isEqualTo(record.url());
         assertThat(actualDigest.linkId()).isEqualTo(record.linkId());
+        assertThat(actualDigest.message()).isEqualTo(record.message());
     }
 
     @Test
@@ -143,6 +144,28 @@ public class RedisCacheIntegrationTest {
         assertThat(result.get(2L)).hasSize(1);
     }
 
+    @Test
+    void shouldConsumeDigestOnlyOnce() {
+        // Arrange
+        DigestRecord record = DigestRecord.builder()
+                .chatId(300L)
+                .url("url")
+                .message("msg")
+                .linkId(UUID.randomUUID())
+                .build();
+
+        redisTemplate.opsForList().rightPush(expectedKey, record);
+
+        // Act
+        Map<Long, List<DigestRecord>> first = redisService.consumeForTime(testTime);
+        Map<Long, List<DigestRecord>> second = redisService.consumeForTime(testTime);
+
+        // Assert
+        assertThat(first).containsOnlyKeys(300L);
+        assertThat(second).isEmpty();
+        assertThat(redisTemplate.hasKey(expectedKey)).isFalse();
+    }
+
     @Test
     void shouldClearDigestKey() {
         // Arrange
@@ -163,21 +186,7 @@ public class RedisCacheIntegrationTest {
         assertThat(results).isEmpty();
     }
 
-    private Chat mockChat(Long tgId) {
-        return Chat.builder().tgId(tgId).digestTime(testTime).build();
-    }
-
-    private Link mockLink(String url, UUID id) {
-        return Link.builder().id(id).url(url).build();
-    }
-
-    private UpdateInfo mockUpdate(String msg) {
-        return UpdateInfo.builder()
-                .title("Mock title")
-                .username("mockUser")
-                .type("issue")
-                .preview("mock preview")
-                .date(LocalDateTime.now())
-                .build();
+    private LinkCheckView checkView(String url, UUID id) {
+        return new LinkCheckView(id, url, null, null, null, LinkCheckView.GITHUB, List.of());
     }
 }
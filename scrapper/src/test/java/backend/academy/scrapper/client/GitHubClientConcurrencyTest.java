@@ -0,0 +1,107 @@
+package backend.academy.scrapper.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import backend.academy.scrapper.config.GitHubConfig;
+import backend.academy.scrapper.config.StackOverflowConfig;
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.service.LinkToApiRequestConverter;
+import backend.academy.scrapper.service.ResponseValidatorService;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+class GitHubClientConcurrencyTest {
+    private static final String REPO_PATH = "/repos/aigunov/java-shareit";
+    private static final String REPO_URL = "https://github.com/aigunov/java-shareit";
+    private static final int UPSTREAM_DELAY_MS = 1500;
+
+    private WireMockServer wireMockServer;
+    private ExecutorService upstreamExecutor;
+    private GitHubClient gitHubClient;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        wireMockServer.start();
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+        var converter = new LinkToApiRequestConverter(
+                new GitHubConfig("test-token", wireMockServer.baseUrl() + "/repos"),
+                new StackOverflowConfig("fake-key", "fake-access", "https://api.stackexchange.com/2.3/questions"));
+        var rateGovernor = new UpstreamRateGovernor("github-test", Duration.ZERO, 1, Clock.systemUTC());
+        gitHubClient = new GitHubClient(
+                RestClient.create(),
+                converter,
+                mock(ResponseValidatorService.class),
+                rateGovernor,
+                CircuitBreaker.ofDefaults("github-test"),
+                Retry.of("github-test", RetryConfig.custom().maxAttempts(1).build()),
+                TimeLimiter.of(TimeLimiterConfig.custom()
+                        .timeoutDuration(Duration.ofSeconds(5))
+                        .cancelRunningFuture(true)
+                        .build()),
+                upstreamExecutor,
+                new GitHubTokenPool(List.of("test-token"), rateGovernor, Clock.systemUTC()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstreamExecutor.shutdownNow();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void checkUpdates_shouldFetchIssuesAndPullRequestsInParallel() throws Exception {
+        stubDelayed("/issues?state=all", "[]");
+        stubDelayed("/pulls?state=all", "[]");
+
+        long start = System.nanoTime();
+        Optional<UpdateInfo> result = gitHubClient.checkUpdates(REPO_URL);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(result).isEmpty();
+        assertThat(elapsed).isLessThan(Duration.ofMillis(UPSTREAM_DELAY_MS * 2L));
+    }
+
+    @Test
+    void checkUpdates_shouldAbortSiblingRequestWhenOneFails() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo(REPO_PATH + "/issues?state=all"))
+                .willReturn(aResponse().withStatus(404)));
+        stubDelayed("/pulls?state=all", "[]");
+
+        long start = System.nanoTime();
+        Optional<UpdateInfo> result = gitHubClient.checkUpdates(REPO_URL);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(result).isEmpty();
+        assertThat(elapsed).isLessThan(Duration.ofMillis(UPSTREAM_DELAY_MS));
+    }
+
+    private void stubDelayed(String path, String body) {
+        wireMockServer.stubFor(get(urlEqualTo(REPO_PATH + path))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(UPSTREAM_DELAY_MS)
+                        .withBody(body)));
+    }
+}
@@ -2,17 +2,24 @@ package backend.academy.scrapper.client;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import backend.academy.scrapper.config.GitHubConfig;
+import backend.academy.scrapper.data.dto.ResponseValidators;
 import backend.academy.scrapper.data.dto.UpdateInfo;
 import backend.academy.scrapper.service.LinkToApiRequestConverter;
+import backend.academy.scrapper.service.ResponseValidatorService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +51,9 @@ class GitHubClientTest {
     @MockitoBean
     private LinkToApiRequestConverter converterApi;
 
+    @MockitoBean
+    private ResponseValidatorService validatorService;
+
     private WireMockServer wireMockServer;
 
     @DynamicPropertySource
@@ -135,4 +145,76 @@ class GitHubClientTest {
         assertThat(updateInfo.type()).isEqualTo("pull-request");
         assertThat(updateInfo.preview()).isEqualTo("Pull request body");
     }
+
+    @Test
+    void checkUpdates_ShouldSendValidatorsAndReturnEmpty_WhenNotModified() throws JsonProcessingException {
+        String repoPath = "/aigunov/java-shareit";
+        String fullUrl = "https://github.com/aigunov/java-shareit";
+        String apiUrl = "http://localhost:8089/repos" + repoPath;
+        var validators = ResponseValidators.builder()
+                .etag("\"abc123\"")
+                .lastModified("Tue, 02 Apr 2024 12:00:00 GMT")
+                .build();
+
+        when(converterApi.convertGithubUrlToApi(fullUrl)).thenReturn(apiUrl);
+        when(converterApi.isGithubUrl(anyString())).thenReturn(true);
+        when(validatorService.find(anyString())).thenReturn(Optional.of(validators));
+
+        stubFor(get(urlEqualTo("/repos" + repoPath + "/issues?state=all"))
+                .withHeader("If-None-Match", equalTo("\"abc123\""))
+                .withHeader("If-Modified-Since", equalTo("Tue, 02 Apr 2024 12:00:00 GMT"))
+                .willReturn(aResponse().withStatus(304)));
+
+        stubFor(get(urlEqualTo("/repos" + repoPath + "/pulls?state=all"))
+                .withHeader("If-None-Match", equalTo("\"abc123\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        Optional<UpdateInfo> updateInfoOpt = gitHubClient.checkUpdates(fullUrl);
+
+        assertThat(updateInfoOpt).isEmpty();
+        verify(validatorService, never()).save(eq(apiUrl + "/issues?state=all"), any());
+    }
+
+    @Test
+    void checkUpdates_ShouldSkipValidators_WhenLinkDidNotReachTheirEvents() throws JsonProcessingException {
+        String repoPath = "/aigunov/java-shareit";
+        String fullUrl = "https://github.com/aigunov/java-shareit";
+        String apiUrl = "http://localhost:8089/repos" + repoPath;
+        LocalDateTime since = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime issueDate = LocalDateTime.of(2024, 4, 2, 12, 0);
+        var unpublished = ResponseValidators.builder()
+                .etag("\"abc123\"")
+                .coveredUntil(issueDate)
+                .build();
+
+        when(converterApi.convertGithubUrlToApi(fullUrl)).thenReturn(apiUrl);
+        when(validatorService.find(anyString())).thenReturn(Optional.of(unpublished));
+
+        stubFor(get(urlEqualTo("/repos" + repoPath + "/issues?state=all"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("ETag", "\"def456\"")
+                        .withBody(
+                                """
+                                [{ "title": "Issue #2", "created_at": "2024-04-02T12:00:00",
+                                   "user": { "login": "issue-author" }, "body": "body" }]
+                                """)));
+        stubFor(get(urlEqualTo("/repos" + repoPath + "/pulls?state=all"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(aResponse().withStatus(200).withBody("[]")));
+
+        List<UpdateInfo> updates = gitHubClient.checkUpdates(fullUrl, since);
+
+        assertThat(updates.size()).isEqualTo(1);
+        assertThat(updates.getFirst().title()).isEqualTo("Issue #2");
+        verify(validatorService)
+                .save(
+                        apiUrl + "/issues?state=all",
+                        ResponseValidators.builder()
+                                .etag("\"def456\"")
+                                .coveredUntil(issueDate)
+                                .build());
+    }
 }
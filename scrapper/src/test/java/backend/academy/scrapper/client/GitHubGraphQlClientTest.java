@@ -0,0 +1,224 @@
+package backend.academy.scrapper.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import backend.academy.scrapper.config.GitHubConfig;
+import backend.academy.scrapper.config.GitHubGraphQlProperties;
+import backend.academy.scrapper.config.StackOverflowConfig;
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.service.LinkToApiRequestConverter;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+class GitHubGraphQlClientTest {
+    private static final String FIRST_REPO = "https://github.com/aigunov/java-shareit";
+    private static final String SECOND_REPO = "https://github.com/aigunov/java-filmorate";
+    private static final String MISSING_REPO = "https://github.com/aigunov/deleted";
+
+    private WireMockServer wireMockServer;
+    private ExecutorService upstreamExecutor;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        wireMockServer.start();
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstreamExecutor.shutdownNow();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void checkUpdates_shouldResolveWholeBatchWithSingleRequest() {
+        wireMockServer.stubFor(post(urlEqualTo("/graphql"))
+                .withHeader("Authorization", equalTo("Bearer test-token"))
+                .withRequestBody(matchingJsonPath("$.variables.o0", equalTo("aigunov")))
+                .withRequestBody(matchingJsonPath("$.variables.n1", equalTo("java-filmorate")))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(
+                                """
+                    {
+                      "data": {
+                        "r0": {
+                          "issues": { "nodes": [ {
+                            "title": "Issue #1",
+                            "createdAt": "2024-04-01T10:00:00Z",
+                            "bodyText": "Issue body",
+                            "author": { "login": "issue-author" } } ] },
+                          "pullRequests": { "nodes": [ {
+                            "title": "PR #1",
+                            "createdAt": "2024-04-02T12:00:00Z",
+                            "bodyText": "Pull request body",
+                            "author": { "login": "pr-author" } } ] }
+                        },
+                        "r1": {
+                          "issues": { "nodes": [] },
+                          "pullRequests": { "nodes": [] }
+                        },
+                        "r2": null
+                      },
+                      "errors": [ { "type": "NOT_FOUND", "path": ["r2"] } ]
+                    }
+                    """)));
+
+        Map<String, List<UpdateInfo>> result =
+                client(50).checkUpdates(lastUpdates(FIRST_REPO, SECOND_REPO, MISSING_REPO));
+
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/graphql")));
+        assertThat(result).containsOnlyKeys(FIRST_REPO, SECOND_REPO, MISSING_REPO);
+        assertThat(result.get(SECOND_REPO)).isEmpty();
+        assertThat(result.get(MISSING_REPO)).isEmpty();
+
+        assertThat(result.get(FIRST_REPO)).hasSize(1);
+        UpdateInfo updateInfo = result.get(FIRST_REPO).getFirst();
+        assertThat(updateInfo.title()).isEqualTo("PR #1");
+        assertThat(updateInfo.username()).isEqualTo("pr-author");
+        assertThat(updateInfo.date()).isEqualTo(LocalDateTime.of(2024, 4, 2, 12, 0));
+        assertThat(updateInfo.type()).isEqualTo("pull-request");
+        assertThat(updateInfo.preview()).isEqualTo("Pull request body");
+    }
+
+    @Test
+    void checkUpdates_shouldReturnAllEventsNewerThanLastUpdate() {
+        wireMockServer.stubFor(post(urlEqualTo("/graphql"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(
+                                """
+                    {
+                      "data": {
+                        "r0": {
+                          "issues": { "nodes": [
+                            { "title": "Issue #2", "createdAt": "2024-04-03T09:00:00Z", "author": null },
+                            { "title": "Issue #1", "createdAt": "2024-04-01T10:00:00Z", "author": null } ] },
+                          "pullRequests": { "nodes": [
+                            { "title": "PR #1", "createdAt": "2024-04-02T12:00:00Z", "author": null } ] }
+                        }
+                      }
+                    }
+                    """)));
+        var lastUpdates = new LinkedHashMap<String, LocalDateTime>();
+        lastUpdates.put(FIRST_REPO, LocalDateTime.of(2024, 4, 1, 10, 0));
+
+        Map<String, List<UpdateInfo>> result = client(50).checkUpdates(lastUpdates);
+
+        assertThat(result.get(FIRST_REPO)).extracting(UpdateInfo::title).containsExactly("PR #1", "Issue #2");
+    }
+
+    @Test
+    void checkUpdates_shouldSplitLinksIntoBatches() {
+        wireMockServer.stubFor(post(urlEqualTo("/graphql"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"data\": {}}")));
+
+        client(2).checkUpdates(lastUpdates(FIRST_REPO, SECOND_REPO, MISSING_REPO));
+
+        wireMockServer.verify(2, postRequestedFor(urlEqualTo("/graphql")));
+    }
+
+    @Test
+    void checkUpdates_shouldFallBackToEmptyEventsForWholeBatchOnError() {
+        wireMockServer.stubFor(post(urlEqualTo("/graphql")).willReturn(aResponse().withStatus(502)));
+
+        Map<String, List<UpdateInfo>> result = client(50).checkUpdates(lastUpdates(FIRST_REPO, SECOND_REPO));
+
+        assertThat(result).containsOnlyKeys(FIRST_REPO, SECOND_REPO);
+        assertThat(result.values()).allSatisfy(events -> assertThat(events).isEmpty());
+    }
+
+    @Test
+    void checkUpdates_shouldFallBackWhenResponseExceedsTimeLimit() {
+        wireMockServer.stubFor(post(urlEqualTo("/graphql"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(2000)
+                        .withBody("{\"data\": {}}")));
+
+        Map<String, List<UpdateInfo>> result = client(50).checkUpdates(lastUpdates(FIRST_REPO));
+
+        assertThat(result).containsOnlyKeys(FIRST_REPO);
+        assertThat(result.get(FIRST_REPO)).isEmpty();
+    }
+
+    @Test
+    void checkUpdates_shouldTakeRatePermitForEveryRetriedAttempt() {
+        wireMockServer.stubFor(post(urlEqualTo("/graphql")).willReturn(aResponse().withStatus(502)));
+        var rateGovernor = spy(rateGovernor());
+
+        client(50, 3, rateGovernor).checkUpdates(lastUpdates(FIRST_REPO));
+
+        wireMockServer.verify(3, postRequestedFor(urlEqualTo("/graphql")));
+        verify(rateGovernor, times(3)).acquire(1);
+    }
+
+    private static Map<String, LocalDateTime> lastUpdates(String... urls) {
+        var lastUpdates = new LinkedHashMap<String, LocalDateTime>();
+        for (String url : urls) {
+            lastUpdates.put(url, null);
+        }
+        return lastUpdates;
+    }
+
+    private GitHubGraphQlClient client(int batchSize) {
+        return client(batchSize, 1, rateGovernor());
+    }
+
+    private static UpstreamRateGovernor rateGovernor() {
+        return new UpstreamRateGovernor("github-graphql-test", Duration.ZERO, 1, Clock.systemUTC());
+    }
+
+    private GitHubGraphQlClient client(int batchSize, int maxAttempts, UpstreamRateGovernor rateGovernor) {
+        var githubConfig = new GitHubConfig("test-token", wireMockServer.baseUrl() + "/repos");
+        var converter = new LinkToApiRequestConverter(
+                githubConfig,
+                new StackOverflowConfig("fake-key", "fake-access", "https://api.stackexchange.com/2.3/questions"));
+        return new GitHubGraphQlClient(
+                RestClient.create(),
+                converter,
+                new GitHubGraphQlProperties(true, wireMockServer.baseUrl() + "/graphql", batchSize),
+                CircuitBreaker.ofDefaults("github-graphql-test"),
+                Retry.of("github-graphql-test", RetryConfig.custom().maxAttempts(maxAttempts).build()),
+                TimeLimiter.of(TimeLimiterConfig.custom()
+                        .timeoutDuration(Duration.ofMillis(500))
+                        .cancelRunningFuture(true)
+                        .build()),
+                upstreamExecutor,
+                rateGovernor,
+                new GitHubTokenPool(List.of("test-token"), rateGovernor, Clock.systemUTC()));
+    }
+}
@@ -0,0 +1,78 @@
+package backend.academy.scrapper.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class GitHubTokenPoolTest {
+    private static final Instant NOW = Instant.parse("2025-04-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private final UpstreamRateGovernor rateGovernor = new UpstreamRateGovernor("github", Duration.ZERO, 1, CLOCK);
+    private final GitHubTokenPool pool = new GitHubTokenPool(List.of("t0", "t1", "t2"), rateGovernor, CLOCK);
+
+    @Test
+    void acquire_shouldPreferTokenWithMostHeadroom() {
+        pool.onResponse(new GitHubTokenPool.Token(0, "t0"), quota(100, NOW.plusSeconds(600)));
+        pool.onResponse(new GitHubTokenPool.Token(1, "t1"), quota(4000, NOW.plusSeconds(600)));
+        pool.onResponse(new GitHubTokenPool.Token(2, "t2"), quota(2500, NOW.plusSeconds(600)));
+
+        assertThat(pool.acquire().value()).isEqualTo("t1");
+        assertThat(rateGovernor.remainingBudget()).isEqualTo(6600.0);
+    }
+
+    @Test
+    void acquire_shouldTryTokensWithUnknownBudgetFirst() {
+        pool.onResponse(new GitHubTokenPool.Token(0, "t0"), quota(4000, NOW.plusSeconds(600)));
+
+        assertThat(pool.acquire().value()).isEqualTo("t1");
+        assertThat(rateGovernor.remainingBudget()).isNaN();
+    }
+
+    @Test
+    void acquire_shouldParkExhaustedTokenUntilReset() {
+        pool.onResponse(new GitHubTokenPool.Token(0, "t0"), quota(0, NOW.plusSeconds(600)));
+        pool.onResponse(new GitHubTokenPool.Token(1, "t1"), quota(1, NOW.plusSeconds(600)));
+        pool.onResponse(new GitHubTokenPool.Token(2, "t2"), quota(0, NOW.plusSeconds(300)));
+
+        assertThat(pool.acquire().value()).isEqualTo("t1");
+        assertThat(pool.acquire().value()).isEqualTo("t2");
+    }
+
+    @Test
+    void onResponse_shouldPauseGovernorUntilEarliestResetWhenAllTokensExhausted() {
+        pool.onResponse(new GitHubTokenPool.Token(0, "t0"), quota(0, NOW.plusSeconds(600)));
+        pool.onResponse(new GitHubTokenPool.Token(1, "t1"), quota(0, NOW.plusSeconds(300)));
+        pool.onResponse(new GitHubTokenPool.Token(2, "t2"), quota(0, NOW.plusSeconds(900)));
+
+        assertThat(rateGovernor.reserve(1)).isEqualTo(Duration.ofSeconds(300));
+    }
+
+    @Test
+    void onResponse_shouldKeepGraphQlPointsApartFromRestQuota() {
+        for (int i = 0; i < 3; i++) {
+            pool.onResponse(new GitHubTokenPool.Token(i, "t" + i), quota(4000, NOW.plusSeconds(600)));
+        }
+        var graphQl = quota(0, NOW.plusSeconds(600));
+        graphQl.add(GitHubTokenPool.RESOURCE_HEADER, GitHubTokenPool.GRAPHQL);
+
+        pool.onResponse(new GitHubTokenPool.Token(0, "t0"), graphQl);
+
+        assertThat(pool.acquire().value()).isEqualTo("t0");
+        assertThat(pool.acquire(GitHubTokenPool.GRAPHQL).value()).isNotEqualTo("t0");
+        assertThat(rateGovernor.remainingBudget()).isEqualTo(12000.0);
+    }
+
+    private static HttpHeaders quota(long remaining, Instant reset) {
+        var headers = new HttpHeaders();
+        headers.add(UpstreamRateGovernor.REMAINING_HEADER, String.valueOf(remaining));
+        headers.add(UpstreamRateGovernor.RESET_HEADER, String.valueOf(reset.getEpochSecond()));
+        return headers;
+    }
+}
@@ -15,6 +15,9 @@ import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,7 +40,8 @@ import org.testcontainers.junit.jupiter.Container;
             "app.github.token=test-token",
             "app.stackoverflow.key=test-key",
             "app.stackoverflow.access_token=test-access",
-            "app.stackoverflow.url=http://localhost:8089/stackoverflow"
+            "app.stackoverflow.url=http://localhost:8089/stackoverflow",
+            "client.resilience.stackoverflow-client.timeout=1s"
         })
 class StackOverflowClientTest {
 
@@ -134,4 +138,70 @@ class StackOverflowClientTest {
         assertThat(updateInfo.get().username()).isEqualTo("user1");
         assertThat(updateInfo.get().date()).isEqualTo(LocalDateTime.ofEpochSecond(1712345678, 0, ZoneOffset.UTC));
     }
+
+    @Test
+    void checkUpdatesBatch_ShouldSkipQuestionsWithoutNewActivity() {
+        String quietUrl = "https://stackoverflow.com/questions/111/quiet-question";
+        String activeUrl = "https://stackoverflow.com/questions/222/active-question";
+        String batchApiUrl =
+                "http://localhost:8089/stackoverflow/111;222?order=desc&sort=activity&site=ru.stackoverflow&pagesize=2";
+        LocalDateTime lastUpdate = LocalDateTime.ofEpochSecond(1712345000, 0, ZoneOffset.UTC);
+
+        when(converterApi.isStackOverflowUrl(anyString())).thenReturn(true);
+        when(converterApi.extractStackOverflowQuestionId(quietUrl)).thenReturn("111");
+        when(converterApi.extractStackOverflowQuestionId(activeUrl)).thenReturn("222");
+        when(converterApi.convertStackOverflowIdsToApi(List.of("111", "222"))).thenReturn(batchApiUrl);
+
+        stubFor(get(urlEqualTo("/stackoverflow/111;222?order=desc&sort=activity&site=ru.stackoverflow&pagesize=2"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(
+                                """
+                    {
+                        "items": [
+                            { "question_id": 111, "last_activity_date": 1712344000 },
+                            { "question_id": 222, "last_activity_date": 1712346000 }
+                        ]
+                    }
+                    """)));
+
+        var lastUpdates = new LinkedHashMap<String, LocalDateTime>();
+        lastUpdates.put(quietUrl, lastUpdate);
+        lastUpdates.put(activeUrl, lastUpdate);
+
+        Map<String, List<UpdateInfo>> result = stackOverflowClient.checkUpdates(lastUpdates);
+
+        verify(1, getRequestedFor(urlPathMatching("/stackoverflow/.*")));
+        assertThat(result).containsOnlyKeys(quietUrl);
+        assertThat(result.get(quietUrl)).isEmpty();
+    }
+
+    @Test
+    void checkUpdatesBatch_ShouldGiveUpOnSlowActivityResponse() {
+        String questionUrl = "https://stackoverflow.com/questions/333/slow-question";
+        String batchApiUrl =
+                "http://localhost:8089/stackoverflow/333?order=desc&sort=activity&site=ru.stackoverflow&pagesize=1";
+
+        when(converterApi.isStackOverflowUrl(anyString())).thenReturn(true);
+        when(converterApi.extractStackOverflowQuestionId(questionUrl)).thenReturn("333");
+        when(converterApi.convertStackOverflowIdsToApi(List.of("333"))).thenReturn(batchApiUrl);
+
+        stubFor(get(urlPathEqualTo("/stackoverflow/333"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(3000)
+                        .withBody(
+                                """
+                    { "items": [ { "question_id": 333, "last_activity_date": 1712344000 } ] }
+                    """)));
+
+        var lastUpdates = new LinkedHashMap<String, LocalDateTime>();
+        lastUpdates.put(questionUrl, LocalDateTime.ofEpochSecond(1712345000, 0, ZoneOffset.UTC));
+
+        Map<String, List<UpdateInfo>> result = stackOverflowClient.checkUpdates(lastUpdates);
+
+        assertThat(result).isEmpty();
+    }
 }
@@ -0,0 +1,148 @@
+package backend.academy.scrapper.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class UpstreamJsonTest {
+
+    @Test
+    void latestGitHubItem_shouldKeepOnlyLatestItemAndTruncatePreview() throws IOException {
+        String longBody = "x".repeat(5_000);
+        String json =
+                """
+            [
+              { "title": "Old", "created_at": "2024-04-01T10:00:00Z", "user": { "login": "old" }, "body": "old" },
+              { "body": "%s", "user": { "login": "new", "id": 1 }, "labels": [ { "name": "bug" } ],
+                "created_at": "2024-04-03T08:30:00Z", "title": "New" },
+              { "title": "Middle", "created_at": "2024-04-02T10:00:00Z", "user": null, "body": null }
+            ]
+            """
+                        .formatted(longBody);
+
+        UpdateInfo updateInfo = UpstreamJson.latestGitHubItem(stream(json), "issue").orElseThrow();
+
+        assertThat(updateInfo.title()).isEqualTo("New");
+        assertThat(updateInfo.username()).isEqualTo("new");
+        assertThat(updateInfo.date()).isEqualTo(LocalDateTime.of(2024, 4, 3, 8, 30));
+        assertThat(updateInfo.type()).isEqualTo("issue");
+        assertThat(updateInfo.preview()).hasSize(UpstreamJson.PREVIEW_LENGTH);
+    }
+
+    @Test
+    void latestGitHubItem_shouldReturnEmptyForEmptyArray() throws IOException {
+        assertThat(UpstreamJson.latestGitHubItem(stream("[]"), "pull-request")).isEmpty();
+    }
+
+    @Test
+    void latestStackOverflowPost_shouldPickLatestOfAnswersAndComments() throws IOException {
+        String json =
+                """
+            {
+              "has_more": false,
+              "items": [ {
+                "answers": [
+                  { "creation_date": 1712345000, "body": "first", "owner": { "display_name": "a1" } },
+                  { "creation_date": 1712345600, "body": "second", "owner": { "display_name": "a2" } }
+                ],
+                "comments": [
+                  { "creation_date": 1712345700, "body": "comment", "owner": { "display_name": "c1" } }
+                ],
+                "title": "Question"
+              } ],
+              "quota_remaining": 9999
+            }
+            """;
+
+        UpdateInfo updateInfo = UpstreamJson.latestStackOverflowPost(stream(json)).orElseThrow();
+
+        assertThat(updateInfo.type()).isEqualTo("comment");
+        assertThat(updateInfo.title()).isEqualTo("Question");
+        assertThat(updateInfo.username()).isEqualTo("c1");
+        assertThat(updateInfo.preview()).isEqualTo("comment");
+        assertThat(updateInfo.date()).isEqualTo(LocalDateTime.ofEpochSecond(1712345700, 0, ZoneOffset.UTC));
+    }
+
+    @Test
+    void latestStackOverflowPost_shouldReturnEmptyWithoutPosts() throws IOException {
+        assertThat(UpstreamJson.latestStackOverflowPost(stream("{\"items\": [ { \"title\": \"Q\" } ]}")))
+                .isEmpty();
+        assertThat(UpstreamJson.latestStackOverflowPost(stream("{\"items\": []}"))).isEmpty();
+    }
+
+    @Test
+    void gitHubItemsSince_shouldReturnNewerItemsInChronologicalOrder() throws IOException {
+        String json =
+                """
+            [
+              { "title": "Third", "created_at": "2024-04-03T10:00:00Z", "user": { "login": "u3" }, "body": "3" },
+              { "title": "First", "created_at": "2024-04-01T10:00:00Z", "user": { "login": "u1" }, "body": "1" },
+              { "title": "Second", "created_at": "2024-04-02T10:00:00Z", "user": { "login": "u2" }, "body": "2" }
+            ]
+            """;
+
+        var events = UpstreamJson.gitHubItemsSince(stream(json), "issue", LocalDateTime.of(2024, 4, 1, 10, 0));
+
+        assertThat(events).extracting(UpdateInfo::title).containsExactly("Second", "Third");
+        assertThat(UpstreamJson.gitHubItemsSince(stream(json), "issue", null))
+                .extracting(UpdateInfo::title)
+                .containsExactly("Third");
+    }
+
+    @Test
+    void gitHubItems_shouldSkipPullRequestsListedAmongIssues() throws IOException {
+        String json =
+                """
+            [
+              { "title": "PR", "created_at": "2024-04-03T10:00:00Z", "user": { "login": "u3" },
+                "pull_request": { "url": "https://api.github.com/repos/o/r/pulls/3" } },
+              { "title": "Issue", "created_at": "2024-04-02T10:00:00Z", "user": { "login": "u2" },
+                "pull_request": null }
+            ]
+            """;
+
+        var events = UpstreamJson.gitHubItemsSince(stream(json), "issue", LocalDateTime.of(2024, 4, 1, 10, 0));
+
+        assertThat(events).extracting(UpdateInfo::title).containsExactly("Issue");
+        assertThat(UpstreamJson.latestGitHubItem(stream(json), "issue"))
+                .map(UpdateInfo::title)
+                .contains("Issue");
+    }
+
+    @Test
+    void stackOverflowPostsSince_shouldMergeAnswersAndCommentsByDate() throws IOException {
+        String json =
+                """
+            {
+              "items": [ {
+                "answers": [
+                  { "creation_date": 1712345000, "body": "old", "owner": { "display_name": "a1" } },
+                  { "creation_date": 1712345800, "body": "answer", "owner": { "display_name": "a2" } }
+                ],
+                "comments": [
+                  { "creation_date": 1712345700, "body": "comment", "owner": { "display_name": "c1" } }
+                ],
+                "title": "Question"
+              } ]
+            }
+            """;
+        var since = LocalDateTime.ofEpochSecond(1712345000, 0, ZoneOffset.UTC);
+
+        var events = UpstreamJson.stackOverflowPostsSince(stream(json), since, null);
+
+        assertThat(events).extracting(UpdateInfo::type).containsExactly("comment", "answer");
+        assertThat(events).extracting(UpdateInfo::username).containsExactly("c1", "a2");
+        assertThat(events).extracting(UpdateInfo::title).containsOnly("Question");
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
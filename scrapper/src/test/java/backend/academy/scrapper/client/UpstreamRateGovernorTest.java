@@ -0,0 +1,138 @@
+package backend.academy.scrapper.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import backend.academy.scrapper.config.GitHubConfig;
+import backend.academy.scrapper.config.GithubClientProperties;
+import backend.academy.scrapper.config.UpstreamRateGovernorConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class UpstreamRateGovernorTest {
+    private static final Instant NOW = Instant.parse("2025-04-01T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void reserve_shouldNotWaitWhenQuotaIsUnknownAndNoStaticLimit() {
+        var governor = new UpstreamRateGovernor("test", Duration.ZERO, 1, clock);
+
+        assertThat(governor.reserve(1)).isZero();
+        assertThat(governor.reserve(1)).isZero();
+        assertThat(governor.remainingBudget()).isNaN();
+    }
+
+    @Test
+    void githubRateGovernor_shouldScaleStaticLimitWithTokenPool() {
+        var properties = new GithubClientProperties(null, null, null, null, 20, Duration.ofSeconds(10));
+        var config = new UpstreamRateGovernorConfig(
+                new GitHubConfig("t0", List.of("t1", "t2"), "https://api.github.com/repos"), properties, null);
+
+        var governor = config.githubRateGovernor(new SimpleMeterRegistry());
+
+        assertThat(governor.intervalSeconds()).isCloseTo(10.0 / 60, within(1e-9));
+    }
+
+    @Test
+    void reserve_shouldSpreadRemainingBudgetUntilReset() {
+        var governor = new UpstreamRateGovernor("test", Duration.ZERO, 1, clock);
+        var headers = new HttpHeaders();
+        headers.add(UpstreamRateGovernor.REMAINING_HEADER, "100");
+        headers.add(UpstreamRateGovernor.RESET_HEADER, String.valueOf(NOW.plusSeconds(1000).getEpochSecond()));
+
+        governor.onHeaders(headers);
+
+        assertThat(governor.intervalSeconds()).isEqualTo(10.0);
+        assertThat(governor.reserve(1)).isZero();
+        assertThat(governor.reserve(1)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(governor.remainingBudget()).isEqualTo(98.0);
+    }
+
+    @Test
+    void reserve_shouldAllowBurstBeforePacing() {
+        var governor = new UpstreamRateGovernor("test", Duration.ofMillis(500), 3, clock);
+
+        assertThat(governor.reserve(1)).isZero();
+        assertThat(governor.reserve(1)).isZero();
+        assertThat(governor.reserve(1)).isZero();
+        assertThat(governor.reserve(1)).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    void reserve_shouldWaitForResetWhenQuotaIsExhausted() {
+        var governor = new UpstreamRateGovernor("test", Duration.ZERO, 1, clock);
+
+        governor.update(0, NOW.plusSeconds(120));
+
+        assertThat(governor.reserve(1)).isEqualTo(Duration.ofSeconds(120));
+
+        clock.advance(Duration.ofSeconds(121));
+        assertThat(governor.reserve(1)).isZero();
+        assertThat(governor.remainingBudget()).isNaN();
+    }
+
+    @Test
+    void onHeaders_shouldHonorRetryAfter() {
+        var governor = new UpstreamRateGovernor("test", Duration.ZERO, 1, clock);
+        var headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "30");
+
+        governor.onHeaders(headers);
+
+        assertThat(governor.reserve(1)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void latestStackOverflowPost_shouldReportQuotaAndBackoff() throws Exception {
+        var governor = new UpstreamRateGovernor("test", Duration.ZERO, 1, clock);
+        String json = """
+                {"items":[{"title":"q","answers":[{"creation_date":1700000000,"body":"a"}]}],
+                 "has_more":false,"quota_max":10000,"quota_remaining":720,"backoff":5}
+                """;
+
+        var latest = UpstreamJson.latestStackOverflowPost(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), governor);
+
+        assertThat(latest).isPresent();
+        assertThat(governor.remainingBudget()).isEqualTo(720.0);
+        assertThat(governor.reserve(1)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
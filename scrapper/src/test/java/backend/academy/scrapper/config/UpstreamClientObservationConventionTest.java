@@ -0,0 +1,65 @@
+package backend.academy.scrapper.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.common.KeyValue;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+class UpstreamClientObservationConventionTest {
+
+    private final UpstreamClientObservationConvention convention = new UpstreamClientObservationConvention(
+            new GitHubConfig("token", "https://api.github.com/repos"),
+            new GitHubGraphQlProperties(true, "https://api.github.com/graphql", 50),
+            new StackOverflowConfig("key", "token", "https://api.stackexchange.com/2.3/questions"));
+
+    @Test
+    void shouldTagGitHubEndpointWithoutRepositoryAndQuery() {
+        var first = context("https://api.github.com/repos/octo/hello/issues?state=all&since=2025-01-01T00:00:00Z");
+        var second = context("https://api.github.com/repos/acme/world/issues?state=all");
+
+        assertThat(tag(first, "uri")).isEqualTo("/repos/{owner}/{repo}/issues").isEqualTo(tag(second, "uri"));
+        assertThat(tag(first, UpstreamClientObservationConvention.PROVIDER)).isEqualTo("github");
+    }
+
+    @Test
+    void shouldTagStackOverflowQuestionsWithoutIds() {
+        var single = context("https://api.stackexchange.com/2.3/questions/42?order=desc&site=ru.stackoverflow");
+        var batch = context("https://api.stackexchange.com/2.3/questions/1;2;3?pagesize=3");
+
+        assertThat(tag(single, "uri")).isEqualTo("/2.3/questions/{ids}").isEqualTo(tag(batch, "uri"));
+        assertThat(tag(single, UpstreamClientObservationConvention.PROVIDER)).isEqualTo("stackoverflow");
+    }
+
+    @Test
+    void shouldTagGraphQlEndpointAsIs() {
+        var graphQl = context("https://api.github.com/graphql");
+
+        assertThat(tag(graphQl, "uri")).isEqualTo("/graphql");
+        assertThat(tag(graphQl, UpstreamClientObservationConvention.PROVIDER)).isEqualTo("github");
+    }
+
+    @Test
+    void shouldKeepDefaultTagsForOtherHosts() {
+        var other = context("http://localhost:8080/updates");
+        other.setUriTemplate("/updates");
+
+        assertThat(tag(other, "uri")).isEqualTo("/updates");
+        assertThat(tag(other, UpstreamClientObservationConvention.PROVIDER)).isEqualTo(KeyValue.NONE_VALUE);
+    }
+
+    private static ClientRequestObservationContext context(String uri) {
+        return new ClientRequestObservationContext(new MockClientHttpRequest(HttpMethod.GET, URI.create(uri)));
+    }
+
+    private String tag(ClientRequestObservationContext context, String key) {
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(keyValue -> keyValue.getKey().equals(key))
+                .findFirst()
+                .map(KeyValue::getValue)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,24 @@
+package backend.academy.scrapper.repository.link;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class LinkCheckViewTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "https://github.com/aigunov/java-shareit, github",
+        "https://github.com/aigunov/java-shareit/, github",
+        "https://github.com/aigunov, unknown",
+        "https://github.com/aigunov/java-shareit/issues/1, unknown",
+        "https://stackoverflow.com/questions/12345/how-to-test, stackoverflow",
+        "https://ru.stackoverflow.com/questions/12345/how-to-test, stackoverflow",
+        "https://stackoverflow.com/questions/not-a-number, unknown",
+        "https://example.com/stackoverflow.com/questions/1/x, unknown"
+    })
+    void provider_shouldMatchOnlyUrlsTheConverterAccepts(String url, String provider) {
+        assertThat(LinkCheckView.provider(url)).isEqualTo(provider);
+    }
+}
@@ -184,4 +184,47 @@ public class OrmLinkRepositoryTest {
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).chats()).isNotEmpty();
     }
+
+    @Test
+    @Transactional
+    void saveCheckResults_shouldUpdateWholePageAndKeepNewerValues() {
+        LocalDateTime initial = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 4, 2, 12, 0);
+        LocalDateTime delivered = LocalDateTime.of(2024, 4, 3, 12, 0);
+        LocalDateTime safetyNet = LocalDateTime.now().plusHours(24).withNano(0);
+        LocalDateTime nextCheck = LocalDateTime.now().plusMinutes(10).withNano(0);
+        Link updated = linkRepository.save(Link.builder()
+                .url("https://updated.com")
+                .lastUpdate(initial)
+                .chats(Set.of(chat))
+                .build());
+        Link quiet = linkRepository.save(Link.builder()
+                .url("https://quiet.com")
+                .lastUpdate(initial)
+                .chats(Set.of(chat))
+                .build());
+        Link raced = linkRepository.save(Link.builder()
+                .url("https://raced.com")
+                .lastUpdate(initial)
+                .chats(Set.of(chat))
+                .build());
+        linkRepository.reschedule(List.of(new LinkCheckResult(raced.id(), delivered, safetyNet, 86400)));
+
+        linkRepository.saveCheckResults(List.of(
+                new LinkCheckResult(updated.id(), updatedAt, nextCheck, 120),
+                new LinkCheckResult(quiet.id(), null, nextCheck, 600),
+                new LinkCheckResult(raced.id(), updatedAt, nextCheck, 600)));
+
+        Link reloadedUpdated = linkRepository.findById(updated.id()).orElseThrow();
+        assertThat(reloadedUpdated.lastUpdate()).isEqualTo(updatedAt);
+        assertThat(reloadedUpdated.nextCheckAt()).isEqualTo(nextCheck);
+        assertThat(reloadedUpdated.checkInterval()).isEqualTo(120L);
+        Link reloadedQuiet = linkRepository.findById(quiet.id()).orElseThrow();
+        assertThat(reloadedQuiet.lastUpdate()).isEqualTo(initial);
+        assertThat(reloadedQuiet.checkInterval()).isEqualTo(600L);
+        Link reloadedRaced = linkRepository.findById(raced.id()).orElseThrow();
+        assertThat(reloadedRaced.lastUpdate()).isEqualTo(delivered);
+        assertThat(reloadedRaced.nextCheckAt()).isEqualTo(safetyNet);
+        assertThat(reloadedRaced.checkInterval()).isEqualTo(86400L);
+    }
 }
@@ -0,0 +1,210 @@
+package backend.academy.scrapper.repository.link;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.scrapper.config.MigrationsRunner;
+import backend.academy.scrapper.data.model.Chat;
+import backend.academy.scrapper.data.model.Link;
+import backend.academy.scrapper.repository.chat.ChatRepository;
+import backend.academy.scrapper.repository.chat.SqlChatRepository;
+import backend.academy.scrapper.repository.filter.SqlFilterRepository;
+import backend.academy.scrapper.repository.tag.SqlTagRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Несколько экземпляров scrapper над одной базой: захваты не пересекаются и переживают падение владельца. */
+@JdbcTest
+@Import({
+    SqlChatRepository.class,
+    MigrationsRunner.class,
+    SqlLinkRepository.class,
+    SqlTagRepository.class,
+    SqlFilterRepository.class
+})
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "app.db.access-type=sql")
+public class SqlLinkClaimIntegrationTest {
+    private static final int LINKS_COUNT = 200;
+    private static final int PAGE_SIZE = 7;
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Container
+    static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:17.4")
+            .withDatabaseName("scrapper_db")
+            .withUsername("aigunov")
+            .withPassword("12345");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MigrationsRunner migrationsRunner;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private LinkRepository linkRepository;
+
+    private Chat chat;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgresContainer::getDriverClassName);
+    }
+
+    @BeforeEach
+    void setUp() {
+        migrationsRunner.runMigrations();
+
+        jdbcTemplate.execute("DELETE FROM link_to_chat");
+        jdbcTemplate.execute("DELETE FROM tag_to_link");
+        jdbcTemplate.execute("DELETE FROM link_to_filter");
+        jdbcTemplate.execute("DELETE FROM tag");
+        jdbcTemplate.execute("DELETE FROM filter");
+        jdbcTemplate.execute("DELETE FROM link");
+        jdbcTemplate.execute("DELETE FROM chat");
+
+        chat = chatRepository.save(Chat.builder().tgId(100L).nickname("claim_user").build());
+    }
+
+    @Test
+    void concurrentInstances_shouldClaimDisjointPagesCoveringAllDueLinks() throws Exception {
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < LINKS_COUNT; i++) {
+            expected.add(saveLink("https://github.com/owner/repo" + i).id());
+        }
+        LocalDateTime dueBefore = LocalDateTime.now();
+        var start = new CountDownLatch(1);
+
+        List<UUID> first;
+        List<UUID> second;
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            Future<List<UUID>> firstInstance = executor.submit(runInstance("scrapper-1", dueBefore, start));
+            Future<List<UUID>> secondInstance = executor.submit(runInstance("scrapper-2", dueBefore, start));
+            start.countDown();
+            first = firstInstance.get();
+            second = secondInstance.get();
+        }
+
+        assertThat(first).doesNotHaveDuplicates().doesNotContainAnyElementsOf(second);
+        assertThat(second).doesNotHaveDuplicates();
+        var union = new ArrayList<>(first);
+        union.addAll(second);
+        assertThat(union).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM link WHERE lease_owner IS NOT NULL", Long.class))
+                .isZero();
+    }
+
+    @Test
+    void claimDueForCheck_shouldSkipActiveLeaseAndReclaimExpiredOne() {
+        Link link = saveLink("https://github.com/owner/crashed");
+        LocalDateTime now = LocalDateTime.now();
+
+        var claimed = linkRepository.claimDueForCheck("crashed-instance", now, now.plus(LEASE), PAGE_SIZE);
+        assertThat(claimed).extracting(LinkCheckView::id).containsExactly(link.id());
+        assertThat(claimed.getFirst().subscribers())
+                .extracting(LinkCheckView.Subscriber::tgId)
+                .containsExactly(100L);
+
+        assertThat(linkRepository.claimDueForCheck("survivor", now, now.plus(LEASE), PAGE_SIZE))
+                .isEmpty();
+
+        LocalDateTime afterExpiry = now.plus(LEASE).plusSeconds(1);
+        assertThat(linkRepository.claimDueForCheck("survivor", afterExpiry, afterExpiry.plus(LEASE), PAGE_SIZE))
+                .extracting(LinkCheckView::id)
+                .containsExactly(link.id());
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT lease_owner FROM link WHERE id = ?", String.class, link.id()))
+                .isEqualTo("survivor");
+    }
+
+    @Test
+    void claimingIterator_shouldRenewLeaseWhilePageOutlivesIt() throws Exception {
+        Link link = saveLink("https://github.com/owner/slow");
+        Duration shortLease = Duration.ofSeconds(1);
+
+        try (var pages = new ClaimingLinkIterator(linkRepository, "slow", PAGE_SIZE, LocalDateTime.now(), shortLease)) {
+            assertThat(pages.next()).extracting(LinkCheckView::id).containsExactly(link.id());
+            Thread.sleep(shortLease.multipliedBy(3).toMillis());
+
+            LocalDateTime now = LocalDateTime.now();
+            assertThat(linkRepository.claimDueForCheck("other", now, now.plus(LEASE), PAGE_SIZE))
+                    .isEmpty();
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT lease_owner FROM link WHERE id = ?", String.class, link.id()))
+                .isEqualTo("slow");
+    }
+
+    @Test
+    void reschedule_shouldKeepLeaseOfInstanceCheckingTheLink() {
+        Link link = saveLink("https://github.com/Owner/Webhooked");
+        LocalDateTime now = LocalDateTime.now();
+        linkRepository.claimDueForCheck("checker", now, now.plus(LEASE), PAGE_SIZE);
+
+        var found = linkRepository.findForCheckByUrlsIgnoreCase(List.of("https://github.com/owner/webhooked"));
+        assertThat(found).extracting(LinkCheckView::id).containsExactly(link.id());
+        linkRepository.reschedule(List.of(new LinkCheckResult(link.id(), null, now.plusHours(24), 86400)));
+
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT lease_owner FROM link WHERE id = ?", String.class, link.id()))
+                .isEqualTo("checker");
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT check_interval FROM link WHERE id = ?", Long.class, link.id()))
+                .isEqualTo(86400L);
+    }
+
+    private Callable<List<UUID>> runInstance(String owner, LocalDateTime dueBefore, CountDownLatch start) {
+        return () -> {
+            start.await();
+            List<UUID> visited = new ArrayList<>();
+            try (var pages = new ClaimingLinkIterator(linkRepository, owner, PAGE_SIZE, dueBefore, LEASE)) {
+                while (pages.hasNext()) {
+                    var page = pages.next();
+                    page.forEach(link -> visited.add(link.id()));
+                    linkRepository.saveCheckResults(page.stream()
+                            .map(link -> new LinkCheckResult(link.id(), null, dueBefore.plusHours(1), 3600))
+                            .toList());
+                }
+            }
+            return visited;
+        };
+    }
+
+    private Link saveLink(String url) {
+        return linkRepository.save(Link.builder()
+                .url(url)
+                .lastUpdate(LocalDateTime.now())
+                .chats(Set.of(chat))
+                .tags(Set.of())
+                .filters(Set.of())
+                .build());
+    }
+}
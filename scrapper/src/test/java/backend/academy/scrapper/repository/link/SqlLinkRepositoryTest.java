@@ -14,6 +14,8 @@ import backend.academy.scrapper.repository.filter.SqlFilterRepository;
 import backend.academy.scrapper.repository.tag.SqlTagRepository;
 import backend.academy.scrapper.repository.tag.TagRepository;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -233,4 +235,212 @@ public class SqlLinkRepositoryTest {
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().url()).isEqualTo("https://spring.dev");
     }
+
+    @Test
+    @Transactional
+    void findById_shouldAggregateChatsTagsAndFiltersIntoSingleLink() {
+        Chat secondChat = chatRepository.save(
+                Chat.builder().tgId(200L).nickname("second_user").build());
+        Set<Tag> tags = Set.of(
+                tagRepository.save(Tag.builder()
+                        .chat(chat)
+                        .tag("spring")
+                        .links(new HashSet<>())
+                        .build()),
+                tagRepository.save(Tag.builder()
+                        .chat(chat)
+                        .tag("java")
+                        .links(new HashSet<>())
+                        .build()));
+        Set<Filter> filters = Set.of(
+                filterRepository.save(Filter.builder()
+                        .chat(chat)
+                        .parameter("user")
+                        .value("dependabot")
+                        .links(new HashSet<>())
+                        .build()),
+                filterRepository.save(Filter.builder()
+                        .chat(chat)
+                        .parameter("user")
+                        .value("renovate")
+                        .links(new HashSet<>())
+                        .build()));
+        Link saved = linkRepository.save(Link.builder()
+                .url("https://aggregated.dev")
+                .lastUpdate(LocalDateTime.now())
+                .chats(Set.of(chat))
+                .tags(tags)
+                .filters(filters)
+                .build());
+        linkRepository.save(saved.toBuilder()
+                .chats(Set.of(secondChat))
+                .tags(Set.of())
+                .filters(Set.of())
+                .build());
+
+        Link found = linkRepository.findById(saved.id()).orElseThrow();
+        assertThat(found.chats()).extracting(Chat::tgId).containsExactlyInAnyOrder(100L, 200L);
+        assertThat(found.tags()).extracting(Tag::tag).containsExactlyInAnyOrder("spring", "java");
+        assertThat(found.filters()).extracting(Filter::value).containsExactlyInAnyOrder("dependabot", "renovate");
+
+        List<Link> tracked = (List<Link>) linkRepository.findLinksByTgIdAndTags(chat.tgId(), List.of("java"));
+        assertThat(tracked).singleElement().satisfies(link -> {
+            assertThat(link.chats()).extracting(Chat::tgId).containsExactly(100L);
+            assertThat(link.tags()).hasSize(2);
+            assertThat(link.filters()).hasSize(2);
+        });
+    }
+
+    @Test
+    @Transactional
+    void keysetLinkIterator_shouldVisitEveryLinkExactlyOnce() {
+        Chat secondChat = chatRepository.save(
+                Chat.builder().tgId(200L).nickname("second_user").build());
+        for (int i = 0; i < 5; i++) {
+            Link link = linkRepository.save(Link.builder()
+                    .url("https://keyset" + i + ".com")
+                    .lastUpdate(LocalDateTime.now())
+                    .chats(Set.of(chat))
+                    .tags(Set.of())
+                    .filters(Set.of())
+                    .build());
+            linkRepository.save(link.toBuilder().chats(Set.of(secondChat)).build());
+        }
+
+        var iterator = new KeysetLinkIterator(linkRepository, 2, LocalDateTime.now());
+        List<LinkCheckView> visited = new ArrayList<>();
+        iterator.forEachRemaining(visited::addAll);
+
+        assertThat(visited).hasSize(5);
+        assertThat(visited).extracting(LinkCheckView::id).doesNotHaveDuplicates();
+        assertThat(visited).allSatisfy(link -> assertThat(link.subscribers()).hasSize(2));
+    }
+
+    @Test
+    @Transactional
+    void findDueForCheckAfter_shouldPreloadDigestTimesAndFilters() {
+        Chat digestChat = chatRepository.save(
+                Chat.builder().tgId(200L).nickname("digest_user").build());
+        chatRepository.setDigestTime(digestChat.tgId(), LocalTime.of(9, 30));
+        Filter excluded = filterRepository.save(Filter.builder()
+                .chat(chat)
+                .parameter("user")
+                .value("Dependabot")
+                .links(new HashSet<>())
+                .build());
+        Filter otherParameter = filterRepository.save(Filter.builder()
+                .chat(chat)
+                .parameter("lang")
+                .value("java")
+                .links(new HashSet<>())
+                .build());
+        Link link = linkRepository.save(Link.builder()
+                .url("https://github.com/owner/filtered")
+                .lastUpdate(LocalDateTime.now())
+                .chats(Set.of(chat))
+                .tags(Set.of())
+                .filters(Set.of(excluded, otherParameter))
+                .build());
+        linkRepository.save(link.toBuilder()
+                .chats(Set.of(digestChat))
+                .filters(Set.of())
+                .build());
+
+        List<LinkCheckView> page = linkRepository.findDueForCheckAfter(
+                LocalDateTime.now(), KeysetLinkIterator.MIN_CHECK_AT, KeysetLinkIterator.MIN_ID, 10);
+
+        assertThat(page).singleElement().satisfies(view -> {
+            assertThat(view.provider()).isEqualTo(LinkCheckView.GITHUB);
+            assertThat(view.subscribers())
+                    .containsExactlyInAnyOrder(
+                            new LinkCheckView.Subscriber(
+                                    100L,
+                                    null,
+                                    Set.of(
+                                            LinkCheckView.FilterRule.of("user", "dependabot"),
+                                            LinkCheckView.FilterRule.of("lang", "java"))),
+                            new LinkCheckView.Subscriber(200L, LocalTime.of(9, 30), Set.of()));
+        });
+    }
+
+    @Test
+    @Transactional
+    void saveCheckResults_shouldExcludeLinkFromDuePages() {
+        Link due = linkRepository.save(Link.builder()
+                .url("https://due.com")
+                .lastUpdate(LocalDateTime.now())
+                .chats(Set.of(chat))
+                .tags(Set.of())
+                .filters(Set.of())
+                .build());
+        Link postponed = linkRepository.save(Link.builder()
+                .url("https://postponed.com")
+                .lastUpdate(LocalDateTime.now())
+                .chats(Set.of(chat))
+                .tags(Set.of())
+                .filters(Set.of())
+                .build());
+
+        linkRepository.saveCheckResults(
+                List.of(new LinkCheckResult(postponed.id(), null, LocalDateTime.now().plusHours(1), 3600)));
+
+        List<LinkCheckView> visited = new ArrayList<>();
+        new KeysetLinkIterator(linkRepository, 10, LocalDateTime.now()).forEachRemaining(visited::addAll);
+
+        assertThat(visited).extracting(LinkCheckView::id).containsExactly(due.id());
+    }
+
+    @Test
+    @Transactional
+    void saveCheckResults_shouldUpdateLastUpdateOnlyWhenPresent() {
+        LocalDateTime initial = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 4, 2, 12, 0);
+        Link updated = linkRepository.save(Link.builder()
+                .url("https://updated.com")
+                .lastUpdate(initial)
+                .chats(Set.of(chat))
+                .tags(Set.of())
+                .filters(Set.of())
+                .build());
+        Link quiet = linkRepository.save(Link.builder()
+                .url("https://quiet.com")
+                .lastUpdate(initial)
+                .chats(Set.of(chat))
+                .tags(Set.of())
+                .filters(Set.of())
+                .build());
+
+        linkRepository.saveCheckResults(List.of(
+                new LinkCheckResult(updated.id(), updatedAt, LocalDateTime.now().plusMinutes(2), 120),
+                new LinkCheckResult(quiet.id(), null, LocalDateTime.now().plusMinutes(10), 600)));
+
+        assertThat(linkRepository.findById(updated.id()).orElseThrow().lastUpdate()).isEqualTo(updatedAt);
+        Link reloadedQuiet = linkRepository.findById(quiet.id()).orElseThrow();
+        assertThat(reloadedQuiet.lastUpdate()).isEqualTo(initial);
+        assertThat(reloadedQuiet.checkInterval()).isEqualTo(600L);
+    }
+
+    @Test
+    @Transactional
+    void saveCheckResults_shouldNotUndoNewerWebhookReschedule() {
+        LocalDateTime polled = LocalDateTime.of(2024, 4, 1, 12, 0);
+        LocalDateTime delivered = LocalDateTime.of(2024, 4, 2, 12, 0);
+        LocalDateTime safetyNet = LocalDateTime.now().plusHours(24).withNano(0);
+        Link link = linkRepository.save(Link.builder()
+                .url("https://github.com/owner/raced")
+                .lastUpdate(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .chats(Set.of(chat))
+                .tags(Set.of())
+                .filters(Set.of())
+                .build());
+
+        linkRepository.reschedule(List.of(new LinkCheckResult(link.id(), delivered, safetyNet, 86400)));
+        linkRepository.saveCheckResults(
+                List.of(new LinkCheckResult(link.id(), polled, LocalDateTime.now().plusMinutes(10), 600)));
+
+        Link reloaded = linkRepository.findById(link.id()).orElseThrow();
+        assertThat(reloaded.lastUpdate()).isEqualTo(delivered);
+        assertThat(reloaded.nextCheckAt()).isEqualTo(safetyNet);
+        assertThat(reloaded.checkInterval()).isEqualTo(86400L);
+    }
 }
@@ -0,0 +1,34 @@
+package backend.academy.scrapper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.scrapper.config.ScrapperScheduleProperties;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class CheckIntervalPolicyTest {
+
+    private final CheckIntervalPolicy policy = new CheckIntervalPolicy(
+            new ScrapperScheduleProperties(Duration.ofMinutes(1), Duration.ofHours(24), 2.0));
+
+    @Test
+    void nextInterval_shouldBackOffWhenLinkIsQuiet() {
+        assertThat(policy.nextInterval(300L, false)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void nextInterval_shouldShortenWhenLinkIsHot() {
+        assertThat(policy.nextInterval(300L, true)).isEqualTo(Duration.ofSeconds(150));
+    }
+
+    @Test
+    void nextInterval_shouldStayWithinBounds() {
+        assertThat(policy.nextInterval(70_000L, false)).isEqualTo(Duration.ofHours(24));
+        assertThat(policy.nextInterval(90L, true)).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void nextInterval_shouldStartFromDefaultIntervalWhenUnknown() {
+        assertThat(policy.nextInterval(null, false)).isEqualTo(Duration.ofMinutes(10));
+    }
+}
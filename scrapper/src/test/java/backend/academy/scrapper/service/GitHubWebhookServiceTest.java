@@ -0,0 +1,146 @@
+package backend.academy.scrapper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import backend.academy.scrapper.config.GitHubConfig;
+import backend.academy.scrapper.config.GitHubWebhookProperties;
+import backend.academy.scrapper.config.StackOverflowConfig;
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.repository.link.LinkCheckResult;
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import backend.academy.scrapper.repository.link.LinkRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class GitHubWebhookServiceTest {
+    private static final String SECRET = "webhook-secret";
+    private static final String REPO_URL = "https://github.com/aigunov/java-shareit";
+    private static final Duration SAFETY_NET = Duration.ofHours(24);
+    private static final String ISSUE_OPENED =
+            """
+            {"action":"opened","repository":{"full_name":"aigunov/java-shareit"},
+             "issue":{"title":"Bug","created_at":"2025-04-01T12:00:00Z","body":"Steps","user":{"login":"octocat"}}}
+            """;
+
+    private LinkRepository linkRepository;
+    private ScrapperService scrapperService;
+    private GitHubWebhookService webhookService;
+    private LinkCheckView link;
+
+    @BeforeEach
+    void setUp() {
+        linkRepository = mock(LinkRepository.class);
+        scrapperService = mock(ScrapperService.class);
+        var converter = new LinkToApiRequestConverter(
+                new GitHubConfig("test-token", "https://api.github.com/repos"),
+                new StackOverflowConfig("fake-key", "fake-access", "https://api.stackexchange.com/2.3/questions"));
+        webhookService = new GitHubWebhookService(
+                new GitHubWebhookProperties(true, SECRET, SAFETY_NET), linkRepository, scrapperService, converter);
+        link = new LinkCheckView(
+                UUID.randomUUID(),
+                REPO_URL,
+                LocalDateTime.of(2025, 3, 1, 0, 0),
+                LocalDateTime.of(2025, 3, 1, 0, 5),
+                300L,
+                LinkCheckView.GITHUB,
+                List.of());
+        when(linkRepository.findForCheckByUrlsIgnoreCase(anyCollection())).thenReturn(List.of(link));
+    }
+
+    @Test
+    void isSignatureValid_shouldAcceptOnlyMatchingHmac() throws Exception {
+        byte[] body = ISSUE_OPENED.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(webhookService.isSignatureValid(body, sign(body))).isTrue();
+        assertThat(webhookService.isSignatureValid(body, sign("tampered".getBytes(StandardCharsets.UTF_8))))
+                .isFalse();
+        assertThat(webhookService.isSignatureValid(body, "sha256=not-hex")).isFalse();
+        assertThat(webhookService.isSignatureValid(body, null)).isFalse();
+    }
+
+    @Test
+    void handle_shouldPublishOpenedIssueAndMoveLinkToSafetyNetPolling() throws Exception {
+        when(scrapperService.publishUpdate(any(), any())).thenAnswer(invocation -> {
+            UpdateInfo info = invocation.getArgument(1);
+            return Optional.of(info.date());
+        });
+
+        int affected = webhookService.handle("issues", ISSUE_OPENED.getBytes(StandardCharsets.UTF_8));
+
+        var update = ArgumentCaptor.forClass(UpdateInfo.class);
+        verify(scrapperService).publishUpdate(any(), update.capture());
+        assertThat(affected).isEqualTo(1);
+        assertThat(update.getValue().type()).isEqualTo("issue");
+        assertThat(update.getValue().username()).isEqualTo("octocat");
+        assertThat(update.getValue().date()).isEqualTo(LocalDateTime.of(2025, 4, 1, 12, 0));
+
+        LinkCheckResult result = savedResult();
+        assertThat(result.lastUpdate()).isEqualTo(LocalDateTime.of(2025, 4, 1, 12, 0));
+        assertThat(result.checkInterval()).isEqualTo(SAFETY_NET.toSeconds());
+        assertThat(result.nextCheckAt()).isAfter(LocalDateTime.now().plusHours(23));
+    }
+
+    @Test
+    void handle_shouldIgnorePingAndUnreportedEvents() throws Exception {
+        String ping = """
+                {"zen":"Keep it logically awesome.","repository":{"full_name":"aigunov/java-shareit"}}
+                """;
+
+        assertThat(webhookService.handle("ping", ping.getBytes(StandardCharsets.UTF_8)))
+                .isZero();
+        assertThat(webhookService.handle("push", ping.getBytes(StandardCharsets.UTF_8)))
+                .isZero();
+
+        verify(scrapperService, never()).publishUpdate(any(), any());
+        verify(linkRepository, never()).findForCheckByUrlsIgnoreCase(anyCollection());
+        verify(linkRepository, never()).reschedule(anyCollection());
+    }
+
+    @Test
+    void handle_shouldRescheduleOnClosedIssueWithoutPublishingAndLookUpRepositoryByUrl() throws Exception {
+        String closed = ISSUE_OPENED
+                .replace("\"opened\"", "\"closed\"")
+                .replace("aigunov/java-shareit", "Aigunov/Java-ShareIt");
+
+        webhookService.handle("issues", closed.getBytes(StandardCharsets.UTF_8));
+
+        verify(linkRepository)
+                .findForCheckByUrlsIgnoreCase(
+                        List.of("https://github.com/Aigunov/Java-ShareIt", "https://github.com/Aigunov/Java-ShareIt/"));
+        verify(scrapperService, never()).publishUpdate(any(), any());
+        LinkCheckResult result = savedResult();
+        assertThat(result.lastUpdate()).isNull();
+        assertThat(result.checkInterval()).isEqualTo(SAFETY_NET.toSeconds());
+    }
+
+    @SuppressWarnings("unchecked")
+    private LinkCheckResult savedResult() {
+        ArgumentCaptor<Collection<LinkCheckResult>> results = ArgumentCaptor.forClass(Collection.class);
+        verify(linkRepository).reschedule(results.capture());
+        assertThat(results.getValue()).hasSize(1);
+        return results.getValue().iterator().next();
+    }
+
+    private static String sign(byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return GitHubWebhookService.SIGNATURE_PREFIX + HexFormat.of().formatHex(mac.doFinal(body));
+    }
+}
@@ -0,0 +1,120 @@
+package backend.academy.scrapper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.scrapper.config.GitHubConfig;
+import backend.academy.scrapper.config.StackOverflowConfig;
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Инварианты исполнителей проверок на проверках с искусственной I/O-задержкой. Время пула и виртуальных потоков
+ * сравнивает {@code LinkCheckExecutorBenchmark} в модуле {@code benchmarks}.
+ */
+class LinkCheckExecutorBenchmarkTest {
+    private static final int GITHUB_PERMITS = 32;
+    private static final int STACKOVERFLOW_PERMITS = 8;
+    private static final long SIMULATED_LATENCY_MS = 20;
+
+    private LinkToApiRequestConverter converter;
+    private PooledLinkCheckExecutor pooledExecutor;
+    private VirtualThreadLinkCheckExecutor virtualExecutor;
+
+    @BeforeEach
+    void setUp() {
+        converter = new LinkToApiRequestConverter(
+                new GitHubConfig("fake-token", "https://api.github.com/repos"),
+                new StackOverflowConfig("fake-key", "fake-access", "https://api.stackexchange.com/2.3/questions"));
+
+        pooledExecutor = new PooledLinkCheckExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pooledExecutor, "threadsCount", 4);
+        pooledExecutor.initializeExecutor();
+
+        virtualExecutor = new VirtualThreadLinkCheckExecutor(
+                converter, GITHUB_PERMITS, STACKOVERFLOW_PERMITS, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pooledExecutor.shutdown();
+        virtualExecutor.shutdown();
+    }
+
+    @Test
+    void virtualExecutor_shouldRespectPerProviderPermits() {
+        var github = new ConcurrencyProbe();
+        var stackOverflow = new ConcurrencyProbe();
+
+        virtualExecutor.checkAll(links(200, 100), link -> {
+            var probe = converter.isGithubUrl(link.url()) ? github : stackOverflow;
+            probe.run(() -> sleep(SIMULATED_LATENCY_MS));
+        });
+
+        assertThat(github.max()).isLessThanOrEqualTo(GITHUB_PERMITS).isGreaterThan(1);
+        assertThat(stackOverflow.max()).isLessThanOrEqualTo(STACKOVERFLOW_PERMITS).isGreaterThan(1);
+    }
+
+    @Test
+    void executors_shouldCheckEveryLinkOnce() {
+        var links = links(200, 100);
+        var pooledChecked = ConcurrentHashMap.<UUID>newKeySet();
+        var virtualChecked = ConcurrentHashMap.<UUID>newKeySet();
+
+        pooledExecutor.checkAll(links, link -> pooledChecked.add(link.id()));
+        virtualExecutor.checkAll(links, link -> virtualChecked.add(link.id()));
+
+        assertThat(pooledChecked).hasSize(links.size());
+        assertThat(virtualChecked).hasSize(links.size());
+    }
+
+    private static List<LinkCheckView> links(int github, int stackOverflow) {
+        var links = new ArrayList<LinkCheckView>();
+        IntStream.range(0, github)
+                .mapToObj(i -> link("https://github.com/owner/repo-" + i))
+                .forEach(links::add);
+        IntStream.range(0, stackOverflow)
+                .mapToObj(i -> link("https://stackoverflow.com/questions/" + i + "/question"))
+                .forEach(links::add);
+        return links;
+    }
+
+    private static LinkCheckView link(String url) {
+        return new LinkCheckView(UUID.randomUUID(), url, null, null, null, null, List.of());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class ConcurrencyProbe {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        void run(Runnable action) {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                action.run();
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+
+        int max() {
+            return max.get();
+        }
+    }
+}
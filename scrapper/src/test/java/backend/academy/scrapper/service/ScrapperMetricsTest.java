@@ -0,0 +1,55 @@
+package backend.academy.scrapper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class ScrapperMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ScrapperMetrics metrics = new ScrapperMetrics(registry, "Kafka");
+
+    @Test
+    void recordNotification_shouldTagTransportAndOutcome() {
+        metrics.recordNotification("update", () -> {});
+        assertThatThrownBy(() -> metrics.recordNotification("digest", () -> {
+                    throw new IllegalStateException("bot is down");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get(ScrapperMetrics.NOTIFICATION_SEND_METRIC)
+                        .tags("transport", "kafka", "kind", "update", "outcome", "success")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        assertThat(registry.get(ScrapperMetrics.NOTIFICATION_SEND_METRIC)
+                        .tags("transport", "kafka", "kind", "digest", "outcome", "failure")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void cycleFinished_shouldRecordDurationAndLinkCount() {
+        var cycle = metrics.startCycle();
+        metrics.cycleFinished(cycle, 250);
+        metrics.fanOut(3, 2);
+        metrics.updatesDetected("github", 4);
+
+        assertThat(registry.get(ScrapperMetrics.CYCLE_DURATION_METRIC).timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get(ScrapperMetrics.CYCLE_LINKS_METRIC).summary().totalAmount())
+                .isEqualTo(250);
+        assertThat(registry.get(ScrapperMetrics.FANOUT_METRIC)
+                        .tag("mode", "deferred")
+                        .counter()
+                        .count())
+                .isEqualTo(2);
+        assertThat(registry.get(ScrapperMetrics.UPDATES_DETECTED_METRIC)
+                        .tag("provider", "github")
+                        .counter()
+                        .count())
+                .isEqualTo(4);
+    }
+}
@@ -0,0 +1,103 @@
+package backend.academy.scrapper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import backend.academy.scrapper.client.KafkaDLQNotificationClient;
+import backend.academy.scrapper.client.UpdateCheckingClient;
+import backend.academy.scrapper.config.ScrapperLeaseProperties;
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.repository.link.LinkCheckView;
+import backend.academy.scrapper.repository.link.LinkCheckView.Subscriber;
+import backend.academy.scrapper.repository.link.LinkRepository;
+import backend.academy.scrapper.service.pipeline.CheckResultWriter;
+import backend.academy.scrapper.service.pipeline.LinkUpdateDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ScrapperServiceTest {
+    private static final LocalDateTime LAST_UPDATE = LocalDateTime.of(2025, 4, 1, 12, 0);
+
+    private final LinkUpdateDispatcher updateDispatcher = mock(LinkUpdateDispatcher.class);
+    private final Subscriber subscriber = new Subscriber(1L, null, Set.of());
+    private final LinkCheckView link = new LinkCheckView(
+            UUID.randomUUID(),
+            "https://github.com/aigunov/java-shareit",
+            LAST_UPDATE,
+            LAST_UPDATE,
+            600L,
+            LinkCheckView.GITHUB,
+            List.of(subscriber));
+    private final ScrapperService scrapperService = new ScrapperService(
+            mock(LinkRepository.class),
+            mock(UpdateCheckingClient.class),
+            mock(UpdateCheckingClient.class),
+            mock(KafkaDLQNotificationClient.class),
+            mock(CheckIntervalPolicy.class),
+            mock(LinkCheckExecutor.class),
+            new ScrapperLeaseProperties(false, Duration.ofMinutes(10)),
+            updateDispatcher,
+            mock(CheckResultWriter.class),
+            new ScrapperMetrics(new SimpleMeterRegistry(), "HTTP"),
+            new UpdateFilterEngine());
+
+    @Test
+    void publishUpdates_shouldDispatchOneAggregatedNotificationForAllNewEvents() {
+        int fresh = UpdateInfo.MAX_AGGREGATED_EVENTS + 2;
+        var updates = new ArrayList<UpdateInfo>();
+        IntStream.rangeClosed(1, fresh).map(i -> fresh + 1 - i).forEach(i -> updates.add(event("event-" + i, i)));
+        updates.add(event("already-sent", 0));
+
+        Optional<LocalDateTime> lastUpdate = scrapperService.publishUpdates(link, updates);
+
+        assertThat(lastUpdate).contains(LAST_UPDATE.plusHours(fresh));
+        var message = ArgumentCaptor.forClass(String.class);
+        verify(updateDispatcher).dispatch(eq(link), message.capture(), eq(Set.of(subscriber)), eq(Set.of()));
+        assertThat(message.getValue())
+                .startsWith("Новых событий: " + fresh)
+                .contains("event-1", "event-" + UpdateInfo.MAX_AGGREGATED_EVENTS)
+                .doesNotContain("event-" + fresh, "already-sent")
+                .endsWith("...и еще 2");
+        assertThat(message.getValue().indexOf("event-1")).isLessThan(message.getValue().indexOf("event-2"));
+    }
+
+    @Test
+    void publishUpdates_shouldSendSingleEventAsIs() {
+        UpdateInfo update = event("only", 1);
+
+        scrapperService.publishUpdates(link, List.of(update));
+
+        verify(updateDispatcher)
+                .dispatch(eq(link), eq(update.getFormattedMessage()), eq(Set.of(subscriber)), eq(Set.of()));
+    }
+
+    @Test
+    void publishUpdates_shouldIgnoreEventsNotNewerThanLastUpdate() {
+        assertThat(scrapperService.publishUpdates(link, List.of(event("old", -1), event("same", 0))))
+                .isEmpty();
+
+        verifyNoInteractions(updateDispatcher);
+    }
+
+    private static UpdateInfo event(String title, int hoursAfterLastUpdate) {
+        return UpdateInfo.builder()
+                .title(title)
+                .username("octocat")
+                .date(LAST_UPDATE.plusHours(hoursAfterLastUpdate))
+                .type("issue")
+                .preview("body")
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package backend.academy.scrapper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.scrapper.data.dto.UpdateInfo;
+import backend.academy.scrapper.repository.link.LinkCheckView.FilterRule;
+import backend.academy.scrapper.repository.link.LinkCheckView.Subscriber;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class UpdateFilterEngineTest {
+    private static final UpdateInfo BOT_ISSUE = event("Bump jackson", "Dependabot", "issue", 1);
+    private static final UpdateInfo USER_PR = event("Fix NPE in parser", "octocat", "pull-request", 2);
+    private static final UpdateInfo USER_ISSUE = event("Parser crashes", "octocat", "issue", 3);
+    private static final List<UpdateInfo> EVENTS = List.of(BOT_ISSUE, USER_PR, USER_ISSUE);
+
+    private final UpdateFilterEngine engine = new UpdateFilterEngine();
+
+    @Test
+    void partition_shouldApplyUserTypeAndTitleFilters() {
+        var unfiltered = subscriber(1L, null);
+        var noBots = subscriber(2L, null, FilterRule.of("user", "dependabot"));
+        var issuesOnly = subscriber(3L, null, FilterRule.of("type", "issue"));
+        var parserPullRequests =
+                subscriber(4L, null, FilterRule.of("type", "pull-request"), FilterRule.of("title", "parser"));
+
+        var partitioned = engine.partition(List.of(unfiltered, noBots, issuesOnly, parserPullRequests), EVENTS);
+
+        assertThat(partitioned)
+                .containsOnlyKeys(
+                        EVENTS, List.of(USER_PR, USER_ISSUE), List.of(BOT_ISSUE, USER_ISSUE), List.of(USER_PR));
+        assertThat(partitioned.get(EVENTS).get(true)).containsExactly(unfiltered);
+        assertThat(partitioned.get(List.of(USER_PR, USER_ISSUE)).get(true)).containsExactly(noBots);
+        assertThat(partitioned.get(List.of(BOT_ISSUE, USER_ISSUE)).get(true)).containsExactly(issuesOnly);
+        assertThat(partitioned.get(List.of(USER_PR)).get(true)).containsExactly(parserPullRequests);
+    }
+
+    @Test
+    void partition_shouldGroupSubscribersWithEqualVisibleEventsAndSplitByDigest() {
+        var immediate = subscriber(1L, null, FilterRule.of("user", "Dependabot"));
+        var digest = subscriber(2L, LocalTime.of(9, 0), FilterRule.of("user", "dependabot"));
+        var unknownParameter = subscriber(3L, null, FilterRule.of("label", "bug"));
+        var everythingFiltered = subscriber(4L, null, FilterRule.of("type", "answer"));
+
+        Map<List<UpdateInfo>, Map<Boolean, Set<Subscriber>>> partitioned =
+                engine.partition(List.of(immediate, digest, unknownParameter, everythingFiltered), EVENTS);
+
+        assertThat(partitioned).containsOnlyKeys(EVENTS, List.of(USER_PR, USER_ISSUE));
+        assertThat(partitioned.get(List.of(USER_PR, USER_ISSUE)).get(true)).containsExactly(immediate);
+        assertThat(partitioned.get(List.of(USER_PR, USER_ISSUE)).get(false)).containsExactly(digest);
+        assertThat(partitioned.get(EVENTS).get(true)).containsExactly(unknownParameter);
+    }
+
+    @Test
+    void compile_shouldReuseCompiledFilterForEqualRuleSets() {
+        var first = engine.compile(Set.of(FilterRule.of("user", "bot"), FilterRule.of("type", "issue")));
+        var second = engine.compile(Set.of(FilterRule.of("type", "ISSUE"), FilterRule.of("user", "Bot")));
+
+        assertThat(second).isSameAs(first);
+        assertThat(engine.compile(Set.of(FilterRule.of("label", "bug"))))
+                .isSameAs(UpdateFilterEngine.CompiledFilter.ACCEPT_ALL);
+    }
+
+    private static Subscriber subscriber(long tgId, LocalTime digestTime, FilterRule... filters) {
+        return new Subscriber(tgId, digestTime, Set.of(filters));
+    }
+
+    private static UpdateInfo event(String title, String username, String type, int minute) {
+        return UpdateInfo.builder()
+                .title(title)
+                .username(username)
+                .type(type)
+                .date(LocalDateTime.of(2025, 4, 1, 12, minute))
+                .preview("")
+                .build();
+    }
+}
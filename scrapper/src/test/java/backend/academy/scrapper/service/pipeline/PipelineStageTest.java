@@ -0,0 +1,131 @@
+package backend.academy.scrapper.service.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PipelineStageTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PipelineStage<Integer> stage;
+
+    @AfterEach
+    void tearDown() {
+        if (stage != null) {
+            stage.close();
+        }
+    }
+
+    @Test
+    void submit_shouldBlockProducerWhenQueueIsFull() throws Exception {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        stage = new PipelineStage<>(
+                "slow",
+                1,
+                1,
+                1,
+                items -> {
+                    started.countDown();
+                    await(release);
+                },
+                meterRegistry);
+
+        stage.submit(1);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        stage.submit(2);
+        var blocked = CompletableFuture.runAsync(() -> stage.submit(3));
+
+        assertThat(blocked).isNotCompleted();
+        Thread.sleep(200);
+        assertThat(blocked).isNotCompleted();
+        assertThat(meterRegistry
+                        .get(PipelineStage.QUEUE_SIZE_METRIC)
+                        .tag("stage", "slow")
+                        .gauge()
+                        .value())
+                .isEqualTo(1.0);
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        stage.awaitIdle();
+        assertThat(meterRegistry
+                        .get(PipelineStage.LATENCY_METRIC)
+                        .tag("stage", "slow")
+                        .timer()
+                        .count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void awaitIdle_shouldReturnAfterAllItemsAreHandledInBatches() throws Exception {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        var gate = new CountDownLatch(1);
+        stage = new PipelineStage<>(
+                "batched",
+                1,
+                100,
+                10,
+                items -> {
+                    await(gate);
+                    batches.add(List.copyOf(items));
+                },
+                meterRegistry);
+
+        for (int i = 0; i < 25; i++) {
+            stage.submit(i);
+        }
+        gate.countDown();
+        stage.awaitIdle();
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(10));
+        assertThat(batches.stream().flatMap(List::stream)).hasSize(25);
+        assertThat(meterRegistry
+                        .get(PipelineStage.QUEUE_WAIT_METRIC)
+                        .tag("stage", "batched")
+                        .timer()
+                        .totalTime(TimeUnit.NANOSECONDS))
+                .isPositive();
+    }
+
+    @Test
+    void awaitIdle_shouldSurviveHandlerFailure() {
+        stage = new PipelineStage<>(
+                "failing",
+                2,
+                10,
+                1,
+                items -> {
+                    throw new IllegalStateException("boom");
+                },
+                meterRegistry);
+
+        stage.submit(1);
+        stage.submit(2);
+
+        assertThat(CompletableFuture.runAsync(() -> {
+                    try {
+                        stage.awaitIdle();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }))
+                .succeedsWithin(Duration.ofSeconds(5));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}